@@ -5,9 +5,10 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.web.reactive.config.EnableWebFlux;
+import piper1970.eventservice.common.kafka.outbox.OutboxMessageRepository;
 
 @SpringBootApplication
-@EnableR2dbcRepositories
+@EnableR2dbcRepositories(basePackageClasses = {BookingServiceApplication.class, OutboxMessageRepository.class})
 @EnableWebFlux
 @Slf4j
 public class BookingServiceApplication {
@@ -0,0 +1,50 @@
+package piper1970.bookingservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import piper1970.eventservice.common.events.dto.EventDto;
+
+/**
+ * Bounded, TTL-evicting local cache of event snapshots retrieved from event-service.
+ * <p>
+ * Entries are invalidated on every instance when EventChanged, EventCancelled or EventCompleted messages are
+ * consumed, by the per-instance EventSnapshotInvalidationListener. The TTL bounds staleness should an invalidation
+ * be missed, e.g. while the listener is resubscribing.
+ */
+@Component
+@Slf4j
+public class EventSnapshotCache {
+
+  private final Cache<Integer, EventDto> cache;
+
+  public EventSnapshotCache(MeterRegistry meterRegistry,
+      @Value("${event-snapshot-cache.max.size:10000}") Long maxSize,
+      @Value("${event-snapshot-cache.ttl.millis:30000}") Long ttlMillis) {
+    cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofMillis(ttlMillis))
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "event-snapshots");
+  }
+
+  public Optional<EventDto> get(Integer eventId) {
+    return Optional.ofNullable(cache.getIfPresent(eventId));
+  }
+
+  public void put(EventDto eventDto) {
+    cache.put(eventDto.getId(), eventDto);
+  }
+
+  public void invalidate(Integer eventId) {
+    log.debug("Invalidating cached snapshot for event [{}]", eventId);
+    cache.invalidate(eventId);
+  }
+}
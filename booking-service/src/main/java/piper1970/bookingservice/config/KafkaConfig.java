@@ -3,18 +3,29 @@ package piper1970.bookingservice.config;
 import brave.Tracer;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.spi.ConnectionFactory;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.r2dbc.R2dbcLockProvider;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import piper1970.eventservice.common.kafka.ProducerProfile;
 import piper1970.eventservice.common.kafka.TopicCreater;
+import piper1970.eventservice.common.kafka.TopicProperties;
+import piper1970.eventservice.common.kafka.outbox.OutboxMessageRepository;
+import piper1970.eventservice.common.kafka.outbox.OutboxRelay;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
+import piper1970.eventservice.common.kafka.reactive.PipelinedKafkaPublisher;
+import piper1970.eventservice.common.kafka.reactive.ProcessingMode;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
 import piper1970.eventservice.common.kafka.topics.Topics;
 import reactor.kafka.receiver.MicrometerConsumerListener;
@@ -24,12 +35,14 @@ import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.MicrometerProducerListener;
 import reactor.kafka.sender.SenderOptions;
 import reactor.kafka.sender.observation.KafkaSenderObservation.DefaultKafkaSenderObservationConvention;
+import reactor.util.retry.Retry;
 
 /**
  * Kafka configuration for booking-service handling topics, dlt, sender/producers, and receiver-factory beans.
  */
 @Configuration(proxyBeanMethods = false)
 @EnableKafka
+@EnableConfigurationProperties(TopicProperties.class)
 public class KafkaConfig {
 
   @Value("${kafka.replication.factor}")
@@ -47,8 +60,8 @@ public class KafkaConfig {
   //region Topic Creation
 
   @Bean
-  TopicCreater topicCreater() {
-    return new TopicCreater(partitionCount, replicationFactor, kafkaRetentionProperty);
+  TopicCreater topicCreater(TopicProperties topicProperties) {
+    return new TopicCreater(partitionCount, replicationFactor, kafkaRetentionProperty, topicProperties.topics());
   }
 
   //region Producer Topics
@@ -115,8 +128,9 @@ public class KafkaConfig {
 
   @Bean
   KafkaSender<Integer, Object> kafkaSender(KafkaProperties kafkaProperties, ObservationRegistry observationRegistry,
-      MeterRegistry meterRegistry) {
-    Map<String, Object> propertiesMap = kafkaProperties.buildProducerProperties();
+      MeterRegistry meterRegistry, @Value("${kafka.producer.profile:FAN_OUT}") ProducerProfile producerProfile) {
+    // defaults to FAN_OUT, as booking-service produces the bookings-updated and bookings-cancelled fan-out topics
+    Map<String, Object> propertiesMap = producerProfile.apply(kafkaProperties.buildProducerProperties());
     var senderOptions = SenderOptions.<Integer, Object>create(propertiesMap)
         .withObservation(observationRegistry,
             new DefaultKafkaSenderObservationConvention()) // needed for capturing correlation-id in spanned logs
@@ -131,6 +145,40 @@ public class KafkaConfig {
     return new DeadLetterTopicProducer(kafkaSender, tracer, deadLetterTopicSuffix, clock);
   }
 
+  @Bean
+  PipelinedKafkaPublisher pipelinedKafkaPublisher(KafkaSender<Integer, Object> kafkaSender,
+      @Value("${kafka.publisher.buffer.size:1024}") Integer bufferSize,
+      @Value("${kafka.publisher.retry.max.attempts:10}") long maxAttempts,
+      @Value("${kafka.publisher.retry.duration.millis:100}") long durationInMillis,
+      @Value("${kafka.publisher.retry.max.duration.millis:10000}") long maxDurationInMillis) {
+    // attempts are counted per run of consecutive failures, so occasional failures never exhaust the retry
+    var resubscribeRetry = Retry.backoff(maxAttempts, Duration.ofMillis(durationInMillis))
+        .maxBackoff(Duration.ofMillis(maxDurationInMillis))
+        .transientErrors(true);
+    return new PipelinedKafkaPublisher(kafkaSender, bufferSize, resubscribeRetry);
+  }
+
+  @Bean
+  OutboxRelay outboxRelay(OutboxMessageRepository outboxMessageRepository, KafkaSender<Integer, Object> kafkaSender,
+      TransactionalOperator transactionalOperator, Tracer tracer, LockProvider lockProvider,
+      @Value("${outbox.relay.lock-at-most-for:PT1M}") Duration lockAtMostFor,
+      @Value("${outbox.relay.poll.interval.millis:250}") Long pollIntervalInMilliseconds,
+      @Value("${outbox.relay.batch.size:100}") Integer batchSize) {
+    return new OutboxRelay(outboxMessageRepository, kafkaSender, transactionalOperator, tracer, lockProvider,
+        lockAtMostFor, pollIntervalInMilliseconds, batchSize);
+  }
+
+  /**
+   * Shedlock lock provider, so only one instance relays the outbox at a time.
+   *
+   * @param connectionFactory Database connection factory for reactional database
+   * @return LockProvider instance used to create the outbox relay lock
+   */
+  @Bean
+  LockProvider lockProvider(ConnectionFactory connectionFactory) {
+    return new R2dbcLockProvider(connectionFactory);
+  }
+
   //endregion Kafka Producer
 
   //region Kafka Consumer
@@ -145,10 +193,15 @@ public class KafkaConfig {
   }
 
   @Bean
-  public ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory(ReceiverOptions<Integer, Object> receiverOptions) {
+  public ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory(ReceiverOptions<Integer, Object> receiverOptions,
+      @Value("${kafka.listener.processing.mode:SEQUENTIAL}") ProcessingMode processingMode,
+      @Value("${kafka.listener.concurrency:${kafka.partition.count}}") Integer concurrency,
+      TopicProperties topicProperties) {
     var topics = List.of(Topics.BOOKING_CONFIRMED, Topics.BOOKING_EXPIRED,
         Topics.EVENT_CHANGED, Topics.EVENT_CANCELLED, Topics.BOOKING_EVENT_UNAVAILABLE, Topics.EVENT_COMPLETED);
-    return new ReactiveKafkaReceiverFactory(receiverOptions, topics);
+    // topics with their own partition count get one lane per partition
+    return new ReactiveKafkaReceiverFactory(receiverOptions, topics, processingMode, concurrency,
+        topicProperties.partitionCounts());
   }
 
   //endregion Kafka Consumer
@@ -1,15 +1,24 @@
 package piper1970.bookingservice.config;
 
 import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * WebClient Configuration for setting load-balanced web client usage with event-service web client.
+ * <p>
+ * Requests to event-service share a dedicated, bounded connection pool. Pool metrics (active, idle and
+ * pending-acquire connections) are published under 'reactor.netty.connection.provider' with the 'event-service' name
+ * tag.
  */
 @Configuration
 @Slf4j
@@ -21,13 +30,39 @@ public class WebClientConfig {
     this.apiUri = apiUri;
   }
 
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider eventServiceConnectionProvider(
+      @Value("${api.event-service.pool.max-connections:100}") Integer maxConnections,
+      @Value("${api.event-service.pool.pending-acquire.max-count:500}") Integer pendingAcquireMaxCount,
+      @Value("${api.event-service.pool.pending-acquire.timeout.millis:2000}") Long pendingAcquireTimeoutMillis,
+      @Value("${api.event-service.pool.max-idle-time.millis:30000}") Long maxIdleTimeMillis,
+      @Value("${api.event-service.pool.evict-interval.millis:60000}") Long evictIntervalMillis) {
+    return ConnectionProvider.builder("event-service")
+        .maxConnections(maxConnections)
+        .pendingAcquireMaxCount(pendingAcquireMaxCount)
+        .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+        .maxIdleTime(Duration.ofMillis(maxIdleTimeMillis))
+        .evictInBackground(Duration.ofMillis(evictIntervalMillis))
+        .metrics(true)
+        .build();
+  }
+
   @Bean
   @LoadBalanced
-  public WebClient.Builder webClientBuilder(ObservationRegistry registry) {
+  public WebClient.Builder webClientBuilder(ObservationRegistry registry,
+      ConnectionProvider eventServiceConnectionProvider,
+      @Value("${api.event-service.http2.enabled:false}") boolean http2Enabled) {
 
     log.debug("Setting up web client with base uri {}", apiUri);
 
+    var httpClient = HttpClient.create(eventServiceConnectionProvider);
+    if (http2Enabled) {
+      // cleartext HTTP/2, falling back to HTTP/1.1 when event-service does not accept the upgrade
+      httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+    }
+
     return WebClient.builder()
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
         .observationRegistry(registry)
         .baseUrl(apiUri);
   }
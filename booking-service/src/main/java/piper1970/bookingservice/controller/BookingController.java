@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,12 +22,15 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import piper1970.bookingservice.dto.model.BookingCreateRequest;
 import piper1970.bookingservice.dto.model.BookingDto;
 import piper1970.bookingservice.service.BookingWebService;
+import piper1970.eventservice.common.paging.PagingUtilities;
 import piper1970.eventservice.common.tokens.TokenUtilities;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,15 +45,19 @@ public class BookingController {
   private final BookingWebService bookingWebService;
 
   @Operation(
-      summary = "Get all personal bookings for events that you've made",
+      summary = "Get personal bookings for events that you've made, one page at a time, or all of them as a stream",
       responses = {
           @ApiResponse(
               responseCode = "200",
-              description = "found all personal bookings",
+              description = "found page of personal bookings, or stream of all of them if application/x-ndjson was requested",
               content = {
                   @Content(
                       mediaType = MediaType.APPLICATION_JSON_VALUE,
                       array = @ArraySchema(schema = @Schema(implementation = BookingDto.class))
+                  ),
+                  @Content(
+                      mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                      schema = @Schema(implementation = BookingDto.class)
                   )
               }),
           @ApiResponse(
@@ -72,15 +80,28 @@ public class BookingController {
           )
       }
   )
-  @GetMapping
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
   @PreAuthorize("hasAuthority('MEMBER')")
-  public Flux<BookingDto> getAllBookings(@AuthenticationPrincipal JwtAuthenticationToken token) {
+  public Flux<BookingDto> getAllBookings(@AuthenticationPrincipal JwtAuthenticationToken token,
+      @Parameter(description = "id of last booking from previous page (omit for first page)")
+      @RequestParam(required = false) Integer after,
+      @Parameter(description = "maximum number of bookings in page (default 50, max 200)")
+      @RequestParam(required = false) Integer size,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
     var username = TokenUtilities.getUserFromToken(token);
 
-    log.debug("Getting all bookings called by [{}]", username);
+    if(PagingUtilities.isStreamingRequest(accept)) {
+      log.debug("Streaming all bookings called by [{}]", username);
+      return bookingWebService.findBookingsByUsername(username);
+    }
+
+    var cursor = PagingUtilities.resolveCursor(after);
+    var pageSize = PagingUtilities.resolvePageSize(size);
+
+    log.debug("Getting [{}] bookings after id [{}] called by [{}]", pageSize, cursor, username);
 
-    return bookingWebService.findBookingsByUsername(username);
+    return bookingWebService.findBookingsByUsernamePage(username, cursor, pageSize);
   }
 
   @Operation(
@@ -1,6 +1,7 @@
 package piper1970.bookingservice.kafka.listeners;
 
 import java.time.Duration;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,14 +10,14 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import piper1970.bookingservice.domain.BookingStatus;
 import piper1970.bookingservice.repository.BookingRepository;
+import piper1970.eventservice.common.kafka.reactive.BatchDiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
-import piper1970.eventservice.common.kafka.reactive.DiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
 import piper1970.eventservice.common.kafka.topics.Topics;
 import piper1970.eventservice.common.notifications.messages.BookingConfirmed;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.util.retry.Retry;
 
@@ -24,10 +25,12 @@ import reactor.util.retry.Retry;
  * Listener for BookingConfirmed messages from the 'booking-confirmed' topic.
  * <p>
  * These messages are sent via the notification-service once the user clicks the confirmation link.
+ * <p>
+ * Confirmations are batched, with all bookings of a batch confirmed in a single update.
  */
 @Component
 @Slf4j
-public class BookingConfirmedListener extends DiscoverableListener {
+public class BookingConfirmedListener extends BatchDiscoverableListener {
 
   private final BookingRepository bookingRepository;
   private final Duration timeoutDuration;
@@ -39,8 +42,11 @@ public class BookingConfirmedListener extends DiscoverableListener {
       DeadLetterTopicProducer deadLetterTopicProducer,
       BookingRepository bookingRepository,
       @Value("${booking-repository.timout.milliseconds}") Long timeoutMillis,
-      @Qualifier("repository") Retry defaultRepositoryRetry) {
-    super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
+      @Qualifier("repository") Retry defaultRepositoryRetry,
+      @Value("${booking-confirmed.batch.max.size:100}") Integer batchMaxSize,
+      @Value("${booking-confirmed.batch.window.millis:500}") Long batchWindowMillis) {
+    super(reactiveKafkaReceiverFactory, deadLetterTopicProducer, batchMaxSize,
+        Duration.ofMillis(batchWindowMillis));
     this.bookingRepository = bookingRepository;
     timeoutDuration = Duration.ofMillis(timeoutMillis);
     this.defaultRepositoryRetry = defaultRepositoryRetry;
@@ -49,8 +55,8 @@ public class BookingConfirmedListener extends DiscoverableListener {
   @EventListener(ApplicationReadyEvent.class)
   @Override
   public void initializeReceiverFlux() {
-    subscription = buildFluxRequest()
-        .subscribe(rec -> rec.receiverOffset().acknowledge());
+    subscription = buildBatchFluxRequest()
+        .subscribe();
   }
 
   @Override
@@ -64,7 +70,7 @@ public class BookingConfirmedListener extends DiscoverableListener {
   }
 
   /**
-   * Helper method to handle confirmation messages.
+   * Helper method to validate confirmation messages before they are batched.
    *
    * @param record ReceiverRecord containing BookingConfirmed message
    * @return a Mono[ReceiverRecord], optionally posting to DLT if problems occurred
@@ -75,33 +81,52 @@ public class BookingConfirmedListener extends DiscoverableListener {
 
     log.debug("BookingConfirmedListener::handleIndividualRequest started");
 
-    if (record.value() instanceof BookingConfirmed message) {
-      return bookingRepository.findById(message.getBooking().getId())
-          .subscribeOn(Schedulers.boundedElastic())
-          .timeout(timeoutDuration)
-          .retryWhen(defaultRepositoryRetry)
-          .filter(booking -> BookingStatus.IN_PROGRESS == booking.getBookingStatus())
-          .flatMap(
-              booking -> bookingRepository.save(
-                      booking.withBookingStatus(BookingStatus.CONFIRMED))
-                  .subscribeOn(Schedulers.boundedElastic())
-                  .timeout(timeoutDuration)
-                  .retryWhen(defaultRepositoryRetry)
-                  .doOnNext(
-                      updatedBooking ->
-                          log.info("Confirmed booking saved: [{}]", updatedBooking))
-                  .map(updatedBooking -> record)
-          )
-          .onErrorResume(err -> {
-            log.error(
-                "BookingConfirmed message not handled after max attempts. Sending to DLT",
-                err);
-            return handleDLTLogic(record);
-          });
+    if (record.value() instanceof BookingConfirmed) {
+      return Mono.just(record);
     } else {
       log.error(
           "Unable to deserialize BookingConfirmed message. Sending to DLT for further processing");
       return handleDLTLogic(record);
     }
   }
+
+  /**
+   * Helper method to handle a batch of confirmation messages, confirming all in-progress bookings in one update.
+   *
+   * @param records batch of ReceiverRecords
+   * @return a Mono of the full batch, optionally posting to DLT if problems occurred
+   */
+  @Override
+  protected Mono<List<ReceiverRecord<Integer, Object>>> handleBatchRequest(
+      List<ReceiverRecord<Integer, Object>> records) {
+
+    log.debug("BookingConfirmedListener::handleBatchRequest started with [{}] records", records.size());
+
+    var confirmedRecords = records.stream()
+        .filter(rec -> rec.value() instanceof BookingConfirmed)
+        .toList();
+    if (confirmedRecords.isEmpty()) {
+      return Mono.just(records);
+    }
+    var bookingIds = confirmedRecords.stream()
+        .map(rec -> ((BookingConfirmed) rec.value()).getBooking().getId())
+        .toList();
+
+    return bookingRepository.updateBookingStatusByIdIn(bookingIds, BookingStatus.IN_PROGRESS,
+            BookingStatus.CONFIRMED)
+        .timeout(timeoutDuration)
+        .retryWhen(defaultRepositoryRetry)
+        .doOnNext(rowsUpdated -> log.info("Confirmed [{}] of [{}] bookings: {}",
+            rowsUpdated, bookingIds.size(), bookingIds))
+        .then()
+        .onErrorResume(err -> {
+          log.error(
+              "BookingConfirmed messages not handled after max attempts. Sending to DLT",
+              err);
+          return Flux.fromIterable(confirmedRecords)
+              .concatMap(this::handleDLTLogic)
+              .then();
+        })
+        .then(Mono.just(records));
+  }
 }
@@ -16,7 +16,6 @@ import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory
 import piper1970.eventservice.common.kafka.topics.Topics;
 import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.util.retry.Retry;
 
@@ -78,14 +77,12 @@ public class BookingEventUnavailableListener extends DiscoverableListener {
 
     if (record.value() instanceof BookingEventUnavailable message) {
       return bookingRepository.findById(message.getBooking().getId())
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(timeoutDuration)
           .retryWhen(defaultRepositoryRetry)
           .filter(booking -> BookingStatus.IN_PROGRESS == booking.getBookingStatus()
               || BookingStatus.CONFIRMED == booking.getBookingStatus())
           .flatMap(booking -> bookingRepository.save(
                   booking.withBookingStatus(BookingStatus.CANCELLED))
-              .subscribeOn(Schedulers.boundedElastic())
               .timeout(timeoutDuration)
               .retryWhen(defaultRepositoryRetry)
               .doOnNext(updatedBooking ->
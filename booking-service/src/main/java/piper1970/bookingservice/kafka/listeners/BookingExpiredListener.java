@@ -1,6 +1,7 @@
 package piper1970.bookingservice.kafka.listeners;
 
 import java.time.Duration;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,14 +10,14 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import piper1970.bookingservice.domain.BookingStatus;
 import piper1970.bookingservice.repository.BookingRepository;
+import piper1970.eventservice.common.kafka.reactive.BatchDiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
-import piper1970.eventservice.common.kafka.reactive.DiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
 import piper1970.eventservice.common.kafka.topics.Topics;
 import piper1970.eventservice.common.notifications.messages.BookingExpired;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.util.retry.Retry;
 
@@ -28,10 +29,12 @@ import reactor.util.retry.Retry;
  *   <li>User attempts to click a confirmation link after the allotted time has expired</li>
  *   <li>A scheduled maintenance run of notification-service finds a stale confirmation that has expiree</li>
  * </ul>
+ * <p>
+ * Expirations are batched, with all bookings of a batch cancelled in a single update.
  */
 @Component
 @Slf4j
-public class BookingExpiredListener extends DiscoverableListener {
+public class BookingExpiredListener extends BatchDiscoverableListener {
 
   private final BookingRepository bookingRepository;
   private final Duration timeoutDuration;
@@ -43,8 +46,11 @@ public class BookingExpiredListener extends DiscoverableListener {
       DeadLetterTopicProducer deadLetterTopicProducer,
       BookingRepository bookingRepository,
       @Value("${booking-repository.timout.milliseconds}") Long timeoutMillis,
-      @Qualifier("repository") Retry defaultRepositoryRetry) {
-    super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
+      @Qualifier("repository") Retry defaultRepositoryRetry,
+      @Value("${booking-expired.batch.max.size:100}") Integer batchMaxSize,
+      @Value("${booking-expired.batch.window.millis:500}") Long batchWindowMillis) {
+    super(reactiveKafkaReceiverFactory, deadLetterTopicProducer, batchMaxSize,
+        Duration.ofMillis(batchWindowMillis));
     this.bookingRepository = bookingRepository;
     timeoutDuration = Duration.ofMillis(timeoutMillis);
     this.defaultRepositoryRetry = defaultRepositoryRetry;
@@ -53,8 +59,8 @@ public class BookingExpiredListener extends DiscoverableListener {
   @EventListener(ApplicationReadyEvent.class)
   @Override
   public void initializeReceiverFlux() {
-    subscription = buildFluxRequest()
-        .subscribe(rcv -> rcv.receiverOffset().acknowledge());
+    subscription = buildBatchFluxRequest()
+        .subscribe();
   }
 
   @Override
@@ -68,7 +74,7 @@ public class BookingExpiredListener extends DiscoverableListener {
   }
 
   /**
-   * Helper method to handle booking-expired messages.
+   * Helper method to validate booking-expired messages before they are batched.
    *
    * @param record ReceiverRecord containing BookingExpired message
    * @return a Mono[ReceiverRecord], optionally posting to DLT if problems occurred
@@ -79,31 +85,52 @@ public class BookingExpiredListener extends DiscoverableListener {
 
     log.debug("BookingExpiredListener::handleIndividualRequest started");
 
-    if (record.value() instanceof BookingExpired message) {
-      return bookingRepository.findById(message.getBooking().getId())
-          .subscribeOn(Schedulers.boundedElastic())
-          .timeout(timeoutDuration)
-          .retryWhen(defaultRepositoryRetry)
-          .filter(booking -> BookingStatus.IN_PROGRESS == booking.getBookingStatus())
-          .flatMap(booking -> bookingRepository.save(
-                  booking.withBookingStatus(BookingStatus.CANCELLED))
-              .subscribeOn(Schedulers.boundedElastic())
-              .timeout(timeoutDuration)
-              .retryWhen(defaultRepositoryRetry)
-              .doOnNext(updatedBooking ->
-                  log.info("Booking cancelled due to expired confirmation: {}",
-                      updatedBooking)
-              ).map(updatedBooking -> record)
-
-          )
-          .onErrorResume(err -> {
-            log.error("BookingExpired message not handled after max attempts. Sending to DLT",
-                err);
-            return handleDLTLogic(record);
-          });
+    if (record.value() instanceof BookingExpired) {
+      return Mono.just(record);
     } else {
-      log.error("Unable to deserialize BookingExpired message. Sending to DLT for further processing");
+      log.error(
+          "Unable to deserialize BookingExpired message. Sending to DLT for further processing");
       return handleDLTLogic(record);
     }
   }
+
+  /**
+   * Helper method to handle a batch of booking-expired messages, cancelling all in-progress bookings in one update.
+   *
+   * @param records batch of ReceiverRecords
+   * @return a Mono of the full batch, optionally posting to DLT if problems occurred
+   */
+  @Override
+  protected Mono<List<ReceiverRecord<Integer, Object>>> handleBatchRequest(
+      List<ReceiverRecord<Integer, Object>> records) {
+
+    log.debug("BookingExpiredListener::handleBatchRequest started with [{}] records", records.size());
+
+    var expiredRecords = records.stream()
+        .filter(rec -> rec.value() instanceof BookingExpired)
+        .toList();
+    if (expiredRecords.isEmpty()) {
+      return Mono.just(records);
+    }
+    var bookingIds = expiredRecords.stream()
+        .map(rec -> ((BookingExpired) rec.value()).getBooking().getId())
+        .toList();
+
+    return bookingRepository.updateBookingStatusByIdIn(bookingIds, BookingStatus.IN_PROGRESS,
+            BookingStatus.CANCELLED)
+        .timeout(timeoutDuration)
+        .retryWhen(defaultRepositoryRetry)
+        .doOnNext(rowsUpdated -> log.info("Cancelled [{}] of [{}] bookings due to expired confirmation: {}",
+            rowsUpdated, bookingIds.size(), bookingIds))
+        .then()
+        .onErrorResume(err -> {
+          log.error(
+              "BookingExpired messages not handled after max attempts. Sending to DLT",
+              err);
+          return Flux.fromIterable(expiredRecords)
+              .concatMap(this::handleDLTLogic)
+              .then();
+        })
+        .then(Mono.just(records));
+  }
 }
@@ -1,10 +1,5 @@
 package piper1970.bookingservice.kafka.listeners;
 
-import static piper1970.eventservice.common.kafka.KafkaHelper.createSenderMono;
-import static piper1970.eventservice.common.kafka.reactive.TracingHelper.extractMDCIntoHeaders;
-
-import brave.Tracer;
-import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -17,61 +12,58 @@ import org.springframework.transaction.reactive.TransactionalOperator;
 import piper1970.bookingservice.domain.Booking;
 import piper1970.bookingservice.domain.BookingStatus;
 import piper1970.bookingservice.repository.BookingRepository;
+import piper1970.bookingservice.service.MessagePostingService;
 import piper1970.eventservice.common.bookings.messages.BookingsCancelled;
 import piper1970.eventservice.common.bookings.messages.types.BookingId;
 import piper1970.eventservice.common.events.messages.EventCancelled;
-import piper1970.eventservice.common.kafka.KafkaHelper;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
 import piper1970.eventservice.common.kafka.reactive.DiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
 import piper1970.eventservice.common.kafka.topics.Topics;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
-import reactor.kafka.sender.KafkaSender;
 import reactor.util.retry.Retry;
 
 /**
  * Listener for EnventCancelled messages from the 'event-cancelled' topic.
  * These messages are sent via the event-service if the event-owner cancels the event.
  * <p>
- * This message triggers a BOOKINGS_CANCELLED message being sent out to the
- * bookings-cancelled topic that holds all the users that were booked for
- * the event
+ * This message triggers BOOKINGS_CANCELLED messages being sent out to the
+ * bookings-cancelled topic that hold all the users that were booked for
+ * the event, split into chunks of at most chunkSize bookings. The chunks are posted
+ * through the MessagePostingService in the same transaction that cancels the
+ * bookings, so a retry never posts a chunk twice
  */
 @Component
 @Slf4j
 public class EventCancelledListener extends DiscoverableListener {
 
-  public static final String SERVICE_NAME = "booking-service";
-  private final KafkaSender<Integer, Object> kafkaSender;
+  private final MessagePostingService messagePostingService;
   private final BookingRepository bookingRepository;
   private final TransactionalOperator transactionalOperator;
-  private final Tracer tracer;
   private final Duration timeoutDuration;
+  private final Integer chunkSize;
   private final Retry defaultRepositoryRetry;
   private Disposable subscription;
-  private final Clock clock;
 
   public EventCancelledListener(
       ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory,
       DeadLetterTopicProducer deadLetterTopicProducer,
-      KafkaSender<Integer, Object> kafkaSender,
+      MessagePostingService messagePostingService,
       BookingRepository bookingRepository,
       TransactionalOperator transactionalOperator,
-      Tracer tracer,
       @Value("${booking-repository.timout.milliseconds}") Long timeoutMillis,
-      @Qualifier("repository") Retry defaultRepositoryRetry,
-      Clock clock) {
+      @Value("${bookings.fan-out.chunk.size:500}") Integer chunkSize,
+      @Qualifier("repository") Retry defaultRepositoryRetry) {
     super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
-    this.kafkaSender = kafkaSender;
+    this.messagePostingService = messagePostingService;
     this.bookingRepository = bookingRepository;
     this.transactionalOperator = transactionalOperator;
-    this.tracer = tracer;
     timeoutDuration = Duration.ofMillis(timeoutMillis);
+    this.chunkSize = chunkSize;
     this.defaultRepositoryRetry = defaultRepositoryRetry;
-    this.clock = clock;
   }
 
   @EventListener(ApplicationReadyEvent.class)
@@ -111,13 +103,11 @@ public class EventCancelledListener extends DiscoverableListener {
       return bookingRepository.findBookingsByEventIdAndBookingStatusIn(eventId, List.of(
               BookingStatus.IN_PROGRESS,
               BookingStatus.CONFIRMED))
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(timeoutDuration)
           .map(booking -> booking.withBookingStatus(BookingStatus.CANCELLED))
           .collectList()
           .flatMapMany(bookingList ->
               bookingRepository.saveAll(bookingList)
-                  .subscribeOn(Schedulers.boundedElastic())
                   .timeout(timeoutDuration)
                   .doOnNext(
                       updatedBooking ->
@@ -128,19 +118,10 @@ public class EventCancelledListener extends DiscoverableListener {
           .doOnNext(
               bookings -> log.info("[{}] bookings cancelled for event [{}]", bookings.size(),
                   eventId))
-          .flatMap(bookings -> {
-            var buMsg = new BookingsCancelled();
-            buMsg.setEventId(eventId);
-            buMsg.setMessage(message.getMessage());
-            buMsg.setBookings(bookings);
-            return kafkaSender.send(
-                    createSenderMono(Topics.BOOKINGS_CANCELLED, eventId, buMsg, clock, extractMDCIntoHeaders(tracer)))
-                .subscribeOn(Schedulers.boundedElastic())
-                .single()
-                .timeout(timeoutDuration)
-                .doOnNext(KafkaHelper.postReactiveOnNextConsumer(SERVICE_NAME, log))
-                .map(_senderResult -> record);
-          })
+          // outbox inserts roll back with the cancellations, so each retry starts from a clean slate
+          .flatMap(bookings -> postBookingsCancelledMessages(eventId, message.getMessage(), bookings)
+              .timeout(timeoutDuration))
+          .then(Mono.just(record))
           .as(transactionalOperator::transactional)
           .retryWhen(defaultRepositoryRetry)
           .onErrorResume(err -> {
@@ -154,6 +135,29 @@ public class EventCancelledListener extends DiscoverableListener {
     }
   }
 
+  /**
+   * Helper method to post BookingsCancelled messages for the given bookings, in chunks of at most chunkSize bookings.
+   * An event without bookings still gets a single, empty chunk.
+   */
+  private Mono<Void> postBookingsCancelledMessages(Integer eventId, CharSequence message, List<BookingId> bookings) {
+    var chunkCount = Math.max(1, Math.ceilDiv(bookings.size(), chunkSize));
+    // chunks share the event id as key, and are posted in order, so they stay in order on a single partition
+    return Flux.fromIterable(bookings)
+        .buffer(chunkSize)
+        .defaultIfEmpty(List.of())
+        .index((chunkIndex, chunk) -> {
+          var buMsg = new BookingsCancelled();
+          buMsg.setEventId(eventId);
+          buMsg.setMessage(message);
+          buMsg.setBookings(chunk);
+          buMsg.setChunkIndex(chunkIndex.intValue());
+          buMsg.setChunkCount(chunkCount);
+          return buMsg;
+        })
+        .concatMap(messagePostingService::postBookingsCancelledMessage)
+        .then();
+  }
+
   private BookingId toBookingId(Booking booking) {
     return new BookingId(
         booking.getId(), booking.getEmail(), booking.getUsername()
@@ -1,10 +1,5 @@
 package piper1970.bookingservice.kafka.listeners;
 
-import static piper1970.eventservice.common.kafka.KafkaHelper.createSenderMono;
-import static piper1970.eventservice.common.kafka.reactive.TracingHelper.extractMDCIntoHeaders;
-
-import brave.Tracer;
-import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -13,22 +8,22 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import piper1970.bookingservice.domain.BookingStatus;
 import piper1970.bookingservice.repository.BookingRepository;
 import piper1970.bookingservice.repository.BookingSummary;
+import piper1970.bookingservice.service.MessagePostingService;
 import piper1970.eventservice.common.bookings.messages.BookingsUpdated;
 import piper1970.eventservice.common.bookings.messages.types.BookingId;
 import piper1970.eventservice.common.events.messages.EventChanged;
-import piper1970.eventservice.common.kafka.KafkaHelper;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
 import piper1970.eventservice.common.kafka.reactive.DiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
 import piper1970.eventservice.common.kafka.topics.Topics;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
-import reactor.kafka.sender.KafkaSender;
 import reactor.util.retry.Retry;
 
 /**
@@ -36,43 +31,41 @@ import reactor.util.retry.Retry;
  * These messages are sent via the event-service if the event-owner makes modifications to the event
  * before it starts.
  * <p>
- * This message triggers a BOOKINGS_UPDATED message being sent out to the
- * bookings-updated topic that holds all the users that are booked for
- * the event
+ * This message triggers BOOKINGS_UPDATED messages being sent out to the
+ * bookings-updated topic that hold all the users that are booked for
+ * the event, split into chunks of at most chunkSize bookings. The chunks are posted
+ * through the MessagePostingService in a single transaction, so a retry never
+ * posts a chunk twice
  */
 @Component
 @Slf4j
 public class EventChangedListener extends DiscoverableListener {
 
-  public static final String SERVICE_NAME = "booking-service";
-  private final KafkaSender<Integer, Object> kafkaSender;
+  private final MessagePostingService messagePostingService;
   private final BookingRepository bookingRepository;
+  private final TransactionalOperator transactionalOperator;
   private final Duration timeoutDuration;
+  private final Integer chunkSize;
   private final Retry defaultRepositoryRetry;
-  private final Retry defaultKafkaRetry;
-  private final Tracer tracer;
-  private final Clock clock;
   private Disposable subscription;
 
   public EventChangedListener(
       ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory,
       DeadLetterTopicProducer deadLetterTopicProducer,
-      KafkaSender<Integer, Object> kafkaSender,
+      MessagePostingService messagePostingService,
       BookingRepository bookingRepository,
-      Tracer tracer,
+      TransactionalOperator transactionalOperator,
       @Value("${booking-repository.timout.milliseconds}") Long timeoutMillis,
-      @Qualifier("repository") Retry defaultRepositoryRetry,
-      @Qualifier("kafka") Retry defaultKafkaRetry,
-      Clock clock
+      @Value("${bookings.fan-out.chunk.size:500}") Integer chunkSize,
+      @Qualifier("repository") Retry defaultRepositoryRetry
   ) {
     super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
-    this.kafkaSender = kafkaSender;
+    this.messagePostingService = messagePostingService;
     this.bookingRepository = bookingRepository;
-    this.tracer = tracer;
+    this.transactionalOperator = transactionalOperator;
     timeoutDuration = Duration.ofMillis(timeoutMillis);
+    this.chunkSize = chunkSize;
     this.defaultRepositoryRetry = defaultRepositoryRetry;
-    this.defaultKafkaRetry = defaultKafkaRetry;
-    this.clock = clock;
   }
 
   @EventListener(ApplicationReadyEvent.class)
@@ -113,27 +106,17 @@ public class EventChangedListener extends DiscoverableListener {
       return bookingRepository.findByEventIdAndBookingStatusNotIn(eventId, List.of(
               BookingStatus.CANCELLED,
               BookingStatus.COMPLETED))
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(timeoutDuration)
           .retryWhen(defaultRepositoryRetry)
           .map(this::toBookingId)
           .collectList()
           .doOnNext(bookings -> log.info("[{}] bookings updated for event [{}]", bookings.size(),
               eventId))
-          .flatMap(bookings -> {
-            var buMsg = new BookingsUpdated();
-            buMsg.setEventId(eventId);
-            buMsg.setMessage(message.getMessage());
-            buMsg.setBookings(bookings);
-            return kafkaSender.send(
-                    createSenderMono(Topics.BOOKINGS_UPDATED, eventId, buMsg, clock, extractMDCIntoHeaders(tracer)))
-                .subscribeOn(Schedulers.boundedElastic())
-                .single()
-                .timeout(timeoutDuration)
-                .retryWhen(defaultKafkaRetry)
-                .doOnNext(KafkaHelper.postReactiveOnNextConsumer(SERVICE_NAME, log))
-                .map(updatedBooking -> record);
-          })
+          .flatMap(bookings -> postBookingsUpdatedMessages(eventId, message.getMessage(), bookings)
+              .as(transactionalOperator::transactional)
+              .timeout(timeoutDuration)
+              .retryWhen(defaultRepositoryRetry))
+          .then(Mono.just(record))
           .onErrorResume(err -> {
             log.error("Unable to send EventChanged message after max attempts. Sending to DLT",
                 err);
@@ -146,6 +129,29 @@ public class EventChangedListener extends DiscoverableListener {
     }
   }
 
+  /**
+   * Helper method to post BookingsUpdated messages for the given bookings, in chunks of at most chunkSize bookings.
+   * An event without bookings still gets a single, empty chunk.
+   */
+  private Mono<Void> postBookingsUpdatedMessages(Integer eventId, CharSequence message, List<BookingId> bookings) {
+    var chunkCount = Math.max(1, Math.ceilDiv(bookings.size(), chunkSize));
+    // chunks share the event id as key, and are posted in order, so they stay in order on a single partition
+    return Flux.fromIterable(bookings)
+        .buffer(chunkSize)
+        .defaultIfEmpty(List.of())
+        .index((chunkIndex, chunk) -> {
+          var buMsg = new BookingsUpdated();
+          buMsg.setEventId(eventId);
+          buMsg.setMessage(message);
+          buMsg.setBookings(chunk);
+          buMsg.setChunkIndex(chunkIndex.intValue());
+          buMsg.setChunkCount(chunkCount);
+          return buMsg;
+        })
+        .concatMap(messagePostingService::postBookingsUpdatedMessage)
+        .then();
+  }
+
   private BookingId toBookingId(BookingSummary summary) {
     return new BookingId(
         summary.getId(), summary.getEmail(), summary.getUsername()
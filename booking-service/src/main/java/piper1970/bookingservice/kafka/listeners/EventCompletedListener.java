@@ -17,7 +17,6 @@ import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory
 import piper1970.eventservice.common.kafka.topics.Topics;
 import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.util.retry.Retry;
 
@@ -85,7 +84,6 @@ public class EventCompletedListener extends DiscoverableListener {
       // For handling bookings that have already been confirmed -> status changes to complete
       var completedFlux = bookingRepository.findBookingsByEventIdAndBookingStatusIn(eventId,
               List.of(BookingStatus.CONFIRMED))
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(timeoutDuration)
           .retryWhen(defaultRepositoryRetry)
           .map(booking -> booking.withBookingStatus(BookingStatus.COMPLETED));
@@ -93,7 +91,6 @@ public class EventCompletedListener extends DiscoverableListener {
       // For handling bookings that have not yet been confirmed -> status changes to cancelled
       var cancelledFlux = bookingRepository.findBookingsByEventIdAndBookingStatusIn(eventId,
               List.of(BookingStatus.IN_PROGRESS))
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(timeoutDuration)
           .retryWhen(defaultRepositoryRetry)
           .map(booking -> booking.withBookingStatus(BookingStatus.CANCELLED));
@@ -103,7 +100,6 @@ public class EventCompletedListener extends DiscoverableListener {
           // save both cancelled and completed booking
           .flatMap(booking ->
               bookingRepository.save(booking)
-                  .subscribeOn(Schedulers.boundedElastic())
                   .timeout(timeoutDuration)
                   .retryWhen(defaultRepositoryRetry)
           ).count()
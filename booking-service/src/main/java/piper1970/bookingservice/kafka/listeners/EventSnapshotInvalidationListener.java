@@ -0,0 +1,105 @@
+package piper1970.bookingservice.kafka.listeners;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import piper1970.bookingservice.cache.EventSnapshotCache;
+import piper1970.eventservice.common.events.messages.EventCancelled;
+import piper1970.eventservice.common.events.messages.EventChanged;
+import piper1970.eventservice.common.events.messages.EventCompleted;
+import piper1970.eventservice.common.kafka.topics.Topics;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverPartition;
+import reactor.util.retry.Retry;
+
+/**
+ * Listener invalidating {@link EventSnapshotCache} entries on EventChanged, EventCancelled and EventCompleted
+ * messages.
+ * <p>
+ * The listeners handling these messages share the service's consumer group, so each message reaches only one
+ * instance. This listener instead uses a consumer group of its own per instance, so every instance drops its
+ * snapshot of the event. It starts from the latest offsets and commits none, as a restarted instance starts with an
+ * empty cache.
+ */
+@Component
+@Slf4j
+public class EventSnapshotInvalidationListener implements DisposableBean {
+
+  private static final List<String> TOPICS = List.of(Topics.EVENT_CHANGED, Topics.EVENT_CANCELLED,
+      Topics.EVENT_COMPLETED);
+
+  private final ReceiverOptions<Integer, Object> receiverOptions;
+  private final EventSnapshotCache eventSnapshotCache;
+  private final Duration maxRetryBackoff;
+  private Disposable subscription;
+
+  public EventSnapshotInvalidationListener(ReceiverOptions<Integer, Object> receiverOptions,
+      EventSnapshotCache eventSnapshotCache,
+      @Value("${event-snapshot-cache.invalidation.group-id:${spring.kafka.consumer.group-id}-snapshots-${random.uuid}}") String groupId,
+      @Value("${event-snapshot-cache.invalidation.max.backoff.millis:30000}") Long maxRetryBackoffMillis) {
+    this.receiverOptions = receiverOptions
+        .consumerProperty(ConsumerConfig.GROUP_ID_CONFIG, groupId)
+        .subscription(TOPICS)
+        .addAssignListener(partitions -> partitions.forEach(ReceiverPartition::seekToEnd));
+    this.eventSnapshotCache = eventSnapshotCache;
+    maxRetryBackoff = Duration.ofMillis(maxRetryBackoffMillis);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initializeReceiverFlux() {
+    subscription = buildFluxRequest()
+        .subscribe();
+  }
+
+  /**
+   * Builds the invalidation flux, resubscribing after errors so invalidation never stops for good.
+   *
+   * @return Flux of the event ids invalidated
+   */
+  Flux<Integer> buildFluxRequest() {
+    return Flux.defer(() -> createReceiver().receive())
+        .<Integer>handle((record, sink) -> {
+          var eventId = toEventId(record.value());
+          if (eventId != null) {
+            eventSnapshotCache.invalidate(eventId);
+            sink.next(eventId);
+          }
+        })
+        .doOnError(err -> log.error("Event snapshot invalidation failed. Resubscribing", err))
+        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+            .maxBackoff(maxRetryBackoff)
+            .transientErrors(true));
+  }
+
+  KafkaReceiver<Integer, Object> createReceiver() {
+    return KafkaReceiver.create(receiverOptions);
+  }
+
+  private Integer toEventId(Object value) {
+    return switch (value) {
+      case EventChanged message -> message.getEventId();
+      case EventCancelled message -> message.getEventId();
+      case EventCompleted message -> message.getEventId();
+      case null, default -> {
+        log.warn("Unable to read event id for snapshot invalidation from message [{}]", value);
+        yield null;
+      }
+    };
+  }
+
+  @Override
+  public void destroy() {
+    if (subscription != null && !subscription.isDisposed()) {
+      subscription.dispose();
+    }
+  }
+}
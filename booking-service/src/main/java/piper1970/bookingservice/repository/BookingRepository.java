@@ -1,6 +1,8 @@
 package piper1970.bookingservice.repository;
 
 import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import piper1970.bookingservice.domain.Booking;
@@ -14,4 +16,38 @@ public interface BookingRepository extends ReactiveCrudRepository<Booking, Integ
   Mono<Booking> findByIdAndUsername(Integer id, String username);
   Flux<BookingSummary> findByEventIdAndBookingStatusNotIn(Integer eventId, Collection<BookingStatus> statuses);
   Flux<Booking> findBookingsByEventIdAndBookingStatusIn(Integer eventId, Collection<BookingStatus> statuses);
+
+  /**
+   * Fetches the next page of the user's bookings by keyset on id, so deep pages cost the same as the first one.
+   *
+   * @param username user who made the bookings
+   * @param afterId id of the last booking of the previous page, or 0 for the first page
+   * @param limit maximum number of bookings to return
+   * @return Flux of bookings ordered by id
+   */
+  @Query("""
+      SELECT * FROM event_service.bookings
+      WHERE username = :username AND id > :afterId
+      ORDER BY id
+      LIMIT :limit
+      """)
+  Flux<Booking> findPageByUsernameAfterId(String username, Integer afterId, Integer limit);
+
+  /**
+   * Moves all bookings with the given ids from the current status to the new status, in one round trip. Bookings
+   * not in the current status are left untouched.
+   *
+   * @param ids booking ids
+   * @param currentStatus status bookings must be in to be updated
+   * @param newStatus status to move bookings to
+   * @return Mono of updated row count
+   */
+  @Modifying
+  @Query("""
+      UPDATE event_service.bookings
+      SET booking_status = :newStatus, version = version + 1
+      WHERE id IN (:ids) AND booking_status = :currentStatus
+      """)
+  Mono<Integer> updateBookingStatusByIdIn(Collection<Integer> ids, BookingStatus currentStatus,
+      BookingStatus newStatus);
 }
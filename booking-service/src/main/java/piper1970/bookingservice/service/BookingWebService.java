@@ -8,6 +8,7 @@ import reactor.core.publisher.Mono;
 public interface BookingWebService {
   Flux<BookingDto> findAllBookings();
   Flux<BookingDto> findBookingsByUsername(String username);
+  Flux<BookingDto> findBookingsByUsernamePage(String username, Integer afterId, Integer pageSize);
   Mono<BookingDto> findBookingById(Integer id);
   Mono<BookingDto> findBookingByIdAndUsername(Integer id, String username);
   Mono<BookingDto> createBooking(BookingCreateRequest booking, String token);
@@ -0,0 +1,52 @@
+package piper1970.bookingservice.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import piper1970.bookingservice.cache.EventSnapshotCache;
+import piper1970.eventservice.common.events.dto.EventDto;
+import piper1970.eventservice.common.events.status.EventStatus;
+import reactor.core.publisher.Mono;
+
+/**
+ * Event request service serving events from the local {@link EventSnapshotCache}, falling back to event-service (via
+ * {@link DefaultEventRequestService}) on a cache miss.
+ * <p>
+ * Only snapshots of events still open for booking are served from the cache. Any other snapshot is refreshed from
+ * event-service, so that rejections are always based on event-service's current view of the event.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachingEventRequestService implements EventRequestService {
+
+  private final DefaultEventRequestService eventRequestService;
+  private final EventSnapshotCache eventSnapshotCache;
+  private final Clock clock;
+
+  public CachingEventRequestService(DefaultEventRequestService eventRequestService,
+      EventSnapshotCache eventSnapshotCache, Clock clock) {
+    this.eventRequestService = eventRequestService;
+    this.eventSnapshotCache = eventSnapshotCache;
+    this.clock = clock;
+  }
+
+  @Override
+  public Mono<EventDto> requestEvent(Integer eventId, String token) {
+    return Mono.justOrEmpty(eventSnapshotCache.get(eventId))
+        .filter(this::isOpenForBooking)
+        .doOnNext(eventDto -> log.debug("Event [{}] served from snapshot cache", eventId))
+        .switchIfEmpty(Mono.defer(() -> eventRequestService.requestEvent(eventId, token)
+            .doOnNext(eventSnapshotCache::put)));
+  }
+
+  private boolean isOpenForBooking(EventDto eventDto) {
+    return EventStatus.AWAITING == eventDto.getEventStatus()
+        && eventDto.getAvailableBookings() != null
+        && eventDto.getAvailableBookings() > 0
+        && eventDto.getEventDateTime() != null
+        && eventDto.getEventDateTime().isAfter(LocalDateTime.now(clock));
+  }
+}
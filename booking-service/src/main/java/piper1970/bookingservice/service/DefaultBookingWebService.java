@@ -24,7 +24,6 @@ import piper1970.eventservice.common.exceptions.KafkaPostingException;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 /**
@@ -72,7 +71,6 @@ public class DefaultBookingWebService implements BookingWebService {
   public Flux<BookingDto> findAllBookings() {
 
     return bookingRepository.findAll()
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(bookingTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryFluxTimeout(ex, "finding all bookings"))
@@ -84,7 +82,6 @@ public class DefaultBookingWebService implements BookingWebService {
   public Flux<BookingDto> findBookingsByUsername(String username) {
 
     return bookingRepository.findByUsername(username)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(bookingTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryFluxTimeout(ex,
@@ -93,11 +90,22 @@ public class DefaultBookingWebService implements BookingWebService {
         .doOnNext(booking -> logBookingRetrieval(booking, username));
   }
 
+  @Override
+  public Flux<BookingDto> findBookingsByUsernamePage(String username, Integer afterId, Integer pageSize) {
+
+    return bookingRepository.findPageByUsernameAfterId(username, afterId, pageSize)
+        .timeout(bookingTimeoutDuration)
+        .retryWhen(defaultRepositoryRetry)
+        .onErrorResume(ex -> handleRepositoryFluxTimeout(ex,
+            "finding page of bookings by username [%s] after id [%d]".formatted(username, afterId)))
+        .map(bookingMapper::entityToDto)
+        .doOnNext(booking -> logBookingRetrieval(booking, username));
+  }
+
   @Override
   public Mono<BookingDto> findBookingById(Integer id) {
 
     return bookingRepository.findById(id)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(bookingTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(
@@ -110,7 +118,6 @@ public class DefaultBookingWebService implements BookingWebService {
   public Mono<BookingDto> findBookingByIdAndUsername(Integer id, String username) {
 
     return bookingRepository.findByIdAndUsername(id, username)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(bookingTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryTimeout(ex,
@@ -143,13 +150,12 @@ public class DefaultBookingWebService implements BookingWebService {
                   .build();
               log.debug("Saving booking for user [{}] at event [{}] to repository", username, eventId);
               return bookingRepository.save(booking)
-                  .subscribeOn(Schedulers.boundedElastic())
                   .timeout(bookingTimeoutDuration)
                   .retryWhen(defaultRepositoryRetry)
                   .onErrorResume(ex -> handleRepositoryTimeout(ex, "saving book"));
             }
         )
-        // post kafka booking-created message
+        // queue kafka booking-created message in outbox, within the same transaction
         .flatMap(booking -> {
           var dto = bookingMapper.entityToDto(booking);
           var bookingCreatedMessage = createBookingCreatedMessage(dto);
@@ -166,7 +172,6 @@ public class DefaultBookingWebService implements BookingWebService {
   public Mono<BookingDto> cancelBooking(Integer id, String username, String token) {
 
     return bookingRepository.findByIdAndUsername(id, username)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(bookingTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryTimeout(ex,
@@ -196,7 +201,6 @@ public class DefaultBookingWebService implements BookingWebService {
           log.info("Booking [{}] for event [{}] has been cancelled", booking.getId(),
               event.getId());
           return bookingRepository.save(booking.withBookingStatus(BookingStatus.CANCELLED))
-              .subscribeOn(Schedulers.boundedElastic())
               .timeout(bookingTimeoutDuration)
               .retryWhen(defaultRepositoryRetry)
               .onErrorResume(ex -> handleRepositoryTimeout(ex,
@@ -1,6 +1,11 @@
 package piper1970.bookingservice.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,7 +26,6 @@ import piper1970.eventservice.common.exceptions.EventUnauthorizedException;
 import piper1970.eventservice.common.exceptions.UnknownCauseException;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 /**
@@ -29,35 +33,102 @@ import reactor.util.retry.Retry;
  * current availabilities for requested events.
  * Utilizes circuit-breaker logic with fallback behavior to prevent performance degradation from non-responsive event-service.
  * Maintains time-limits with retry behavior to ensure responsiveness.
+ * <p>
+ * Concurrent requests for the same event are coalesced into a single upstream request, whose result is shared by
+ * those callers. The event returned doesn't depend on the caller, only on event-service authorizing the request, which
+ * requires the MEMBER authority every caller of this service already holds. Requests are therefore keyed by event id
+ * and that authority. A 401 or 403 answering the shared request is specific to the token it was made with, so callers
+ * who joined it retry with their own token rather than receiving another caller's rejection.
  */
 @Service
 @Slf4j
 public class DefaultEventRequestService implements EventRequestService {
 
-  private final WebClient.Builder webClientBuilder;
+  private final WebClient webClient;
   private final ReactiveCircuitBreaker circuitBreaker;
   private final Long eventTimeoutInMilliseconds;
   private final Duration eventTimeoutDuration;
   private final Retry defaultEventServiceRetry;
+  /**
+   * Authority event-service requires to read an event, held by every caller of this service
+   */
+  private static final String EVENT_READ_AUTHORITY = "MEMBER";
+
+  private final Map<InFlightKey, Mono<EventDto>> inFlightRequests = new ConcurrentHashMap<>();
+  private final Counter coalescedRequestCounter;
+  private final Counter upstreamRequestCounter;
 
   public DefaultEventRequestService(WebClient.Builder webClientBuilder,
       ReactiveResilience4JCircuitBreakerFactory circuitBreakerFactory,
       @Value("${event-request-service.timeout.milliseconds}") Long eventTimeoutInMilliseconds,
-      @Qualifier("event-service") Retry defaultEventServiceRetry) {
+      @Qualifier("event-service") Retry defaultEventServiceRetry,
+      MeterRegistry meterRegistry) {
     circuitBreaker = circuitBreakerFactory.create("event-request-service");
-    this.webClientBuilder = webClientBuilder;
+    // built once, sharing the builder's pooled connector and filter chain across all requests
+    this.webClient = webClientBuilder.build();
     this.eventTimeoutInMilliseconds = eventTimeoutInMilliseconds;
     this.eventTimeoutDuration = Duration.ofMillis(eventTimeoutInMilliseconds);
     this.defaultEventServiceRetry = defaultEventServiceRetry;
+    this.coalescedRequestCounter = Counter.builder("event.requests.single-flight")
+        .description("Event requests joining an in-flight request for the same event")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.upstreamRequestCounter = Counter.builder("event.requests.single-flight")
+        .description("Event requests issuing a new request to event-service")
+        .tag("result", "miss")
+        .register(meterRegistry);
   }
 
   @Override
   public Mono<EventDto> requestEvent(Integer eventId, String token) {
+    return Mono.defer(() -> {
+      var joined = new boolean[]{true};
+      var request = inFlightRequests.computeIfAbsent(new InFlightKey(eventId, EVENT_READ_AUTHORITY), key -> {
+        joined[0] = false;
+        return createSharedRequest(key, token);
+      });
+      if (!joined[0]) {
+        upstreamRequestCounter.increment();
+        return request;
+      }
+      log.debug("Joining in-flight request for event [{}]", eventId);
+      coalescedRequestCounter.increment();
+      return request
+          .onErrorResume(this::isCallerSpecific, ex -> {
+            log.debug("In-flight request for event [{}] was rejected for its own token. Retrying with caller's token",
+                eventId);
+            return fetchEvent(eventId, token);
+          });
+    });
+  }
+
+  /**
+   * Creates the request shared by callers for the given key, removing it once done. Only this request is removed, so
+   * a newer request under the same key is left in place.
+   */
+  private Mono<EventDto> createSharedRequest(InFlightKey key, String token) {
+    var sharedRequest = new AtomicReference<Mono<EventDto>>();
+    sharedRequest.set(fetchEvent(key.eventId(), token)
+        .doFinally(signal -> inFlightRequests.remove(key, sharedRequest.get()))
+        .share());
+    return sharedRequest.get();
+  }
+
+  /**
+   * Whether the error rejects the token the request was made with, rather than the request itself
+   */
+  private boolean isCallerSpecific(Throwable throwable) {
+    return throwable instanceof EventUnauthorizedException || throwable instanceof EventForbiddenException;
+  }
+
+  /**
+   * Fetches event from event-service, with timeouts, retries and circuit-breaker applied
+   */
+  private Mono<EventDto> fetchEvent(Integer eventId, String token) {
 
     log.debug("Making request to /api/events/{}", eventId);
 
-    return webClientBuilder
-        .build()
+    return webClient
         .get()
         .uri("/api/events/{eventId}", eventId)
         .accept(MediaType.APPLICATION_JSON)
@@ -72,7 +143,6 @@ public class DefaultEventRequestService implements EventRequestService {
         .onStatus(HttpStatusCode::is4xxClientError, resp -> this.handle400Response(resp, eventId))
         .bodyToMono(EventDto.class)
         // TODO: consider VirtualThreads here
-        .subscribeOn(Schedulers.boundedElastic())
         .doOnNext(eventDto -> log.debug("Event [{}] has been retrieved", eventId))
         .doOnError(throwable -> log.error("Event [{}] could not be retrieved", eventId, throwable))
         .timeout(eventTimeoutDuration)
@@ -141,4 +211,11 @@ public class DefaultEventRequestService implements EventRequestService {
   private String createEventNotFountMessage(Integer eventId) {
     return String.format("Event [%d] not found", eventId);
   }
+
+  /**
+   * Key for in-flight requests. Requests needing the same authority to read the same event share a response
+   */
+  private record InFlightKey(Integer eventId, String authority) {
+
+  }
 }
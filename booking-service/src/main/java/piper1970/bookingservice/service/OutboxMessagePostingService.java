@@ -0,0 +1,83 @@
+package piper1970.bookingservice.service;
+
+import brave.Tracer;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecord;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import piper1970.eventservice.common.bookings.messages.BookingCancelled;
+import piper1970.eventservice.common.bookings.messages.BookingCreated;
+import piper1970.eventservice.common.bookings.messages.BookingsCancelled;
+import piper1970.eventservice.common.bookings.messages.BookingsUpdated;
+import piper1970.eventservice.common.kafka.outbox.OutboxCodec;
+import piper1970.eventservice.common.kafka.outbox.OutboxMessage;
+import piper1970.eventservice.common.kafka.outbox.OutboxMessageRepository;
+import piper1970.eventservice.common.kafka.topics.Topics;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service for posting kafka messages through the transactional outbox.
+ * <p>
+ * Messages are inserted into the outbox table, joining the caller's transaction if there is one, so they are only
+ * published if the change they announce is committed. Publishing itself is left to OutboxRelay, so callers never wait
+ * on a kafka round trip.
+ * <p>
+ * The following messages are posted by this service:
+ * <ul>
+ *   <li>BookingCancelled message => booking-cancelled topic</li>
+ *   <li>BookingCreated message => booking-created topic</li>
+ *   <li>BookingsCancelled message => bookings-cancelled topic</li>
+ *   <li>BookingsUpdated message => bookings-updated topic</li>
+ * </ul>
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxMessagePostingService implements MessagePostingService {
+
+  private final OutboxMessageRepository outboxMessageRepository;
+  private final Clock clock;
+  private final Tracer tracer;
+
+  @Override
+  public Mono<Void> postBookingCreatedMessage(BookingCreated message) {
+    return saveToOutbox(Topics.BOOKING_CREATED, message.getBooking().getId(), message);
+  }
+
+  @Override
+  public Mono<Void> postBookingCancelledMessage(BookingCancelled message) {
+    return saveToOutbox(Topics.BOOKING_CANCELLED, message.getBooking().getId(), message);
+  }
+
+  @Override
+  public Mono<Void> postBookingsUpdatedMessage(BookingsUpdated message) {
+    return saveToOutbox(Topics.BOOKINGS_UPDATED, message.getEventId(), message);
+  }
+
+  @Override
+  public Mono<Void> postBookingsCancelledMessage(BookingsCancelled message) {
+    return saveToOutbox(Topics.BOOKINGS_CANCELLED, message.getEventId(), message);
+  }
+
+  private Mono<Void> saveToOutbox(String topic, Integer key, SpecificRecord message) {
+    return Mono.defer(() -> {
+      log.debug("Queueing message [{}] for topic [{}] in outbox", key, topic);
+      // capture trace ids now, as the current span has ended by the time the message is relayed
+      var currentSpan = tracer.currentSpan();
+      var outboxMessage = OutboxMessage.builder()
+          .topic(topic)
+          .messageKey(key)
+          .messageType(message.getClass().getName())
+          .payload(OutboxCodec.encode(message))
+          .traceId(currentSpan != null ? currentSpan.context().traceIdString() : null)
+          .spanId(currentSpan != null ? currentSpan.context().spanIdString() : null)
+          .createdAt(LocalDateTime.now(clock))
+          .build();
+      return outboxMessageRepository.save(outboxMessage);
+    }).then();
+  }
+}
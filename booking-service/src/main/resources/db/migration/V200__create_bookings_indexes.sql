@@ -0,0 +1,5 @@
+-- Supports findByUsername, findByIdAndUsername and keyset paging of a user's bookings (username = ? AND id > ? ORDER BY id)
+CREATE INDEX IF NOT EXISTS idx_bookings_username_id ON bookings (username, id);
+
+-- Supports per-event fan-out lookups (event_id = ? AND booking_status [NOT] IN (...))
+CREATE INDEX IF NOT EXISTS idx_bookings_event_id_booking_status ON bookings (event_id, booking_status);
@@ -0,0 +1,8 @@
+-- Shedlock locks, so only one instance relays the transactional outbox at a time
+CREATE TABLE IF NOT EXISTS shedlock(
+    name VARCHAR(64) NOT NULL,
+    lock_until TIMESTAMP NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    locked_by VARCHAR(255) NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -48,6 +48,7 @@ import piper1970.bookingservice.kafka.listeners.EventCancelledListener;
 import piper1970.bookingservice.kafka.listeners.EventChangedListener;
 import piper1970.bookingservice.repository.BookingRepository;
 import piper1970.bookingservice.service.MessagePostingService;
+import piper1970.bookingservice.service.ReactiveKafkaMessagePostingService;
 import piper1970.eventservice.common.bookings.messages.BookingCancelled;
 import piper1970.eventservice.common.bookings.messages.BookingCreated;
 import piper1970.eventservice.common.bookings.messages.BookingsCancelled;
@@ -86,7 +87,10 @@ class BookingServiceApplicationTests {
   //region Properties Used
 
   @Autowired
-  private MessagePostingService kafkaMessagePostingService;
+  private ReactiveKafkaMessagePostingService kafkaMessagePostingService;
+
+  @Autowired
+  private MessagePostingService messagePostingService;
 
   @Autowired
   private Tracer tracer;
@@ -112,13 +116,24 @@ class BookingServiceApplicationTests {
   @Qualifier("repository")
   private Retry defaultRepositoryRetry;
 
-  @Autowired
-  @Qualifier("kafka")
-  private Retry defaultKafkaRetry;
-
   @Value("${booking-repository.timout.milliseconds}")
   private Long timeoutMillis;
 
+  @Value("${bookings.fan-out.chunk.size:500}")
+  private Integer chunkSize;
+
+  @Value("${booking-confirmed.batch.max.size:100}")
+  private Integer confirmedBatchMaxSize;
+
+  @Value("${booking-confirmed.batch.window.millis:500}")
+  private Long confirmedBatchWindowMillis;
+
+  @Value("${booking-expired.batch.max.size:100}")
+  private Integer expiredBatchMaxSize;
+
+  @Value("${booking-expired.batch.window.millis:500}")
+  private Long expiredBatchWindowMillis;
+
   @Autowired
   private Clock clock;
 
@@ -132,17 +147,17 @@ class BookingServiceApplicationTests {
   void setupListeners() {
     // setup all kafka listeners
     discoverableListeners.add(new BookingConfirmedListener(receiverFactory, dltProducer,
-        bookingRepository, timeoutMillis, defaultRepositoryRetry));
+        bookingRepository, timeoutMillis, defaultRepositoryRetry, confirmedBatchMaxSize, confirmedBatchWindowMillis));
     discoverableListeners.add(new BookingExpiredListener(receiverFactory, dltProducer,
-        bookingRepository, timeoutMillis,defaultRepositoryRetry));
+        bookingRepository, timeoutMillis,defaultRepositoryRetry, expiredBatchMaxSize, expiredBatchWindowMillis));
     discoverableListeners.add(new BookingEventUnavailableListener(receiverFactory, dltProducer,
         bookingRepository, timeoutMillis,defaultRepositoryRetry));
     discoverableListeners.add(new EventChangedListener(receiverFactory, dltProducer,
-        kafkaSender,
-        bookingRepository, tracer, timeoutMillis, defaultRepositoryRetry,defaultKafkaRetry, clock));
+        messagePostingService,
+        bookingRepository, transactionalOperator, timeoutMillis, chunkSize, defaultRepositoryRetry));
     discoverableListeners.add(new EventCancelledListener(receiverFactory, dltProducer,
-        kafkaSender,
-        bookingRepository, transactionalOperator, tracer, timeoutMillis, defaultRepositoryRetry, clock));
+        messagePostingService,
+        bookingRepository, transactionalOperator, timeoutMillis, chunkSize, defaultRepositoryRetry));
 
     // initialize call listeners
     discoverableListeners.forEach(DiscoverableListener::initializeReceiverFlux);
@@ -0,0 +1,150 @@
+package piper1970.bookingservice.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.IntegerSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import piper1970.eventservice.common.bookings.messages.BookingsUpdated;
+import piper1970.eventservice.common.bookings.messages.types.BookingId;
+import piper1970.eventservice.common.kafka.ProducerProfile;
+import piper1970.eventservice.common.kafka.outbox.OutboxCodec;
+import piper1970.eventservice.common.kafka.topics.Topics;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+import reactor.kafka.sender.SenderRecord;
+
+/**
+ * Repeatable throughput benchmark for the kafka producer profiles, run against an embedded kafka broker.
+ * <p>
+ * Sends the same stream of bookings-updated messages (default 50,000, override with -Dkafka.benchmark.messages)
+ * through an untuned producer and through each {@link ProducerProfile}, and reports throughput and bytes on the
+ * wire, as measured by the producer's outgoing-byte-total metric.
+ * <p>
+ * Messages are pre-encoded as Avro binary, so the benchmark measures the producer rather than the serializer, and
+ * needs no schema registry.
+ * <p>
+ * Only runs with the benchmark profile: mvn verify -Pbenchmark -pl booking-service
+ */
+@DisplayName("Producer Profile Benchmark")
+@Tag("benchmark")
+@Slf4j
+public class ProducerProfileBenchmarkIT {
+
+  private static final int MESSAGES = Integer.getInteger("kafka.benchmark.messages", 50_000);
+  private static final int WARMUP_MESSAGES = 1_000;
+  private static final int BOOKINGS_PER_MESSAGE = 20;
+  private static final int EVENTS = 500;
+
+  private static EmbeddedKafkaKraftBroker broker;
+
+  @BeforeAll
+  static void startBroker() {
+    broker = new EmbeddedKafkaKraftBroker(1, 3, Topics.BOOKINGS_UPDATED);
+    broker.afterPropertiesSet();
+  }
+
+  @AfterAll
+  static void stopBroker() {
+    broker.destroy();
+  }
+
+  @Test
+  @DisplayName("fan-out profile should send fewer bytes than an untuned producer")
+  void benchmarkProducerProfiles() {
+    Map<String, BenchmarkResult> results = new LinkedHashMap<>();
+    results.put("UNTUNED", measure(baseProperties()));
+    for (var profile : ProducerProfile.values()) {
+      results.put(profile.name(), measure(profile.apply(baseProperties())));
+    }
+
+    log.info("Producer throughput over {} bookings-updated messages", MESSAGES);
+    results.forEach((name, result) -> log.info("  {}: {} msg/s, {} bytes on the wire ({} bytes/msg)", name,
+        "%.0f".formatted(result.messagesPerSecond()), "%.0f".formatted(result.bytes()),
+        "%.1f".formatted(result.bytes() / MESSAGES)));
+
+    assertTrue(results.get(ProducerProfile.FAN_OUT.name()).bytes() < results.get("UNTUNED").bytes(),
+        "FAN_OUT profile should compress batches below the untuned producer's byte count");
+  }
+
+  private BenchmarkResult measure(Map<String, Object> producerProperties) {
+    KafkaSender<Integer, byte[]> kafkaSender = KafkaSender.create(SenderOptions.create(producerProperties));
+    try {
+      // warm up connections and metadata before measuring
+      send(kafkaSender, WARMUP_MESSAGES);
+      var bytesBefore = outgoingBytes(kafkaSender);
+
+      var start = System.nanoTime();
+      send(kafkaSender, MESSAGES);
+      var elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+      return new BenchmarkResult(MESSAGES / elapsedSeconds, outgoingBytes(kafkaSender) - bytesBefore);
+    } finally {
+      kafkaSender.close();
+    }
+  }
+
+  private void send(KafkaSender<Integer, byte[]> kafkaSender, int count) {
+    kafkaSender.send(Flux.range(0, count)
+            .map(i -> {
+              var message = createBookingsUpdatedMessage(i);
+              return SenderRecord.create(new ProducerRecord<>(Topics.BOOKINGS_UPDATED, message.getEventId(),
+                  OutboxCodec.encode(message)), i);
+            }))
+        .blockLast();
+  }
+
+  private double outgoingBytes(KafkaSender<Integer, byte[]> kafkaSender) {
+    return kafkaSender.doOnProducer(producer -> producer.metrics().entrySet().stream()
+            .filter(entry -> entry.getKey().group().equals("producer-metrics")
+                && entry.getKey().name().equals("outgoing-byte-total"))
+            .mapToDouble(entry -> (Double) entry.getValue().metricValue())
+            .sum())
+        .blockOptional()
+        .orElse(0.0);
+  }
+
+  private Map<String, Object> baseProperties() {
+    Map<String, Object> properties = new HashMap<>();
+    properties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+    properties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, IntegerSerializer.class);
+    properties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    return properties;
+  }
+
+  private static BookingsUpdated createBookingsUpdatedMessage(int index) {
+    var eventId = index % EVENTS;
+    List<BookingId> bookings = IntStream.range(0, BOOKINGS_PER_MESSAGE)
+        .mapToObj(offset -> {
+          var bookingId = new BookingId();
+          bookingId.setId(index * BOOKINGS_PER_MESSAGE + offset);
+          bookingId.setUsername("user_" + offset);
+          bookingId.setEmail("user_" + offset + "@test.com");
+          return bookingId;
+        })
+        .toList();
+    var message = new BookingsUpdated();
+    message.setBookings(bookings);
+    message.setEventId(eventId);
+    message.setMessage("Event [%d] has been updated".formatted(eventId));
+    return message;
+  }
+
+  private record BenchmarkResult(double messagesPerSecond, double bytes) {
+
+  }
+}
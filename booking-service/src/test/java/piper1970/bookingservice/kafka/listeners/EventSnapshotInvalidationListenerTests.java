@@ -0,0 +1,67 @@
+package piper1970.bookingservice.kafka.listeners;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import piper1970.bookingservice.cache.EventSnapshotCache;
+import piper1970.eventservice.common.events.dto.EventDto;
+import piper1970.eventservice.common.events.messages.EventCancelled;
+import piper1970.eventservice.common.events.messages.EventChanged;
+import piper1970.eventservice.common.events.messages.EventCompleted;
+import piper1970.eventservice.common.kafka.topics.Topics;
+import reactor.core.publisher.Flux;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+@DisplayName("Event Snapshot Invalidation Listener")
+class EventSnapshotInvalidationListenerTests {
+
+  @Test
+  @DisplayName("should invalidate the snapshot of each changed, cancelled or completed event")
+  void buildFluxRequest_invalidates_snapshots() {
+    var eventSnapshotCache = new EventSnapshotCache(new SimpleMeterRegistry(), 100L, 60_000L);
+    List.of(1, 2, 3, 4).forEach(eventId -> eventSnapshotCache.put(EventDto.builder().id(eventId).build()));
+    var records = List.of(
+        createRecord(Topics.EVENT_CHANGED, 1, new EventChanged(1, "changed")),
+        createRecord(Topics.EVENT_CANCELLED, 2, new EventCancelled(2, "cancelled")),
+        createRecord(Topics.EVENT_COMPLETED, 3, new EventCompleted(3, "completed")),
+        createRecord(Topics.EVENT_CHANGED, 4, "unreadable"));
+    var listener = new EventSnapshotInvalidationListener(ReceiverOptions.create(), eventSnapshotCache,
+        "test-snapshots", 1_000L) {
+      @Override
+      KafkaReceiver<Integer, Object> createReceiver() {
+        @SuppressWarnings("unchecked")
+        KafkaReceiver<Integer, Object> receiver = mock(KafkaReceiver.class);
+        when(receiver.receive()).thenReturn(Flux.fromIterable(records));
+        return receiver;
+      }
+    };
+
+    StepVerifier.create(listener.buildFluxRequest())
+        .expectNext(1, 2, 3)
+        .verifyComplete();
+
+    assertTrue(eventSnapshotCache.get(1).isEmpty());
+    assertTrue(eventSnapshotCache.get(2).isEmpty());
+    assertTrue(eventSnapshotCache.get(3).isEmpty());
+    assertTrue(eventSnapshotCache.get(4).isPresent(), "unreadable messages should leave snapshots untouched");
+  }
+
+  private static ReceiverRecord<Integer, Object> createRecord(String topic, Integer key, Object value) {
+    var consumerRecord = new ConsumerRecord<Integer, Object>(topic, 0, key, 0L, TimestampType.CREATE_TIME,
+        0, 0, key, value, new RecordHeaders(), Optional.empty());
+    return new ReceiverRecord<>(consumerRecord, mock(ReceiverOffset.class));
+  }
+}
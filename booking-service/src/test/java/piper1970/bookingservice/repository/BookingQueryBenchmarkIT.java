@@ -0,0 +1,188 @@
+package piper1970.bookingservice.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Repeatable latency benchmark for the booking-service query paths, run against a real Postgres.
+ * <p>
+ * Seeds the bookings table (default 2,000,000 rows, override with -Dbookings.benchmark.rows) with only the V100
+ * schema applied, times each repository query, then applies the remaining migrations and times them again.
+ * <p>
+ * Needs Docker, and only runs with the benchmark profile: mvn verify -Pbenchmark -pl booking-service
+ */
+@DisplayName("Booking Query Benchmark")
+@Testcontainers
+@Tag("benchmark")
+@Slf4j
+public class BookingQueryBenchmarkIT {
+
+  private static final String DB_USER = "postgres";
+  private static final String DB_PASSWORD = "postgres_password_test";
+  private static final int ROWS = Integer.getInteger("bookings.benchmark.rows", 2_000_000);
+  private static final int USERS = Math.max(1, ROWS / 20);
+  private static final int EVENTS = Math.max(1, ROWS / 100);
+  private static final int WARMUP_ITERATIONS = 20;
+  private static final int MEASURED_ITERATIONS = 200;
+
+  @Container
+  static GenericContainer<?> postgres = new GenericContainer<>("postgres:15")
+      .withEnv("POSTGRES_PASSWORD", DB_PASSWORD)
+      .withExposedPorts(5432)
+      .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\s", 2));
+
+  /// Queries issued by BookingRepository, with a generator of random bind parameters for each
+  private static final List<BenchmarkQuery> QUERIES = List.of(
+      new BenchmarkQuery("findByUsername",
+          "SELECT * FROM event_service.bookings WHERE username = ?",
+          random -> List.of(randomUsername(random))),
+      new BenchmarkQuery("findByIdAndUsername",
+          "SELECT * FROM event_service.bookings WHERE id = ? AND username = ?",
+          random -> List.of(random.nextInt(ROWS) + 1, randomUsername(random))),
+      new BenchmarkQuery("findPageByUsernameAfterId",
+          "SELECT * FROM event_service.bookings WHERE username = ? AND id > ? ORDER BY id LIMIT 50",
+          random -> List.of(randomUsername(random), 0)),
+      new BenchmarkQuery("findByEventIdAndBookingStatusNotIn",
+          "SELECT id, event_id, username, email FROM event_service.bookings WHERE event_id = ? AND booking_status NOT IN ('CANCELLED', 'COMPLETED')",
+          random -> List.of(random.nextInt(EVENTS) + 1)),
+      new BenchmarkQuery("findBookingsByEventIdAndBookingStatusIn",
+          "SELECT * FROM event_service.bookings WHERE event_id = ? AND booking_status IN ('IN_PROGRESS', 'CONFIRMED')",
+          random -> List.of(random.nextInt(EVENTS) + 1))
+  );
+
+  @Test
+  @DisplayName("secondary indexes should remove sequential scans from booking query paths")
+  void benchmarkQueryPaths() throws SQLException {
+
+    var jdbcUrl = "jdbc:postgresql://%s:%d/postgres".formatted(postgres.getHost(), postgres.getMappedPort(5432));
+
+    migrate(jdbcUrl, "100");
+
+    try (var connection = DriverManager.getConnection(jdbcUrl, DB_USER, DB_PASSWORD)) {
+
+      seed(connection);
+
+      var before = measureAll(connection);
+
+      migrate(jdbcUrl, "latest");
+      analyze(connection);
+
+      var after = measureAll(connection);
+
+      log.info("Booking query latency over {} rows (median / p95 in ms)", ROWS);
+      QUERIES.forEach(query -> log.info("  {}: before [{}], after [{}]", query.name(),
+          before.get(query.name()), after.get(query.name())));
+
+      for (var query : QUERIES) {
+        var plan = explain(connection, query);
+        assertFalse(plan.contains("Seq Scan"),
+            "[%s] still uses a sequential scan:%n%s".formatted(query.name(), plan));
+      }
+    }
+  }
+
+  private void migrate(String jdbcUrl, String target) {
+    Flyway.configure()
+        .dataSource(jdbcUrl, DB_USER, DB_PASSWORD)
+        .schemas("event_service")
+        .target(target)
+        .load()
+        .migrate();
+  }
+
+  private void seed(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute("""
+          INSERT INTO event_service.bookings (version, event_id, username, email, booking_status)
+          SELECT 0,
+                 (g %% %1$d) + 1,
+                 'user_' || (g %% %2$d),
+                 'user_' || (g %% %2$d) || '@test.com',
+                 (ARRAY['IN_PROGRESS', 'CONFIRMED', 'CANCELLED', 'COMPLETED'])[(g %% 4) + 1]
+          FROM generate_series(1, %3$d) AS g
+          """.formatted(EVENTS, USERS, ROWS));
+    }
+    analyze(connection);
+  }
+
+  private void analyze(Connection connection) throws SQLException {
+    try (var statement = connection.createStatement()) {
+      statement.execute("ANALYZE event_service.bookings");
+    }
+  }
+
+  private Map<String, String> measureAll(Connection connection) throws SQLException {
+    Map<String, String> results = new LinkedHashMap<>();
+    for (var query : QUERIES) {
+      results.put(query.name(), measure(connection, query));
+    }
+    return results;
+  }
+
+  private String measure(Connection connection, BenchmarkQuery query) throws SQLException {
+    var timings = new long[MEASURED_ITERATIONS];
+    try (var statement = connection.prepareStatement(query.sql())) {
+      for (int i = 0; i < WARMUP_ITERATIONS + MEASURED_ITERATIONS; i++) {
+        query.bind(statement);
+        var start = System.nanoTime();
+        try (var resultSet = statement.executeQuery()) {
+          while (resultSet.next()) {
+            // drain results so fetch time is included
+          }
+        }
+        if (i >= WARMUP_ITERATIONS) {
+          timings[i - WARMUP_ITERATIONS] = System.nanoTime() - start;
+        }
+      }
+    }
+    Arrays.sort(timings);
+    return "%.3f / %.3f".formatted(timings[timings.length / 2] / 1_000_000.0,
+        timings[(int) (timings.length * 0.95)] / 1_000_000.0);
+  }
+
+  private String explain(Connection connection, BenchmarkQuery query) throws SQLException {
+    try (var statement = connection.prepareStatement("EXPLAIN " + query.sql())) {
+      query.bind(statement);
+      var plan = new StringBuilder();
+      try (var resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          plan.append(System.lineSeparator()).append(resultSet.getString(1));
+        }
+      }
+      return plan.toString();
+    }
+  }
+
+  private static String randomUsername(ThreadLocalRandom random) {
+    return "user_" + random.nextInt(USERS);
+  }
+
+  private record BenchmarkQuery(String name, String sql, Function<ThreadLocalRandom, List<Object>> parameters) {
+
+    void bind(PreparedStatement statement) throws SQLException {
+      var values = parameters.apply(ThreadLocalRandom.current());
+      for (int i = 0; i < values.size(); i++) {
+        statement.setObject(i + 1, values.get(i));
+      }
+    }
+  }
+}
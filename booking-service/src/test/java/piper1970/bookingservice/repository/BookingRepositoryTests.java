@@ -2,7 +2,9 @@ package piper1970.bookingservice.repository;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.ClassOrderer.OrderAnnotation;
 import org.junit.jupiter.api.DisplayName;
@@ -32,6 +34,7 @@ class BookingRepositoryTests {
   void setUp() {
 
     var statements = List.of("DROP TABLE IF EXISTS event_service.bookings;",
+        "DROP TABLE IF EXISTS event_service.outbox_messages;",
         "DROP SCHEMA IF EXISTS event_service;",
         "CREATE SCHEMA event_service;",
         """
@@ -89,6 +92,35 @@ class BookingRepositoryTests {
         .verifyComplete();
   }
 
+  @Test
+  @DisplayName("should be able to find page of bookings given a username, after given id")
+  void findPageByUsernameAfterId() {
+
+    var testUsername = "test_username";
+    var bookings = IntStream.rangeClosed(1, 5)
+        .mapToObj(idx -> Booking.builder()
+            .username(idx == 3 ? testUsername + "somethingElse" : testUsername)
+            .email(testUsername + idx + "@test.com")
+            .eventId(idx)
+            .bookingStatus(BookingStatus.IN_PROGRESS)
+            .build())
+        .toArray(Booking[]::new);
+
+    insertBookings(bookings);
+
+    bookingRepository.findPageByUsernameAfterId(testUsername, 1, 2)
+        .map(Booking::getId)
+        .as(StepVerifier::create)
+        .expectNext(2, 4)
+        .verifyComplete();
+
+    bookingRepository.findPageByUsernameAfterId(testUsername, 4, 2)
+        .map(Booking::getId)
+        .as(StepVerifier::create)
+        .expectNext(5)
+        .verifyComplete();
+  }
+
   @Test
   @DisplayName("should be able to find a booking by id and username")
   void findByIdAndUsername() {
@@ -183,6 +215,47 @@ class BookingRepositoryTests {
         .verifyComplete();
   }
 
+  @Test
+  @DisplayName("should be able to update status of bookings given ids and current status")
+  void updateBookingStatusByIdIn() {
+
+    var booking1 = Booking.builder()
+        .username("test_username_1")
+        .email("test_username_1@test.com")
+        .eventId(1)
+        .bookingStatus(BookingStatus.IN_PROGRESS)
+        .build();
+
+    var booking2 = Booking.builder()
+        .username("test_username_2")
+        .email("test_username_2@test.com")
+        .eventId(1)
+        .bookingStatus(BookingStatus.CANCELLED)
+        .build();
+
+    var booking3 = Booking.builder()
+        .username("test_username_3")
+        .email("test_username_3@test.com")
+        .eventId(1)
+        .bookingStatus(BookingStatus.IN_PROGRESS)
+        .build();
+
+    insertBookings(booking1, booking2, booking3);
+
+    bookingRepository.updateBookingStatusByIdIn(List.of(1, 2), BookingStatus.IN_PROGRESS,
+            BookingStatus.CONFIRMED)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    bookingRepository.findAllById(List.of(1, 2, 3))
+        .sort(Comparator.comparing(Booking::getId))
+        .map(Booking::getBookingStatus)
+        .as(StepVerifier::create)
+        .expectNext(BookingStatus.CONFIRMED, BookingStatus.CANCELLED, BookingStatus.IN_PROGRESS)
+        .verifyComplete();
+  }
+
   /**
    * Helper method to initialize repo with given bookings.
    *
@@ -0,0 +1,117 @@
+package piper1970.bookingservice.service;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import piper1970.bookingservice.cache.EventSnapshotCache;
+import piper1970.eventservice.common.events.dto.EventDto;
+import piper1970.eventservice.common.events.status.EventStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Caching Event Request Service")
+class CachingEventRequestServiceTests {
+
+  private static final Integer eventId = 1;
+  private static final String token = "token";
+
+  @Mock
+  private DefaultEventRequestService defaultEventRequestService;
+
+  private final Clock clock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
+  private EventSnapshotCache eventSnapshotCache;
+  private CachingEventRequestService requestService;
+
+  @BeforeEach
+  void setUp() {
+    eventSnapshotCache = new EventSnapshotCache(new SimpleMeterRegistry(), 100L, 60_000L);
+    requestService = new CachingEventRequestService(defaultEventRequestService, eventSnapshotCache, clock);
+  }
+
+  @Test
+  @DisplayName("requestEvent should fetch from event-service on cache miss, then serve from cache")
+  void requestEvent_miss_then_hit() {
+    var event = createEvent(EventStatus.AWAITING, 10, LocalDateTime.now(clock).plusDays(1));
+    when(defaultEventRequestService.requestEvent(eventId, token)).thenReturn(Mono.just(event));
+
+    StepVerifier.create(requestService.requestEvent(eventId, token))
+        .expectNext(event)
+        .verifyComplete();
+
+    StepVerifier.create(requestService.requestEvent(eventId, token))
+        .expectNext(event)
+        .verifyComplete();
+
+    verify(defaultEventRequestService, times(1)).requestEvent(eventId, token);
+  }
+
+  @Test
+  @DisplayName("requestEvent should refresh cached event that has no bookings available")
+  void requestEvent_cached_event_sold_out() {
+    eventSnapshotCache.put(createEvent(EventStatus.AWAITING, 0, LocalDateTime.now(clock).plusDays(1)));
+    var refreshed = createEvent(EventStatus.AWAITING, 1, LocalDateTime.now(clock).plusDays(1));
+    when(defaultEventRequestService.requestEvent(eventId, token)).thenReturn(Mono.just(refreshed));
+
+    StepVerifier.create(requestService.requestEvent(eventId, token))
+        .expectNext(refreshed)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("requestEvent should refresh cached event whose start time has passed")
+  void requestEvent_cached_event_started() {
+    eventSnapshotCache.put(createEvent(EventStatus.AWAITING, 10, LocalDateTime.now(clock).minusMinutes(1)));
+    var refreshed = createEvent(EventStatus.IN_PROGRESS, 10, LocalDateTime.now(clock).minusMinutes(1));
+    when(defaultEventRequestService.requestEvent(eventId, token)).thenReturn(Mono.just(refreshed));
+
+    StepVerifier.create(requestService.requestEvent(eventId, token))
+        .expectNext(refreshed)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("requestEvent should fetch from event-service once cached event is invalidated")
+  void requestEvent_invalidated() {
+    var event = createEvent(EventStatus.AWAITING, 10, LocalDateTime.now(clock).plusDays(1));
+    eventSnapshotCache.put(event);
+
+    StepVerifier.create(requestService.requestEvent(eventId, token))
+        .expectNext(event)
+        .verifyComplete();
+    verify(defaultEventRequestService, never()).requestEvent(eventId, token);
+
+    eventSnapshotCache.invalidate(eventId);
+    var cancelled = event.withEventStatus(EventStatus.CANCELLED);
+    when(defaultEventRequestService.requestEvent(eventId, token)).thenReturn(Mono.just(cancelled));
+
+    StepVerifier.create(requestService.requestEvent(eventId, token))
+        .expectNext(cancelled)
+        .verifyComplete();
+  }
+
+  private EventDto createEvent(EventStatus eventStatus, Integer availableBookings, LocalDateTime eventDateTime) {
+    return EventDto.builder()
+        .id(eventId)
+        .facilitator("facilitator")
+        .title("title")
+        .eventStatus(eventStatus)
+        .availableBookings(availableBookings)
+        .eventDateTime(eventDateTime)
+        .durationInMinutes(60)
+        .build();
+  }
+}
@@ -0,0 +1,226 @@
+package piper1970.bookingservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionCallback;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import piper1970.bookingservice.domain.Booking;
+import piper1970.bookingservice.dto.mapper.BookingMapper;
+import piper1970.bookingservice.dto.model.BookingCreateRequest;
+import piper1970.bookingservice.dto.model.BookingDto;
+import piper1970.bookingservice.repository.BookingRepository;
+import piper1970.eventservice.common.events.dto.EventDto;
+import piper1970.eventservice.common.events.status.EventStatus;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Repeatable latency benchmark for {@link DefaultBookingWebService#createBooking}, comparing the pipeline with and
+ * without a boundedElastic hop on each of its non-blocking calls.
+ * <p>
+ * The event request, repository save and outbox post are stubbed as non-blocking clients completing on a small
+ * event-loop group after a fixed latency. The "hops" variant appends subscribeOn(Schedulers.boundedElastic()) to each,
+ * as the service did before the scheduling policy. Each variant serves a fixed number of requests (default 20,000,
+ * override with -Dscheduling.benchmark.requests) at a fixed concurrency, first with an idle elastic pool, then with the
+ * pool saturated by blocking work such as SMTP sends, and reports p50 / p99 / p99.9 latency.
+ * <p>
+ * Only runs with the benchmark profile: mvn verify -Pbenchmark -pl booking-service
+ */
+@DisplayName("Create Booking Latency Benchmark")
+@Tag("benchmark")
+@Slf4j
+class CreateBookingLatencyBenchmarkIT {
+
+  private static final int REQUESTS = Integer.getInteger("scheduling.benchmark.requests", 20_000);
+  private static final int WARMUP_REQUESTS = 10_000;
+  private static final int CONCURRENCY = 64;
+  private static final Duration IO_LATENCY = Duration.ofNanos(200_000);
+  private static final Duration BLOCKING_TASK = Duration.ofMillis(5);
+  private static final String TOKEN = "benchmark-token";
+
+  private static Scheduler eventLoop;
+
+  @BeforeAll
+  static void createEventLoop() {
+    eventLoop = Schedulers.newParallel("event-loop", 2);
+  }
+
+  @AfterAll
+  static void disposeEventLoop() {
+    eventLoop.dispose();
+  }
+
+  @Test
+  @DisplayName("createBooking should stay off the elastic pool, and keep its p99 when the pool is busy")
+  void benchmarkCreateBooking() {
+    var withHops = createService(mono -> mono.subscribeOn(Schedulers.boundedElastic()));
+    var withoutHops = createService(UnaryOperator.identity());
+
+    measure(withHops, WARMUP_REQUESTS, null);
+    measure(withoutHops, WARMUP_REQUESTS, null);
+
+    var idleWithHops = measure(withHops, REQUESTS, null);
+    Set<String> completionThreads = ConcurrentHashMap.newKeySet();
+    var idleWithoutHops = measure(withoutHops, REQUESTS, completionThreads);
+
+    Disposable blockingWork = saturateElasticPool();
+    LatencyResult busyWithHops;
+    LatencyResult busyWithoutHops;
+    try {
+      busyWithHops = measure(withHops, REQUESTS, null);
+      busyWithoutHops = measure(withoutHops, REQUESTS, null);
+    } finally {
+      blockingWork.dispose();
+    }
+
+    log.info("createBooking latency over {} requests at concurrency {} (p50 / p99 / p99.9 in ms)", REQUESTS,
+        CONCURRENCY);
+    log.info("  idle elastic pool: with hops [{}], without hops [{}]", idleWithHops, idleWithoutHops);
+    log.info("  busy elastic pool: with hops [{}], without hops [{}]", busyWithHops, busyWithoutHops);
+
+    assertFalse(completionThreads.stream().anyMatch(name -> name.startsWith("boundedElastic")),
+        "bookings should complete without a hop onto the elastic pool, but completed on " + completionThreads);
+  }
+
+  /**
+   * Serves the given number of createBooking requests at the benchmark concurrency, collecting the threads requests
+   * complete on if given.
+   */
+  private LatencyResult measure(DefaultBookingWebService service, int requests, Set<String> completionThreads) {
+    var latencies = new long[requests];
+    var completed = Flux.range(0, requests)
+        .flatMap(index -> Mono.defer(() -> {
+          var start = System.nanoTime();
+          return service.createBooking(createRequest(index), TOKEN)
+              .doOnNext(booking -> {
+                latencies[index] = System.nanoTime() - start;
+                if (completionThreads != null) {
+                  completionThreads.add(Thread.currentThread().getName());
+                }
+              });
+        }), CONCURRENCY)
+        .count()
+        .block();
+    assertEquals(requests, completed, "every request should create a booking");
+    return LatencyResult.of(latencies);
+  }
+
+  /**
+   * Keeps every elastic worker busy with blocking tasks, as large mail fan-outs would.
+   */
+  private Disposable saturateElasticPool() {
+    return Flux.range(0, Integer.MAX_VALUE)
+        .flatMap(index -> Mono.fromRunnable(CreateBookingLatencyBenchmarkIT::block)
+            .subscribeOn(Schedulers.boundedElastic()), Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE)
+        .subscribe();
+  }
+
+  private static void block() {
+    try {
+      Thread.sleep(BLOCKING_TASK);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Builds the service over non-blocking stubs, each decorated by the given hop.
+   */
+  private DefaultBookingWebService createService(UnaryOperator<Mono<?>> hop) {
+    var event = EventDto.builder()
+        .id(1)
+        .availableBookings(Integer.MAX_VALUE)
+        .eventStatus(EventStatus.AWAITING)
+        .build();
+
+    EventRequestService eventRequestService = (eventId, token) -> hop.apply(nonBlocking(event)).cast(EventDto.class);
+
+    var bookingRepository = mock(BookingRepository.class, withSettings().stubOnly());
+    when(bookingRepository.save(any()))
+        .thenAnswer(args -> hop.apply(nonBlocking(args.<Booking>getArgument(0).withId(1))));
+
+    var messagePostingService = mock(MessagePostingService.class, withSettings().stubOnly());
+    when(messagePostingService.postBookingCreatedMessage(any()))
+        .thenAnswer(args -> hop.apply(nonBlocking(Boolean.TRUE).then()));
+
+    BookingMapper bookingMapper = booking -> BookingDto.builder()
+        .id(booking.getId())
+        .eventId(booking.getEventId())
+        .username(booking.getUsername())
+        .email(booking.getEmail())
+        .bookingStatus(booking.getBookingStatus().name())
+        .build();
+
+    var retry = Retry.backoff(3, Duration.ofMillis(500))
+        .filter(TimeoutException.class::isInstance);
+
+    return new DefaultBookingWebService(bookingMapper, bookingRepository, eventRequestService,
+        messagePostingService, new PassThroughTransactionalOperator(), 2_000L, retry, retry);
+  }
+
+  /**
+   * Completes on the event loop after the I/O latency, as R2DBC, reactor-kafka and WebClient responses do.
+   */
+  private static <T> Mono<T> nonBlocking(T value) {
+    return Mono.delay(IO_LATENCY, eventLoop)
+        .thenReturn(value);
+  }
+
+  private static BookingCreateRequest createRequest(int index) {
+    return BookingCreateRequest.builder()
+        .eventId(1)
+        .username("user_" + index)
+        .email("user_" + index + "@test.com")
+        .build();
+  }
+
+  /**
+   * Runs the pipeline without a transaction, so only scheduling differs between variants.
+   */
+  private static class PassThroughTransactionalOperator implements TransactionalOperator {
+
+    @Override
+    public <T> Flux<T> execute(TransactionCallback<T> action) {
+      return Flux.from(action.doInTransaction(null));
+    }
+  }
+
+  private record LatencyResult(double p50, double p99, double p999) {
+
+    static LatencyResult of(long[] latencies) {
+      Arrays.sort(latencies);
+      return new LatencyResult(percentile(latencies, 0.5), percentile(latencies, 0.99),
+          percentile(latencies, 0.999));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+      return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+      return "%.3f / %.3f / %.3f".formatted(p50, p99, p999);
+    }
+  }
+}
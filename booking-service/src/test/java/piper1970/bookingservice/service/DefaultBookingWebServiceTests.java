@@ -192,6 +192,36 @@ class DefaultBookingWebServiceTests {
         .verifyError(BookingTimeoutException.class);
   }
 
+  @Test
+  @DisplayName("findBookingsByUsernamePage should return page of bookings by user after given id")
+  void findBookingsByUsernamePage_UserFound() {
+
+    mockBookingMapper();
+
+    when(bookingRepository.findPageByUsernameAfterId(username, 1, 2)).thenReturn(createBookingFlux(username)
+        .skip(1)
+        .take(2)
+    );
+
+    StepVerifier.create(webService.findBookingsByUsernamePage(username, 1, 2))
+        .expectNextCount(2)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("findBookingsByUsernamePage should throw error if booking-repo takes too long")
+  void findBookingsByUsernamePage_TimedOut() {
+
+    when(bookingRepository.findPageByUsernameAfterId(username, 1, 2)).thenReturn(createBookingFlux(username)
+        .delaySequence(timeoutDuration)
+    );
+
+    StepVerifier.withVirtualTime(() -> webService.findBookingsByUsernamePage(username, 1, 2))
+        .expectSubscription()
+        .thenAwait(timeoutDuration.multipliedBy(10))
+        .verifyError(BookingTimeoutException.class);
+  }
+
   @Test
   @DisplayName("findBookingById should properly return booking found with id")
   void findBookingById() {
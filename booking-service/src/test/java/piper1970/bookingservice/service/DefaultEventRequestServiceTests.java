@@ -3,6 +3,8 @@ package piper1970.bookingservice.service;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -13,6 +15,7 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.tomakehurst.wiremock.common.ConsoleNotifier;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.concurrent.TimeoutException;
@@ -39,6 +42,7 @@ import piper1970.eventservice.common.exceptions.EventForbiddenException;
 import piper1970.eventservice.common.exceptions.EventNotFoundException;
 import piper1970.eventservice.common.exceptions.EventUnauthorizedException;
 import piper1970.eventservice.common.exceptions.UnknownCauseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import reactor.util.retry.Retry;
@@ -111,7 +115,8 @@ class DefaultEventRequestServiceTests {
     Builder clientBuilder = WebClient.builder()
         .baseUrl(baseUrl);
 
-    requestService = new DefaultEventRequestService(clientBuilder, mockCircuitBreakerFactory, timeoutInMillis, retry);
+    requestService = new DefaultEventRequestService(clientBuilder, mockCircuitBreakerFactory, timeoutInMillis, retry,
+        new SimpleMeterRegistry());
   }
 
   /// # TEST SCENARIOS
@@ -230,4 +235,82 @@ class DefaultEventRequestServiceTests {
         .expectNext(testEventResponse)
         .verifyComplete();
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("requestEvent should share a single upstream request among concurrent callers for the same event")
+  void requestEvent_concurrent_callers_coalesced() {
+    mockWebServer.stubFor(get("/api/events/" + eventId)
+        .willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withFixedDelay(200)
+            .withBody(testResponseJson))
+    );
+
+    StepVerifier.create(Flux.merge(
+                requestService.requestEvent(eventId, token),
+                requestService.requestEvent(eventId, token),
+                requestService.requestEvent(eventId, token))
+            .map(EventDto::getId))
+        .expectNext(eventId, eventId, eventId)
+        .verifyComplete();
+
+    mockWebServer.verify(1, getRequestedFor(urlEqualTo("/api/events/" + eventId)));
+  }
+
+  @Test
+  @DisplayName("requestEvent should share a single upstream request among concurrent callers with different tokens")
+  void requestEvent_concurrent_callers_with_different_tokens_coalesced() {
+    mockWebServer.stubFor(get("/api/events/" + eventId)
+        .willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withFixedDelay(200)
+            .withBody(testResponseJson))
+    );
+
+    StepVerifier.create(Flux.merge(
+                requestService.requestEvent(eventId, token),
+                requestService.requestEvent(eventId, "other-token"))
+            .map(EventDto::getId))
+        .expectNext(eventId, eventId)
+        .verifyComplete();
+
+    mockWebServer.verify(1, getRequestedFor(urlEqualTo("/api/events/" + eventId)));
+  }
+
+  @Test
+  @DisplayName("requestEvent should retry with the caller's own token when a shared request is rejected for its token")
+  void requestEvent_joined_caller_not_rejected_for_other_token() {
+    var otherToken = "other-token";
+    mockWebServer.stubFor(get("/api/events/" + eventId)
+        .withHeader(HttpHeaders.AUTHORIZATION, equalTo(bearerToken))
+        .willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withFixedDelay(200)
+            .withBody(testResponseJson))
+    );
+    mockWebServer.stubFor(get("/api/events/" + eventId)
+        .withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer " + otherToken))
+        .willReturn(aResponse()
+            .withStatus(401)
+            .withFixedDelay(200))
+    );
+
+    // the unauthorized caller issues the shared request, which the authorized caller joins
+    var unauthorized = requestService.requestEvent(eventId, otherToken);
+    var authorized = requestService.requestEvent(eventId, token);
+
+    StepVerifier.create(Mono.zip(unauthorized.map(EventDto::getId)
+                .onErrorResume(EventUnauthorizedException.class, ex -> Mono.just(-1)),
+            authorized.map(EventDto::getId)))
+        .expectNextMatches(results -> results.getT1() == -1 && results.getT2() == eventId)
+        .verifyComplete();
+
+    mockWebServer.verify(1, getRequestedFor(urlEqualTo("/api/events/" + eventId))
+        .withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer " + otherToken)));
+    mockWebServer.verify(1, getRequestedFor(urlEqualTo("/api/events/" + eventId))
+        .withHeader(HttpHeaders.AUTHORIZATION, equalTo(bearerToken)));
+  }
+}
@@ -8,4 +8,21 @@ CREATE TABLE IF NOT EXISTS event_service.bookings
     username          varchar(60)  NOT NULL,
     email             varchar(255) NOT NULL,
     booking_status    varchar(30)  NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_username_id ON event_service.bookings (username, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_event_id_booking_status ON event_service.bookings (event_id, booking_status);
+
+CREATE TABLE IF NOT EXISTS event_service.outbox_messages
+(
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    topic             varchar(255) NOT NULL,
+    message_key       integer,
+    message_type      varchar(255) NOT NULL,
+    payload           bytea        NOT NULL,
+    trace_id          varchar(32),
+    span_id           varchar(16),
+    created_at        timestamp    NOT NULL,
+    failed_at         timestamp
 );
\ No newline at end of file
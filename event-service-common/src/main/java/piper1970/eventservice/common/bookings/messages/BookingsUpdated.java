@@ -1,4 +1,4 @@
-/**
+/*
  * Autogenerated by Avro
  *
  * DO NOT EDIT DIRECTLY
@@ -13,10 +13,10 @@ import org.apache.avro.message.SchemaStore;
 
 @org.apache.avro.specific.AvroGenerated
 public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase implements org.apache.avro.specific.SpecificRecord {
-  private static final long serialVersionUID = -1634295054513377877L;
+  private static final long serialVersionUID = -4010146755048142207L;
 
 
-  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"BookingsUpdated\",\"namespace\":\"piper1970.eventservice.common.bookings.messages\",\"fields\":[{\"name\":\"bookings\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"record\",\"name\":\"BookingId\",\"namespace\":\"piper1970.eventservice.common.bookings.messages.types\",\"fields\":[{\"name\":\"id\",\"type\":\"int\"},{\"name\":\"email\",\"type\":\"string\"},{\"name\":\"username\",\"type\":\"string\"}]}}},{\"name\":\"eventId\",\"type\":\"int\"},{\"name\":\"message\",\"type\":[\"null\",\"string\"]}]}");
+  public static final org.apache.avro.Schema SCHEMA$ = new org.apache.avro.Schema.Parser().parse("{\"type\":\"record\",\"name\":\"BookingsUpdated\",\"namespace\":\"piper1970.eventservice.common.bookings.messages\",\"fields\":[{\"name\":\"bookings\",\"type\":{\"type\":\"array\",\"items\":{\"type\":\"record\",\"name\":\"BookingId\",\"namespace\":\"piper1970.eventservice.common.bookings.messages.types\",\"fields\":[{\"name\":\"id\",\"type\":\"int\"},{\"name\":\"email\",\"type\":\"string\"},{\"name\":\"username\",\"type\":\"string\"}]}}},{\"name\":\"eventId\",\"type\":\"int\"},{\"name\":\"message\",\"type\":[\"null\",\"string\"]},{\"name\":\"chunkIndex\",\"type\":\"int\",\"doc\":\"Zero-based position of this chunk of bookings within the fan-out for the event\",\"default\":0},{\"name\":\"chunkCount\",\"type\":\"int\",\"doc\":\"Number of chunks the bookings for the event were split into\",\"default\":1}]}");
   public static org.apache.avro.Schema getClassSchema() { return SCHEMA$; }
 
   private static final SpecificData MODEL$ = new SpecificData();
@@ -75,6 +75,10 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
   private java.util.List<piper1970.eventservice.common.bookings.messages.types.BookingId> bookings;
   private int eventId;
   private java.lang.CharSequence message;
+  /** Zero-based position of this chunk of bookings within the fan-out for the event */
+  private int chunkIndex;
+  /** Number of chunks the bookings for the event were split into */
+  private int chunkCount;
 
   /**
    * Default constructor.  Note that this does not initialize fields
@@ -88,11 +92,15 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
    * @param bookings The new value for bookings
    * @param eventId The new value for eventId
    * @param message The new value for message
+   * @param chunkIndex Zero-based position of this chunk of bookings within the fan-out for the event
+   * @param chunkCount Number of chunks the bookings for the event were split into
    */
-  public BookingsUpdated(java.util.List<piper1970.eventservice.common.bookings.messages.types.BookingId> bookings, java.lang.Integer eventId, java.lang.CharSequence message) {
+  public BookingsUpdated(java.util.List<piper1970.eventservice.common.bookings.messages.types.BookingId> bookings, java.lang.Integer eventId, java.lang.CharSequence message, java.lang.Integer chunkIndex, java.lang.Integer chunkCount) {
     this.bookings = bookings;
     this.eventId = eventId;
     this.message = message;
+    this.chunkIndex = chunkIndex;
+    this.chunkCount = chunkCount;
   }
 
   @Override
@@ -108,6 +116,8 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
     case 0: return bookings;
     case 1: return eventId;
     case 2: return message;
+    case 3: return chunkIndex;
+    case 4: return chunkCount;
     default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
     }
   }
@@ -120,6 +130,8 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
     case 0: bookings = (java.util.List<piper1970.eventservice.common.bookings.messages.types.BookingId>)value$; break;
     case 1: eventId = (java.lang.Integer)value$; break;
     case 2: message = (java.lang.CharSequence)value$; break;
+    case 3: chunkIndex = (java.lang.Integer)value$; break;
+    case 4: chunkCount = (java.lang.Integer)value$; break;
     default: throw new IndexOutOfBoundsException("Invalid index: " + field$);
     }
   }
@@ -175,6 +187,42 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
     this.message = value;
   }
 
+  /**
+   * Gets the value of the 'chunkIndex' field.
+   * @return Zero-based position of this chunk of bookings within the fan-out for the event
+   */
+  public int getChunkIndex() {
+    return chunkIndex;
+  }
+
+
+  /**
+   * Sets the value of the 'chunkIndex' field.
+   * Zero-based position of this chunk of bookings within the fan-out for the event
+   * @param value the value to set.
+   */
+  public void setChunkIndex(int value) {
+    this.chunkIndex = value;
+  }
+
+  /**
+   * Gets the value of the 'chunkCount' field.
+   * @return Number of chunks the bookings for the event were split into
+   */
+  public int getChunkCount() {
+    return chunkCount;
+  }
+
+
+  /**
+   * Sets the value of the 'chunkCount' field.
+   * Number of chunks the bookings for the event were split into
+   * @param value the value to set.
+   */
+  public void setChunkCount(int value) {
+    this.chunkCount = value;
+  }
+
   /**
    * Creates a new BookingsUpdated RecordBuilder.
    * @return A new BookingsUpdated RecordBuilder
@@ -219,6 +267,10 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
     private java.util.List<piper1970.eventservice.common.bookings.messages.types.BookingId> bookings;
     private int eventId;
     private java.lang.CharSequence message;
+    /** Zero-based position of this chunk of bookings within the fan-out for the event */
+    private int chunkIndex;
+    /** Number of chunks the bookings for the event were split into */
+    private int chunkCount;
 
     /** Creates a new Builder */
     private Builder() {
@@ -243,6 +295,14 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
         this.message = data().deepCopy(fields()[2].schema(), other.message);
         fieldSetFlags()[2] = other.fieldSetFlags()[2];
       }
+      if (isValidValue(fields()[3], other.chunkIndex)) {
+        this.chunkIndex = data().deepCopy(fields()[3].schema(), other.chunkIndex);
+        fieldSetFlags()[3] = other.fieldSetFlags()[3];
+      }
+      if (isValidValue(fields()[4], other.chunkCount)) {
+        this.chunkCount = data().deepCopy(fields()[4].schema(), other.chunkCount);
+        fieldSetFlags()[4] = other.fieldSetFlags()[4];
+      }
     }
 
     /**
@@ -263,6 +323,14 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
         this.message = data().deepCopy(fields()[2].schema(), other.message);
         fieldSetFlags()[2] = true;
       }
+      if (isValidValue(fields()[3], other.chunkIndex)) {
+        this.chunkIndex = data().deepCopy(fields()[3].schema(), other.chunkIndex);
+        fieldSetFlags()[3] = true;
+      }
+      if (isValidValue(fields()[4], other.chunkCount)) {
+        this.chunkCount = data().deepCopy(fields()[4].schema(), other.chunkCount);
+        fieldSetFlags()[4] = true;
+      }
     }
 
     /**
@@ -384,6 +452,92 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
       return this;
     }
 
+    /**
+      * Gets the value of the 'chunkIndex' field.
+      * Zero-based position of this chunk of bookings within the fan-out for the event
+      * @return The value.
+      */
+    public int getChunkIndex() {
+      return chunkIndex;
+    }
+
+
+    /**
+      * Sets the value of the 'chunkIndex' field.
+      * Zero-based position of this chunk of bookings within the fan-out for the event
+      * @param value The value of 'chunkIndex'.
+      * @return This builder.
+      */
+    public piper1970.eventservice.common.bookings.messages.BookingsUpdated.Builder setChunkIndex(int value) {
+      validate(fields()[3], value);
+      this.chunkIndex = value;
+      fieldSetFlags()[3] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'chunkIndex' field has been set.
+      * Zero-based position of this chunk of bookings within the fan-out for the event
+      * @return True if the 'chunkIndex' field has been set, false otherwise.
+      */
+    public boolean hasChunkIndex() {
+      return fieldSetFlags()[3];
+    }
+
+
+    /**
+      * Clears the value of the 'chunkIndex' field.
+      * Zero-based position of this chunk of bookings within the fan-out for the event
+      * @return This builder.
+      */
+    public piper1970.eventservice.common.bookings.messages.BookingsUpdated.Builder clearChunkIndex() {
+      fieldSetFlags()[3] = false;
+      return this;
+    }
+
+    /**
+      * Gets the value of the 'chunkCount' field.
+      * Number of chunks the bookings for the event were split into
+      * @return The value.
+      */
+    public int getChunkCount() {
+      return chunkCount;
+    }
+
+
+    /**
+      * Sets the value of the 'chunkCount' field.
+      * Number of chunks the bookings for the event were split into
+      * @param value The value of 'chunkCount'.
+      * @return This builder.
+      */
+    public piper1970.eventservice.common.bookings.messages.BookingsUpdated.Builder setChunkCount(int value) {
+      validate(fields()[4], value);
+      this.chunkCount = value;
+      fieldSetFlags()[4] = true;
+      return this;
+    }
+
+    /**
+      * Checks whether the 'chunkCount' field has been set.
+      * Number of chunks the bookings for the event were split into
+      * @return True if the 'chunkCount' field has been set, false otherwise.
+      */
+    public boolean hasChunkCount() {
+      return fieldSetFlags()[4];
+    }
+
+
+    /**
+      * Clears the value of the 'chunkCount' field.
+      * Number of chunks the bookings for the event were split into
+      * @return This builder.
+      */
+    public piper1970.eventservice.common.bookings.messages.BookingsUpdated.Builder clearChunkCount() {
+      fieldSetFlags()[4] = false;
+      return this;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public BookingsUpdated build() {
@@ -392,6 +546,8 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
         record.bookings = fieldSetFlags()[0] ? this.bookings : (java.util.List<piper1970.eventservice.common.bookings.messages.types.BookingId>) defaultValue(fields()[0]);
         record.eventId = fieldSetFlags()[1] ? this.eventId : (java.lang.Integer) defaultValue(fields()[1]);
         record.message = fieldSetFlags()[2] ? this.message : (java.lang.CharSequence) defaultValue(fields()[2]);
+        record.chunkIndex = fieldSetFlags()[3] ? this.chunkIndex : (java.lang.Integer) defaultValue(fields()[3]);
+        record.chunkCount = fieldSetFlags()[4] ? this.chunkCount : (java.lang.Integer) defaultValue(fields()[4]);
         return record;
       } catch (org.apache.avro.AvroMissingFieldException e) {
         throw e;
@@ -447,6 +603,10 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
       out.writeString(this.message);
     }
 
+    out.writeInt(this.chunkIndex);
+
+    out.writeInt(this.chunkCount);
+
   }
 
   @Override public void customDecode(org.apache.avro.io.ResolvingDecoder in)
@@ -481,8 +641,12 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
         this.message = in.readString(this.message instanceof Utf8 ? (Utf8)this.message : null);
       }
 
+      this.chunkIndex = in.readInt();
+
+      this.chunkCount = in.readInt();
+
     } else {
-      for (int i = 0; i < 3; i++) {
+      for (int i = 0; i < 5; i++) {
         switch (fieldOrder[i].pos()) {
         case 0:
           long size0 = in.readArrayStart();
@@ -517,12 +681,58 @@ public class BookingsUpdated extends org.apache.avro.specific.SpecificRecordBase
           }
           break;
 
+        case 3:
+          this.chunkIndex = in.readInt();
+          break;
+
+        case 4:
+          this.chunkCount = in.readInt();
+          break;
+
         default:
           throw new java.io.IOException("Corrupt ResolvingDecoder.");
         }
       }
     }
   }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    result = 31 * result + (bookings == null ? 0 : bookings.hashCode());
+    result = 31 * result + Integer.hashCode(eventId);
+    result = 31 * result + (message == null ? 0 : message.hashCode());
+    result = 31 * result + Integer.hashCode(chunkIndex);
+    result = 31 * result + Integer.hashCode(chunkCount);
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BookingsUpdated)) {
+      return false;
+    }
+    BookingsUpdated other = (BookingsUpdated) o;
+    if (!java.util.Objects.equals(this.bookings, other.bookings)) {
+      return false;
+    }
+    if (this.eventId != other.eventId) {
+      return false;
+    }
+    if (Utf8.compareSequences(this.message, other.message) != 0) {
+      return false;
+    }
+    if (this.chunkIndex != other.chunkIndex) {
+      return false;
+    }
+    if (this.chunkCount != other.chunkCount) {
+      return false;
+    }
+    return true;
+  }
 }
 
 
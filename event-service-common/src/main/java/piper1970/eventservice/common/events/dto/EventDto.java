@@ -1,6 +1,7 @@
 package piper1970.eventservice.common.events.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -67,4 +68,11 @@ public class EventDto {
       description = "number of slots available for booking"
   )
   private Integer availableBookings;
+
+  /**
+   * Optimistic-lock version of the event, exposed to clients only through the ETag header.
+   */
+  @JsonIgnore
+  @Schema(hidden = true)
+  private Integer version;
 }
@@ -43,7 +43,22 @@ public class KafkaHelper {
    * @return SenderRecord Mono
    */
   public static Mono<SenderRecord<Integer, Object, Long>> createSenderMono(String topic, Integer key, Object value, Clock clock, Iterable<Header> headers) {
+    return Mono.just(createSenderRecord(topic, key, value, clock, headers));
+  }
+
+  /**
+   * Builds a single SenderRecord, appending a time-based correlationId, for use when sending several messages in one
+   * batch through a KafkaSender.
+   *
+   * @param topic Topic to send message to
+   * @param key Integer key value
+   * @param value Message to send
+   * @param clock Clock instance to create correlationMetaDataId based off current instance in epoch milliseconds
+   * @param headers Headers to be added to record.
+   * @return SenderRecord
+   */
+  public static SenderRecord<Integer, Object, Long> createSenderRecord(String topic, Integer key, Object value, Clock clock, Iterable<Header> headers) {
     var  correlationId = Instant.now(clock).toEpochMilli();
-    return Mono.just(SenderRecord.create(new ProducerRecord<>(topic, null, key, value, headers), correlationId));
+    return SenderRecord.create(new ProducerRecord<>(topic, null, key, value, headers), correlationId);
   }
 }
@@ -0,0 +1,54 @@
+package piper1970.eventservice.common.kafka;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+/**
+ * Producer tuning profiles, layered over the spring.kafka.producer properties.
+ * <p>
+ * Both profiles are idempotent (acks=all, at most 5 requests in flight), so retries neither duplicate nor reorder
+ * messages within a partition. They differ in how long the producer waits to fill a batch, and how batches are
+ * compressed:
+ * <ul>
+ *   <li>FAN_OUT - high-volume fan-out topics, like bookings-updated and bookings-cancelled. Waits longer for larger,
+ *   zstd-compressed batches.</li>
+ *   <li>CONTROL - low-volume control topics, like booking-created or event-cancelled. Keeps batching delay short and
+ *   uses cheaper lz4 compression.</li>
+ * </ul>
+ * Settings given explicitly through spring.kafka.producer take precedence over the profile.
+ */
+public enum ProducerProfile {
+
+  FAN_OUT("zstd", 20, 128 * 1024),
+  CONTROL("lz4", 5, 16 * 1024);
+
+  private static final int MAX_IN_FLIGHT_REQUESTS = 5;
+
+  private final String compressionType;
+  private final int lingerMs;
+  private final int batchSize;
+
+  ProducerProfile(String compressionType, int lingerMs, int batchSize) {
+    this.compressionType = compressionType;
+    this.lingerMs = lingerMs;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Applies profile to producer properties.
+   *
+   * @param producerProperties properties built from spring.kafka.producer
+   * @return new map of producer properties, with profile settings added where not already set
+   */
+  public Map<String, Object> apply(Map<String, Object> producerProperties) {
+    Map<String, Object> properties = new HashMap<>(producerProperties);
+    properties.putIfAbsent(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+    properties.putIfAbsent(ProducerConfig.ACKS_CONFIG, "all");
+    properties.putIfAbsent(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, MAX_IN_FLIGHT_REQUESTS);
+    properties.putIfAbsent(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    properties.putIfAbsent(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+    properties.putIfAbsent(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+    return properties;
+  }
+}
@@ -1,27 +1,51 @@
 package piper1970.eventservice.common.kafka;
 
+import java.util.Map;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.kafka.config.TopicBuilder;
+import piper1970.eventservice.common.kafka.TopicProperties.TopicOverride;
 
 /**
  * Helper class for building new topics with pre-existing partition-count, replication-factor, and retention time.
+ * <p>
+ * Per-topic overrides, if given, take precedence. Topics are created by KafkaAdmin at startup, which also adds
+ * partitions to existing topics whose partition count has been raised (partition counts can't be reduced).
+ *
+ * @see TopicProperties
  */
 @Builder
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class TopicCreater {
 
   private final Integer partitions;
   private final Integer replicationFactor;
   private final String retentionMs;
+  @Builder.Default
+  private final Map<String, TopicOverride> overrides = Map.of();
+
+  public TopicCreater(Integer partitions, Integer replicationFactor, String retentionMs) {
+    this(partitions, replicationFactor, retentionMs, Map.of());
+  }
 
   public NewTopic create(String topicName) {
-    return TopicBuilder.name(topicName)
-        .partitions(partitions)
+    var override = overrides.getOrDefault(topicName, TopicOverride.NONE);
+    var builder = TopicBuilder.name(topicName)
+        .partitions(override.partitions() != null ? override.partitions() : partitions)
         .replicas(replicationFactor)
-        .config(TopicConfig.RETENTION_MS_CONFIG, retentionMs)
-        .build();
+        .config(TopicConfig.RETENTION_MS_CONFIG, override.retention() != null
+            ? String.valueOf(override.retention().toMillis()) : retentionMs);
+    if (override.minInsyncReplicas() != null) {
+      builder.config(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, String.valueOf(override.minInsyncReplicas()));
+    }
+    if (override.segmentSize() != null) {
+      builder.config(TopicConfig.SEGMENT_BYTES_CONFIG, String.valueOf(override.segmentSize().toBytes()));
+    }
+    if (Boolean.TRUE.equals(override.compacted())) {
+      builder.compact();
+    }
+    return builder.build();
   }
 }
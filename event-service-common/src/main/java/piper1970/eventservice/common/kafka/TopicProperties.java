@@ -0,0 +1,54 @@
+package piper1970.eventservice.common.kafka;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Per-topic overrides for {@link TopicCreater}, bound from kafka.topics.[topic-name].*, e.g.
+ * <pre>
+ * kafka.topics.booking-created.partitions=12
+ * kafka.topics.booking-created.retention=7d
+ * kafka.topics.booking-created.min-insync-replicas=2
+ * kafka.topics.booking-created.segment-size=256MB
+ * kafka.topics.booking-created.compacted=false
+ * </pre>
+ * Several services declare the same topics, so overrides belong in the shared configuration.
+ *
+ * @param topics overrides keyed by topic name
+ */
+@ConfigurationProperties(prefix = "kafka")
+public record TopicProperties(Map<String, TopicOverride> topics) {
+
+  public TopicProperties {
+    topics = topics == null ? Map.of() : Map.copyOf(topics);
+  }
+
+  /**
+   * Partition counts of the topics overriding them, e.g. to match listener concurrency to a topic's partitions.
+   *
+   * @return partition count keyed by topic name
+   */
+  public Map<String, Integer> partitionCounts() {
+    return topics.entrySet().stream()
+        .filter(entry -> entry.getValue().partitions() != null)
+        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().partitions()));
+  }
+
+  /**
+   * Settings for a single topic. Settings left unset fall back to the TopicCreater or broker defaults.
+   *
+   * @param partitions partition count. Increases are applied to existing topics at startup
+   * @param retention how long messages are retained
+   * @param minInsyncReplicas replicas that must acknowledge writes made with acks=all
+   * @param segmentSize log segment size
+   * @param compacted whether the topic is compacted, keeping only the latest message for each key
+   */
+  public record TopicOverride(Integer partitions, Duration retention, Integer minInsyncReplicas,
+                              DataSize segmentSize, Boolean compacted) {
+
+    static final TopicOverride NONE = new TopicOverride(null, null, null, null, null);
+  }
+}
@@ -0,0 +1,63 @@
+package piper1970.eventservice.common.kafka.outbox;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.specific.SpecificRecord;
+
+/**
+ * Codec for Avro messages stored in a service's transactional outbox table, prior to being relayed to Kafka.
+ * <p>
+ * Messages are stored as plain Avro binary alongside their class name, and are decoded with the schema of the
+ * deployed class. Outbox rows are drained within seconds, so rows written by a previous schema version are only seen
+ * during a rolling deploy that changes the message schema itself.
+ */
+public final class OutboxCodec {
+
+  private OutboxCodec() {
+  }
+
+  /**
+   * @param message Avro message to store
+   * @return Avro binary encoding of message
+   */
+  public static byte[] encode(SpecificRecord message) {
+    try {
+      var out = new ByteArrayOutputStream();
+      var encoder = EncoderFactory.get().binaryEncoder(out, null);
+      new SpecificDatumWriter<SpecificRecord>(message.getSchema()).write(message, encoder);
+      encoder.flush();
+      return out.toByteArray();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to encode outbox message of type " + message.getClass().getName(), e);
+    }
+  }
+
+  /**
+   * @param messageType class name of stored message, as returned by {@link Class#getName()}
+   * @param payload Avro binary encoding of message
+   * @return decoded Avro message
+   * @throws IllegalArgumentException if messageType is not an Avro message class
+   */
+  public static SpecificRecord decode(String messageType, byte[] payload) {
+    var messageClass = resolveMessageClass(messageType);
+    try {
+      return new SpecificDatumReader<>(messageClass)
+          .read(null, DecoderFactory.get().binaryDecoder(payload, null));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to decode outbox message of type " + messageType, e);
+    }
+  }
+
+  private static Class<? extends SpecificRecord> resolveMessageClass(String messageType) {
+    try {
+      return Class.forName(messageType).asSubclass(SpecificRecord.class);
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IllegalArgumentException("Unknown outbox message type " + messageType, e);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package piper1970.eventservice.common.kafka.outbox;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Kafka message waiting in the transactional outbox to be relayed.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_messages", schema = "event_service")
+public class OutboxMessage {
+
+  @Id
+  private Long id;
+
+  private String topic;
+  private Integer messageKey;
+  private String messageType;
+  private byte[] payload;
+  private String traceId;
+  private String spanId;
+  private LocalDateTime createdAt;
+
+  /**
+   * Set once the message can no longer be decoded, after which it is kept for manual intervention but never relayed.
+   */
+  private LocalDateTime failedAt;
+}
@@ -0,0 +1,57 @@
+package piper1970.eventservice.common.kafka.outbox;
+
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface OutboxMessageRepository extends ReactiveCrudRepository<OutboxMessage, Long> {
+
+  /**
+   * Claims the oldest outbox messages for relaying, skipping any already claimed by another instance, or set aside as
+   * undecodable.
+   *
+   * @param limit maximum number of messages to claim
+   * @return Flux of messages ordered by id, locked until the surrounding transaction ends
+   */
+  @Query("""
+      SELECT * FROM event_service.outbox_messages
+      WHERE failed_at IS NULL
+      ORDER BY id
+      LIMIT :limit
+      FOR UPDATE SKIP LOCKED
+      """)
+  Flux<OutboxMessage> findBatchForUpdate(Integer limit);
+
+  /**
+   * Removes relayed messages, in one round trip.
+   *
+   * @param ids outbox message ids
+   * @return Mono of deleted row count
+   */
+  @Modifying
+  @Query("""
+      DELETE FROM event_service.outbox_messages
+      WHERE id IN (:ids)
+      """)
+  Mono<Integer> deleteByIdIn(Collection<Long> ids);
+
+  /**
+   * Sets aside messages that can no longer be relayed, keeping them for manual intervention without blocking the
+   * outbox.
+   *
+   * @param ids outbox message ids
+   * @return Mono of updated row count
+   */
+  @Modifying
+  @Query("""
+      UPDATE event_service.outbox_messages
+      SET failed_at = CURRENT_TIMESTAMP
+      WHERE id IN (:ids)
+      """)
+  Mono<Integer> markFailedByIdIn(Collection<Long> ids);
+}
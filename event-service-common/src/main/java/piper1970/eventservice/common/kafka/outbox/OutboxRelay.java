@@ -0,0 +1,342 @@
+package piper1970.eventservice.common.kafka.outbox;
+
+import brave.Span;
+import brave.Tracer;
+import brave.propagation.TraceContext;
+import brave.propagation.TraceContextOrSamplingFlags;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.ClockProvider;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import piper1970.eventservice.common.kafka.reactive.TracingHelper;
+import piper1970.eventservice.common.scheduling.SchedulingPolicy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+
+/**
+ * Relays messages from the transactional outbox to kafka, in batches.
+ * <p>
+ * Each poll runs under a ShedLock lock, so only one instance relays at a time and messages reach kafka in outbox order.
+ * Each batch is claimed with FOR UPDATE SKIP LOCKED, sent through a single KafkaSender call, and the messages kafka
+ * acknowledged are deleted in the same transaction. Messages that failed to send stay in the outbox and are retried on
+ * the next poll, so delivery is at-least-once. Once a message fails, later messages with the same key are neither
+ * sent nor deleted, so they are retried after it, keeping per-key order. Messages that can no longer be decoded are
+ * set aside for manual intervention.
+ * <p>
+ * Each message is sent under a child span of the trace that was current when it was queued.
+ * <p>
+ * Shared by every service with an outbox table, each of which declares the relay as a bean, includes
+ * {@link OutboxMessageRepository} in its repository scan, and provides a shedlock table.
+ */
+@Slf4j
+public class OutboxRelay implements DisposableBean {
+
+  private static final String LOCK_NAME = "outboxRelay";
+
+  private final OutboxMessageRepository outboxMessageRepository;
+  private final KafkaSender<Integer, Object> kafkaSender;
+  private final TransactionalOperator transactionalOperator;
+  private final Tracer tracer;
+  private final LockProvider lockProvider;
+  private final Duration lockAtMostFor;
+  private final Duration pollInterval;
+  private final Integer batchSize;
+  private Disposable subscription;
+
+  public OutboxRelay(OutboxMessageRepository outboxMessageRepository,
+      KafkaSender<Integer, Object> kafkaSender,
+      TransactionalOperator transactionalOperator,
+      Tracer tracer,
+      LockProvider lockProvider,
+      Duration lockAtMostFor,
+      Long pollIntervalInMilliseconds,
+      Integer batchSize) {
+    this.outboxMessageRepository = outboxMessageRepository;
+    this.kafkaSender = kafkaSender;
+    this.transactionalOperator = transactionalOperator;
+    this.tracer = tracer;
+    this.lockProvider = lockProvider;
+    this.lockAtMostFor = lockAtMostFor;
+    this.pollInterval = Duration.ofMillis(pollIntervalInMilliseconds);
+    this.batchSize = batchSize;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    subscription = Flux.interval(pollInterval)
+        .onBackpressureDrop()
+        .concatMap(tick -> relayPendingMessages(), 1)
+        .subscribe();
+  }
+
+  @Override
+  public void destroy() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+  }
+
+  /**
+   * Relays batches until the outbox is drained, unless another instance holds the relay lock.
+   *
+   * @return Mono of number of relayed messages, which never errors so polling keeps going
+   */
+  public Mono<Integer> relayPendingMessages() {
+    // lock provider blocks on its own database round trip
+    return Mono.fromCallable(this::tryLock)
+        .subscribeOn(SchedulingPolicy.blocking())
+        .flatMap(lock -> lock
+            .map(acquired -> drainOutbox()
+                .flatMap(count -> Mono.fromRunnable(acquired::unlock)
+                    .subscribeOn(SchedulingPolicy.blocking())
+                    .thenReturn(count)))
+            .orElseGet(() -> {
+              log.debug("Outbox relay lock held by another instance. Retrying on next poll");
+              return Mono.just(0);
+            }))
+        .onErrorResume(ex -> {
+          log.error("Unable to acquire or release outbox relay lock. Retrying on next poll", ex);
+          return Mono.just(0);
+        });
+  }
+
+  private Mono<Integer> drainOutbox() {
+    return relayBatch()
+        .expand(batch -> batch.claimed() == batchSize && batch.isFullyHandled() ? relayBatch() : Mono.empty())
+        .map(BatchResult::relayed)
+        .reduce(0, Integer::sum)
+        .doOnNext(count -> {
+          if (count > 0) {
+            log.debug("Relayed [{}] outbox messages to kafka", count);
+          }
+        })
+        .onErrorResume(ex -> {
+          log.error("Unable to relay outbox messages to kafka. Retrying on next poll", ex);
+          return Mono.just(0);
+        });
+  }
+
+  private Mono<BatchResult> relayBatch() {
+    return outboxMessageRepository.findBatchForUpdate(batchSize)
+        .collectList()
+        .filter(messages -> !messages.isEmpty())
+        .flatMap(this::relay)
+        .defaultIfEmpty(BatchResult.EMPTY)
+        .as(transactionalOperator::transactional);
+  }
+
+  /**
+   * Sends claimed messages, then deletes those kafka acknowledged and sets aside those that could not be decoded. Once
+   * a message fails, later messages with the same key are left in the outbox, so they are not relayed ahead of it.
+   */
+  private Mono<BatchResult> relay(List<OutboxMessage> messages) {
+    List<DecodedMessage> decodedMessages = new ArrayList<>(messages.size());
+    List<Long> undecodableIds = new ArrayList<>();
+    for (var message : messages) {
+      var value = decode(message);
+      if (value != null) {
+        decodedMessages.add(new DecodedMessage(message, value));
+      } else {
+        undecodableIds.add(message.getId());
+      }
+    }
+
+    Map<Long, Span> relaySpans = new ConcurrentHashMap<>();
+    Map<Long, Integer> keysById = new HashMap<>();
+    decodedMessages.forEach(decoded -> keysById.put(decoded.message().getId(), decoded.message().getMessageKey()));
+    Set<Long> acknowledgedIds = ConcurrentHashMap.newKeySet();
+    Set<Integer> failedKeys = ConcurrentHashMap.newKeySet();
+    List<Long> relayedIds = new ArrayList<>(decodedMessages.size());
+    var send = decodedMessages.isEmpty() ? Mono.<Void>empty()
+        : kafkaSender.send(toSenderRecords(decodedMessages, failedKeys, relaySpans))
+            .doOnNext(result -> {
+              var span = relaySpans.remove(result.correlationMetadata());
+              if (result.exception() == null) {
+                acknowledgedIds.add(result.correlationMetadata());
+              } else {
+                log.warn("Unable to relay outbox message [{}] to kafka. Retrying on next poll",
+                    result.correlationMetadata(), result.exception());
+                var key = keysById.get(result.correlationMetadata());
+                if (key != null) {
+                  failedKeys.add(key);
+                }
+                if (span != null) {
+                  span.error(result.exception());
+                }
+              }
+              if (span != null) {
+                span.finish();
+              }
+            })
+            .then()
+            .onErrorResume(ex -> {
+              log.error("Unable to relay outbox messages to kafka. Unacknowledged messages retried on next poll", ex);
+              return Mono.empty();
+            })
+            // spans of messages kafka never answered for
+            .doFinally(signal -> relaySpans.values().forEach(Span::finish));
+
+    return send
+        .then(Mono.fromRunnable(() -> relayedIds.addAll(inKeyOrder(decodedMessages, acknowledgedIds))))
+        .then(Mono.defer(() -> relayedIds.isEmpty() ? Mono.<Integer>empty()
+            : outboxMessageRepository.deleteByIdIn(relayedIds)))
+        .then(Mono.defer(() -> undecodableIds.isEmpty() ? Mono.<Integer>empty()
+            : outboxMessageRepository.markFailedByIdIn(undecodableIds)))
+        .then(Mono.fromSupplier(() -> new BatchResult(messages.size(), relayedIds.size(), undecodableIds.size())));
+  }
+
+  /**
+   * Helper method: acknowledged ids => ids safe to delete, being those not preceded in the batch by an unacknowledged
+   * message with the same key.
+   */
+  private List<Long> inKeyOrder(List<DecodedMessage> messages, Set<Long> acknowledgedIds) {
+    List<Long> relayedIds = new ArrayList<>(acknowledgedIds.size());
+    Set<Integer> blockedKeys = new HashSet<>();
+    for (var decoded : messages) {
+      var message = decoded.message();
+      var key = message.getMessageKey();
+      if (acknowledgedIds.contains(message.getId()) && (key == null || !blockedKeys.contains(key))) {
+        relayedIds.add(message.getId());
+      } else if (key != null) {
+        blockedKeys.add(key);
+      }
+    }
+    return relayedIds;
+  }
+
+  /**
+   * Helper method: decoded messages => SenderRecords, correlated by outbox id. Messages whose key already failed to
+   * send are skipped, to be retried after the failed message on the next poll.
+   * <p>
+   * Each record is emitted with a child span of the trace captured when the message was queued in scope, so the
+   * sender's observation, and the tracing headers, continue that trace rather than starting a new one. Started spans
+   * are added to relaySpans, to be finished once kafka answers.
+   */
+  private Flux<SenderRecord<Integer, Object, Long>> toSenderRecords(List<DecodedMessage> messages,
+      Set<Integer> failedKeys, Map<Long, Span> relaySpans) {
+    return Flux.generate(messages::iterator, (iterator, sink) -> {
+      var next = nextUnblocked(iterator, failedKeys);
+      if (next == null) {
+        sink.complete();
+        return iterator;
+      }
+      var message = next.message();
+      var span = startRelaySpan(message);
+      if (span == null) {
+        sink.next(toSenderRecord(message, next.value(), List.of()));
+        return iterator;
+      }
+      relaySpans.put(message.getId(), span);
+      try (var ignored = tracer.withSpanInScope(span)) {
+        sink.next(toSenderRecord(message, next.value(), TracingHelper.extractMDCIntoHeaders(tracer)));
+      }
+      return iterator;
+    });
+  }
+
+  private DecodedMessage nextUnblocked(Iterator<DecodedMessage> iterator, Set<Integer> failedKeys) {
+    while (iterator.hasNext()) {
+      var next = iterator.next();
+      var key = next.message().getMessageKey();
+      if (key == null || !failedKeys.contains(key)) {
+        return next;
+      }
+    }
+    return null;
+  }
+
+  private SenderRecord<Integer, Object, Long> toSenderRecord(OutboxMessage message, Object value,
+      Iterable<Header> headers) {
+    return SenderRecord.create(
+        new ProducerRecord<>(message.getTopic(), null, message.getMessageKey(), value, headers), message.getId());
+  }
+
+  /**
+   * Starts a child span of the captured trace, or returns null if none was captured.
+   */
+  private Span startRelaySpan(OutboxMessage message) {
+    var parent = toTraceContext(message);
+    if (parent == null) {
+      return null;
+    }
+    return tracer.nextSpan(TraceContextOrSamplingFlags.create(parent))
+        .name("outbox-relay")
+        .tag("messaging.destination.name", message.getTopic())
+        .start();
+  }
+
+  private TraceContext toTraceContext(OutboxMessage message) {
+    var traceId = message.getTraceId();
+    var spanId = message.getSpanId();
+    if (traceId == null || spanId == null) {
+      return null;
+    }
+    try {
+      var traceIdLength = traceId.length();
+      return TraceContext.newBuilder()
+          .traceIdHigh(traceIdLength > 16 ? Long.parseUnsignedLong(traceId, 0, traceIdLength - 16, 16) : 0L)
+          .traceId(Long.parseUnsignedLong(traceId, Math.max(0, traceIdLength - 16), traceIdLength, 16))
+          .spanId(Long.parseUnsignedLong(spanId, 16))
+          .build();
+    } catch (IllegalArgumentException e) {
+      log.warn("Ignoring malformed trace ids [{}/{}] of outbox message [{}]", traceId, spanId, message.getId());
+      return null;
+    }
+  }
+
+  /**
+   * Helper method: OutboxMessage => Avro message. Messages that can no longer be decoded are logged and returned as
+   * null, to be set aside rather than block the outbox.
+   */
+  private Object decode(OutboxMessage message) {
+    try {
+      return OutboxCodec.decode(message.getMessageType(), message.getPayload());
+    } catch (IllegalArgumentException | UncheckedIOException e) {
+      log.error("Setting aside outbox message [{}] of type [{}] for topic [{}]. Manual intervention necessary",
+          message.getId(), message.getMessageType(), message.getTopic(), e);
+      return null;
+    }
+  }
+
+  private record DecodedMessage(OutboxMessage message, Object value) {
+
+  }
+
+  private Optional<SimpleLock> tryLock() {
+    return lockProvider.lock(new LockConfiguration(ClockProvider.now(), LOCK_NAME, lockAtMostFor, Duration.ZERO));
+  }
+
+  /**
+   * Outcome of relaying one claimed batch. Messages neither relayed nor set aside failed to send, or were held back
+   * behind a failed message with the same key.
+   */
+  private record BatchResult(int claimed, int relayed, int setAside) {
+
+    static final BatchResult EMPTY = new BatchResult(0, 0, 0);
+
+    boolean isFullyHandled() {
+      return relayed + setAside == claimed;
+    }
+  }
+}
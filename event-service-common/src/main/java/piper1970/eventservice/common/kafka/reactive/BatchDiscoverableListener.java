@@ -0,0 +1,76 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+
+/**
+ * Abstract class for building batching Kafka listeners. Records are collected into batches of up to the configured
+ * size, or for up to the configured window, and handed to {@link #handleBatchRequest} as a single list. Once a batch
+ * has been handled, all of its offsets are acknowledged and committed together.
+ * <p/>
+ * Individual records still pass through {@link #handleIndividualRequest} before batching, which is typically used to
+ * validate records, sending those that cannot be processed to the DLT.
+ */
+@Slf4j
+public abstract class BatchDiscoverableListener extends DiscoverableListener {
+
+  private final int batchMaxSize;
+  private final Duration batchWindowDuration;
+
+  public BatchDiscoverableListener(ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory,
+      DeadLetterTopicProducer deadLetterTopicProducer, int batchMaxSize, Duration batchWindowDuration) {
+    super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
+    this.batchMaxSize = batchMaxSize;
+    this.batchWindowDuration = batchWindowDuration;
+  }
+
+  /**
+   * Function for handling batches of requests from the Flux pipeline. Called by {@link #buildBatchFluxRequest}
+   *
+   * @param records Current batch of ReceiverRecords for processing, in order of receipt
+   * @return Mono[List[ReceiverRecord]] of records to acknowledge, typically the full batch
+   */
+  protected abstract Mono<List<ReceiverRecord<Integer, Object>>> handleBatchRequest(
+      List<ReceiverRecord<Integer, Object>> records);
+
+  /**
+   * Handle the main batched flux build.
+   * <p/>
+   * Buffers records produced by {@link #buildFluxRequest()}, handing each batch to {@link #handleBatchRequest}, and
+   * committing the batch offsets once handled. Batches are handled one at a time. Buffering uses fair backpressure,
+   * requesting records only as batches are handled, so the receiver is paused rather than overflowing the buffer while
+   * a slow batch is in progress.
+   *
+   * @return Flux[List[ReceiverRecord[Integer,Object]]] of handled and committed batches
+   */
+  protected Flux<List<ReceiverRecord<Integer, Object>>> buildBatchFluxRequest() {
+    return buildFluxRequest()
+        .bufferTimeout(batchMaxSize, batchWindowDuration, true)
+        .concatMap(records -> handleBatchRequest(records)
+            .flatMap(this::commitBatch));
+  }
+
+  /**
+   * Acknowledges all records of the batch, committing them with a single commit.
+   *
+   * @param records handled records
+   * @return Mono of the committed records
+   */
+  private Mono<List<ReceiverRecord<Integer, Object>>> commitBatch(List<ReceiverRecord<Integer, Object>> records) {
+    if (records.isEmpty()) {
+      return Mono.just(records);
+    }
+    records.forEach(rec -> rec.receiverOffset().acknowledge());
+    // commits all acknowledged offsets, across partitions
+    return records.getLast().receiverOffset().commit()
+        // acknowledged offsets are picked up again by the next commit
+        .doOnError(err -> log.error("Unable to commit batch of [{}] records for topic [{}]",
+            records.size(), getTopic(), err))
+        .onErrorResume(err -> Mono.empty())
+        .thenReturn(records);
+  }
+}
@@ -8,7 +8,6 @@ import java.time.Clock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderResult;
@@ -35,7 +34,6 @@ public class DeadLetterTopicProducer {
     var dltTopic = record.topic() + topicSuffix;
     return kafkaSender.send(
             createSenderMono(dltTopic, record.key(), record.value(), clock, extractMDCIntoHeaders(tracer)))
-        .subscribeOn(Schedulers.boundedElastic())
         .single()
         .doOnNext(result -> log.info("DLT message sent to topic [{}] with correlationData [{}]", result.recordMetadata().topic(), result.correlationMetadata()))
         .doOnError(err -> log.error(" Error publishing DLT message to topic [{}]", dltTopic, err));
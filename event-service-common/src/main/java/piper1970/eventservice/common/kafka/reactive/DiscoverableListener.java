@@ -2,12 +2,13 @@ package piper1970.eventservice.common.kafka.reactive;
 
 import static piper1970.eventservice.common.kafka.reactive.TracingHelper.decorateWithTracing;
 
+import java.util.Objects;
 import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.DisposableBean;
 import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.KafkaReceiver;
 import reactor.kafka.receiver.ReceiverRecord;
 
@@ -15,6 +16,7 @@ import reactor.kafka.receiver.ReceiverRecord;
  * Abstract class for building Kafka listeners. Implementing classes must provider topi, subscription (for disposing),
  * initialization of receiver flux, and individual record handline functionality.
  */
+@Slf4j
 public abstract class DiscoverableListener implements DisposableBean, AutoCloseable {
 
   private final ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory;
@@ -57,17 +59,40 @@ public abstract class DiscoverableListener implements DisposableBean, AutoClosea
    * <p/>
    * Relies on abstract @handleIndividualRequest logic for individual message processing.
    * <p/>
+   * Records are processed according to the {@link ProcessingMode} of the receiver factory. In sequential mode, all
+   * records are handled one at a time. In partition or key mode, records are split into a bounded number of lanes by
+   * partition or key, with records in each lane handled in order and lanes handled concurrently.
+   * <p/>
    * To ensure proper trace propagation in kafka receivers, handleIndividualRequest is decorated by
    * {@link TracingHelper#decorateWithTracing(ReceiverRecord, Function)}
+   * <p/>
+   * Every record is emitted once handled, even if handleIndividualRequest completes empty, so subscribers
+   * acknowledging emitted records acknowledge all of them. In key mode, offsets are only committed up to the first
+   * unacknowledged record, so a skipped acknowledgement would stall commits for its partition.
    *
    * @return Flux[ReceiverRecord[Integer,Object]]
    */
   protected Flux<ReceiverRecord<Integer, Object>> buildFluxRequest() {
-    return createReceiver()
-        .receive()
-        .subscribeOn(Schedulers.boundedElastic())
-        // enable trace propagation
-        .concatMap(record -> decorateWithTracing(record, this::handleIndividualRequest));
+    var records = createReceiver()
+        .receive();
+
+    var concurrency = reactiveKafkaReceiverFactory.getConcurrency(getTopic());
+    return switch (reactiveKafkaReceiverFactory.getProcessingMode()) {
+      case SEQUENTIAL -> records
+          // enable trace propagation
+          .concatMap(this::handleTracedRequest);
+      case PARTITION -> records
+          .groupBy(record -> record.partition() % concurrency)
+          .flatMap(lane -> lane.concatMap(this::handleTracedRequest), concurrency);
+      case KEY -> records
+          .groupBy(record -> Math.floorMod(Objects.hashCode(record.key()), concurrency))
+          .flatMap(lane -> lane.concatMap(this::handleTracedRequest), concurrency);
+    };
+  }
+
+  private Mono<ReceiverRecord<Integer, Object>> handleTracedRequest(ReceiverRecord<Integer, Object> record) {
+    return decorateWithTracing(record, this::handleIndividualRequest)
+        .defaultIfEmpty(record);
   }
 
   private KafkaReceiver<Integer, Object> createReceiver() {
@@ -75,10 +100,21 @@ public abstract class DiscoverableListener implements DisposableBean, AutoClosea
         .getReceiver(getTopic());
   }
 
+  /**
+   * Posts record to its dead-letter topic. If posting fails, the failure is logged and the record is still emitted,
+   * so it is acknowledged rather than ending the listener's Flux pipeline.
+   *
+   * @param record unprocessable record
+   * @return Mono of the record, once posted to the dead-letter topic
+   */
   protected Mono<ReceiverRecord<Integer, Object>> handleDLTLogic(ReceiverRecord<Integer, Object> record){
     return deadLetterTopicProducer.process(record)
-        .subscribeOn(Schedulers.boundedElastic())
-        .then(Mono.just(record));
+        .then(Mono.just(record))
+        .onErrorResume(err -> {
+          log.error("Unable to post record with key [{}] from topic [{}] to DLT. Manual intervention necessary",
+              record.key(), record.topic(), err);
+          return Mono.just(record);
+        });
   }
 
   @Override
@@ -0,0 +1,132 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import piper1970.eventservice.common.exceptions.KafkaPostingException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.publisher.Sinks.EmitResult;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.util.retry.Retry;
+
+/**
+ * Kafka publisher feeding all messages through one long-lived {@link KafkaSender#send} stream.
+ * <p>
+ * Messages from concurrent callers are queued in a bounded sink and handed to the producer as they arrive, so the
+ * producer can batch them (per linger.ms and batch.size) rather than sending them one at a time. Each message is
+ * given a unique correlation id, used to route its result back to the caller.
+ * <p>
+ * If the send stream fails, callers with messages in flight receive the error, and the stream is resubscribed per
+ * the given retry, typically a capped backoff. Messages still waiting in the sink are sent once it is. If the retry is
+ * exhausted, waiting messages fail and the publisher stops accepting new ones. When the sink is full, publishing fails
+ * fast with a {@link KafkaPostingException}.
+ */
+@Slf4j
+public class PipelinedKafkaPublisher implements AutoCloseable {
+
+  private final Sinks.Many<SenderRecord<Integer, Object, Long>> sink;
+  private final Map<Long, Sinks.One<SenderResult<Long>>> pendingResults = new ConcurrentHashMap<>();
+  private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+  private final AtomicLong correlationIds = new AtomicLong();
+  private final int bufferSize;
+  private final Disposable subscription;
+  private volatile Throwable terminalError;
+
+  public PipelinedKafkaPublisher(KafkaSender<Integer, Object> kafkaSender, int bufferSize, Retry resubscribeRetry) {
+    this.bufferSize = bufferSize;
+    // autoCancel disabled, so the sink survives the send stream being resubscribed after an error
+    sink = Sinks.many().multicast().onBackpressureBuffer(bufferSize, false);
+    subscription = Flux.defer(() -> kafkaSender.send(sink.asFlux()
+            .doOnNext(record -> inFlight.add(record.correlationMetadata()))))
+        .doOnError(this::failInFlight)
+        .retryWhen(resubscribeRetry)
+        .subscribe(this::complete, this::terminate);
+  }
+
+  /**
+   * Queues message to be sent to the given topic.
+   *
+   * @param topic Topic to send message to
+   * @param key Integer key value
+   * @param value Message to send
+   * @param headers Headers to be added to record
+   * @return Mono of SenderResult, emitted once the broker has acknowledged the message
+   */
+  public Mono<SenderResult<Long>> publish(String topic, Integer key, Object value, Iterable<Header> headers) {
+    return Mono.defer(() -> {
+      var correlationId = correlationIds.incrementAndGet();
+      Sinks.One<SenderResult<Long>> result = Sinks.one();
+      pendingResults.put(correlationId, result);
+      // checked after registering the result, so a stream stopping concurrently still fails it
+      if (terminalError != null) {
+        pendingResults.remove(correlationId);
+        return Mono.error(new KafkaPostingException(
+            "Unable to queue message with key [%d] for topic [%s]. Kafka send stream has stopped"
+                .formatted(key, topic), terminalError));
+      }
+      var record = SenderRecord.create(new ProducerRecord<>(topic, null, key, value, headers), correlationId);
+      try {
+        // concurrent callers contend for the sink only briefly, so spin rather than fail on non-serialized access
+        sink.emitNext(record, (signalType, emitResult) -> emitResult == EmitResult.FAIL_NON_SERIALIZED);
+      } catch (Sinks.EmissionException e) {
+        pendingResults.remove(correlationId);
+        return Mono.error(new KafkaPostingException(
+            "Unable to queue message with key [%d] for topic [%s]. %d messages already waiting"
+                .formatted(key, topic, bufferSize), e));
+      }
+      return result.asMono();
+    });
+  }
+
+  @Override
+  public void close() {
+    subscription.dispose();
+    failPending(new KafkaPostingException("Kafka publisher closed", null));
+  }
+
+  private void complete(SenderResult<Long> senderResult) {
+    var correlationId = senderResult.correlationMetadata();
+    inFlight.remove(correlationId);
+    var result = pendingResults.remove(correlationId);
+    if (result == null) {
+      return;
+    }
+    if (senderResult.exception() != null) {
+      result.tryEmitError(senderResult.exception());
+    } else {
+      result.tryEmitValue(senderResult);
+    }
+  }
+
+  private void terminate(Throwable error) {
+    log.error("Kafka send stream failed and will not be resubscribed. Failing all waiting messages", error);
+    terminalError = error;
+    failPending(new KafkaPostingException("Kafka send stream has stopped", error));
+  }
+
+  private void failPending(Throwable error) {
+    pendingResults.values().forEach(result -> result.tryEmitError(error));
+    pendingResults.clear();
+    inFlight.clear();
+  }
+
+  private void failInFlight(Throwable error) {
+    log.error("Kafka send stream failed. Failing in-flight messages and resubscribing", error);
+    inFlight.forEach(correlationId -> {
+      inFlight.remove(correlationId);
+      var result = pendingResults.remove(correlationId);
+      if (result != null) {
+        result.tryEmitError(error);
+      }
+    });
+  }
+}
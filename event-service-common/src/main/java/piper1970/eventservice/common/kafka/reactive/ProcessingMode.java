@@ -0,0 +1,23 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+/**
+ * Record processing modes used by {@link DiscoverableListener} implementations.
+ */
+public enum ProcessingMode {
+
+  /**
+   * All records handled one at a time, across all partitions.
+   */
+  SEQUENTIAL,
+
+  /**
+   * Records handled concurrently across partitions, preserving order within each partition.
+   */
+  PARTITION,
+
+  /**
+   * Records handled concurrently across keys, preserving order within each key. Offsets are committed in order
+   * via deferred commits.
+   */
+  KEY
+}
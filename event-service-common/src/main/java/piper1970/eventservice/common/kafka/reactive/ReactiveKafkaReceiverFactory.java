@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import lombok.Getter;
 import org.springframework.lang.NonNull;
 import reactor.kafka.receiver.KafkaReceiver;
 import reactor.kafka.receiver.ReceiverOptions;
@@ -16,13 +17,59 @@ import reactor.util.function.Tuples;
  */
 public class ReactiveKafkaReceiverFactory {
 
+  /**
+   * Upper bound of acknowledged-but-uncommitted offsets held per receiver when processing by key.
+   */
+  private static final int MAX_DEFERRED_COMMITS = 1000;
+
   /**
    * topic-key-based receiver map
    */
   private final Map<String, KafkaReceiver<Integer, Object>> kafkaReceiverMap;
 
+  /**
+   * processing mode used by listeners built on these receivers
+   */
+  @Getter
+  private final ProcessingMode processingMode;
+
+  /**
+   * max number of partitions/keys processed concurrently, when not processing sequentially
+   */
+  @Getter
+  private final int concurrency;
+
+  /**
+   * topic-key-based concurrency, for topics processed with other than the default concurrency
+   */
+  private final Map<String, Integer> topicConcurrency;
+
   public ReactiveKafkaReceiverFactory(@NonNull ReceiverOptions<Integer, Object> receiverOptions,
       @NonNull List<String> topics) {
+    this(receiverOptions, topics, ProcessingMode.SEQUENTIAL, 1);
+  }
+
+  public ReactiveKafkaReceiverFactory(@NonNull ReceiverOptions<Integer, Object> receiverOptions,
+      @NonNull List<String> topics, @NonNull ProcessingMode processingMode, int concurrency) {
+    this(receiverOptions, topics, processingMode, concurrency, Map.of());
+  }
+
+  public ReactiveKafkaReceiverFactory(@NonNull ReceiverOptions<Integer, Object> receiverOptions,
+      @NonNull List<String> topics, @NonNull ProcessingMode processingMode, int concurrency,
+      @NonNull Map<String, Integer> topicConcurrency) {
+
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be at least 1: " + concurrency);
+    }
+    topicConcurrency.forEach((topic, topicLimit) -> {
+      if (topicLimit < 1) {
+        throw new IllegalArgumentException("Concurrency for topic [%s] must be at least 1: %d"
+            .formatted(topic, topicLimit));
+      }
+    });
+    this.processingMode = processingMode;
+    this.concurrency = concurrency;
+    this.topicConcurrency = Map.copyOf(topicConcurrency);
 
     kafkaReceiverMap = topics.stream()
         .map(topic -> {
@@ -38,9 +85,23 @@ public class ReactiveKafkaReceiverFactory {
         .subscription(List.of(topic))
         // seek latest...
         .addAssignListener(partitions -> partitions.forEach(ReceiverPartition::seekToEnd));
+    if (processingMode == ProcessingMode.KEY) {
+      // records of a partition can be acknowledged out of order, so only commit contiguous offsets
+      receiverOptions = receiverOptions.maxDeferredCommits(MAX_DEFERRED_COMMITS);
+    }
     return KafkaReceiver.create(receiverOptions);
   }
 
+  /**
+   * Max number of partitions/keys of the given topic processed concurrently, when not processing sequentially
+   *
+   * @param topic topic being processed
+   * @return the topic's own concurrency, if given, otherwise the default concurrency
+   */
+  public int getConcurrency(@NonNull String topic) {
+    return topicConcurrency.getOrDefault(topic, concurrency);
+  }
+
   /**
    * Access given kafka receiver based on key/topic string provided
    *
@@ -2,18 +2,46 @@ package piper1970.eventservice.common.kafka.reactive;
 
 import brave.Span;
 import brave.Tracer;
-import java.util.ArrayList;
+import brave.propagation.TraceContext;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
 import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.slf4j.MDC;
 import reactor.core.publisher.Mono;
 import reactor.kafka.receiver.ReceiverRecord;
 
+/**
+ * Propagates traceId & spanId between brave spans, kafka headers and the Slf4J MDC.
+ * <p>
+ * Ids are written as lowercase hex under both the standard and B3 header names. The headers most recently built on
+ * each thread are kept and reused while the ids stay the same, as for fan-out messages sent under one span, and
+ * likewise the ids most recently read. Header values are shared and must not be modified.
+ */
 public class TracingHelper {
 
+  public static final String TRACE_ID_HEADER = "X-Trace-Id";
+  public static final String SPAN_ID_HEADER = "X-Span-Id";
+  public static final String B3_TRACE_ID_HEADER = "X-B3-TraceId";
+  public static final String B3_SPAN_ID_HEADER = "X-B3-SpanId";
+
+  private static final String TRACE_ID_KEY = "traceId";
+  private static final String SPAN_ID_KEY = "spanId";
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+  private static final ThreadLocal<EncodedContext> lastEncoded = new ThreadLocal<>();
+  private static final ThreadLocal<DecodedId> lastTraceId = new ThreadLocal<>();
+  private static final ThreadLocal<DecodedId> lastSpanId = new ThreadLocal<>();
+
   /**
-   * Decorator for kafka message processing that ensures trace/span propagation works for Slf4J logging
+   * Decorator for kafka message processing that ensures trace/span propagation works for Slf4J logging.
+   * <p>
+   * Only the traceId & spanId MDC entries are set, and they are restored to their previous values afterward. Other
+   * MDC entries are left untouched.
+   *
    * @param record Original received kafka record
    * @param delegate Original message handler
    * @return Mono of type ReceiverRecord
@@ -21,36 +49,26 @@ public class TracingHelper {
   public static Mono<ReceiverRecord<Integer, Object>> decorateWithTracing(ReceiverRecord<Integer, Object> record,
       Function<ReceiverRecord<Integer, Object>, Mono<ReceiverRecord<Integer, Object>>> delegate) {
 
-    return Mono.deferContextual(context -> {
-      // restore MDC after call
-      var originalMDC = MDC.getCopyOfContextMap();
+    return Mono.defer(() -> {
+      var previousTraceId = MDC.get(TRACE_ID_KEY);
+      var previousSpanId = MDC.get(SPAN_ID_KEY);
       var headers = record.headers();
 
       try{
-        var traceIdHeader = headers.lastHeader("X-Trace-Id");
-        var spanIdHeader = headers.lastHeader("X-Span-Id");
-        var b3TraceIdHeader = headers.lastHeader("X-B3-TraceId");
-        var b3SpanIdHeader = headers.lastHeader("X-B3-SpanId");
-
-        // handle traceId propagation, preferring brave's b3-traceid property over standard traceId property
-        if(b3TraceIdHeader != null){
-          MDC.put("traceId", new String(b3TraceIdHeader.value()));
-        }else if(traceIdHeader != null){
-          MDC.put("traceId", new String(traceIdHeader.value()));
+        // prefer brave's b3 headers over the standard headers
+        var traceId = lastValue(headers, B3_TRACE_ID_HEADER, TRACE_ID_HEADER);
+        if(traceId != null){
+          MDC.put(TRACE_ID_KEY, decode(traceId, lastTraceId));
         }
 
-        // handle spanID propagation, preferring brave's b3-spanId property over standard spanId property
-        if(b3SpanIdHeader != null){
-          MDC.put("spanId", new String(b3SpanIdHeader.value()));
-        }else if(spanIdHeader != null){
-          MDC.put("spanId", new String(spanIdHeader.value()));
+        var spanId = lastValue(headers, B3_SPAN_ID_HEADER, SPAN_ID_HEADER);
+        if(spanId != null){
+          MDC.put(SPAN_ID_KEY, decode(spanId, lastSpanId));
         }
         return delegate.apply(record);
       }finally {
-        MDC.clear();
-        if(originalMDC != null){ // restore original MDC settings, if present
-          MDC.setContextMap(originalMDC);
-        }
+        restore(TRACE_ID_KEY, previousTraceId);
+        restore(SPAN_ID_KEY, previousSpanId);
       }
     });
   }
@@ -63,21 +81,80 @@ public class TracingHelper {
    */
   public static Iterable<Header> extractMDCIntoHeaders(Tracer tracer){
 
-    var headers = new ArrayList<Header>();
-
     Span currentSpan = tracer.currentSpan();
-    if(currentSpan != null){
-      var context = currentSpan.context();
-      String traceId = context.traceIdString();
-      String spanId = context.spanIdString();
+    if(currentSpan == null){
+      return List.of();
+    }
+
+    var context = currentSpan.context();
+    var encoded = lastEncoded.get();
+    if(encoded == null || !encoded.matches(context)){
+      var traceId = new byte[context.traceIdHigh() != 0L ? 32 : 16];
+      if(context.traceIdHigh() != 0L){
+        writeHex(context.traceIdHigh(), traceId, 0);
+      }
+      writeHex(context.traceId(), traceId, traceId.length - 16);
+      var spanId = new byte[16];
+      writeHex(context.spanId(), spanId, 0);
+
+      encoded = new EncodedContext(context.traceIdHigh(), context.traceId(), context.spanId(),
+          toHeaders(traceId, spanId));
+      lastEncoded.set(encoded);
+    }
+    return encoded.headers();
+  }
+
+  /**
+   * Builds the standard and B3 headers, with each encoded id shared between its two headers.
+   */
+  private static List<Header> toHeaders(byte[] traceId, byte[] spanId){
+    return List.of(new RecordHeader(TRACE_ID_HEADER, traceId), new RecordHeader(B3_TRACE_ID_HEADER, traceId),
+        new RecordHeader(SPAN_ID_HEADER, spanId), new RecordHeader(B3_SPAN_ID_HEADER, spanId));
+  }
 
-      headers.add(new RecordHeader("X-Trace-Id", traceId.getBytes()));
-      headers.add(new RecordHeader("X-B3-Trace-Id", traceId.getBytes()));
+  private static void writeHex(long value, byte[] target, int offset){
+    for(int i = offset + 15; i >= offset; i--){
+      target[i] = HEX_DIGITS[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+  }
+
+  private static byte[] lastValue(Headers headers, String preferredKey, String fallbackKey){
+    var header = headers.lastHeader(preferredKey);
+    if(header == null){
+      header = headers.lastHeader(fallbackKey);
+    }
+    return header != null ? header.value() : null;
+  }
+
+  /**
+   * Decodes id, reusing the last string decoded on this thread if the bytes are unchanged.
+   */
+  private static String decode(byte[] value, ThreadLocal<DecodedId> lastDecoded){
+    var decoded = lastDecoded.get();
+    if(decoded == null || !Arrays.equals(decoded.value(), value)){
+      decoded = new DecodedId(value, new String(value, StandardCharsets.ISO_8859_1));
+      lastDecoded.set(decoded);
+    }
+    return decoded.id();
+  }
+
+  private static void restore(String key, String previousValue){
+    if(previousValue != null){
+      MDC.put(key, previousValue);
+    }else{
+      MDC.remove(key);
+    }
+  }
+
+  private record EncodedContext(long traceIdHigh, long traceId, long spanId, List<Header> headers) {
 
-      headers.add(new RecordHeader("X-Span-Id", spanId.getBytes()));
-      headers.add(new RecordHeader("X-B3-Span-Id", spanId.getBytes()));
+    boolean matches(TraceContext context){
+      return spanId == context.spanId() && traceId == context.traceId() && traceIdHigh == context.traceIdHigh();
     }
+  }
+
+  private record DecodedId(byte[] value, String id) {
 
-    return headers;
   }
 }
@@ -0,0 +1,56 @@
+package piper1970.eventservice.common.paging;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+
+/**
+ * Commonly used keyset-paging and streaming helpers used by both Event-Service and Booking-Service list endpoints.
+ */
+public class PagingUtilities {
+
+  /**
+   * Default number of rows returned for a page when none is requested.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 50;
+
+  /**
+   * Upper bound on rows returned for a single page.
+   */
+  public static final int MAX_PAGE_SIZE = 200;
+
+  /**
+   * Resolve the keyset cursor, starting from the beginning if none given
+   * @param after id of last row of the previous page | null
+   * @return cursor to page after
+   */
+  public static int resolveCursor(@Nullable Integer after) {
+    return after == null || after < 0 ? 0 : after;
+  }
+
+  /**
+   * Resolve the requested page size, capped between 1 and {@link #MAX_PAGE_SIZE}
+   * @param size requested page size | null
+   * @return page size to use
+   */
+  public static int resolvePageSize(@Nullable Integer size) {
+    return size == null ? DEFAULT_PAGE_SIZE : Math.clamp(size, 1, MAX_PAGE_SIZE);
+  }
+
+  /**
+   * Determine if the caller explicitly asked for a newline-delimited json stream
+   * @param acceptHeader value of Accept header | null
+   * @return true if application/x-ndjson was requested, false otherwise
+   */
+  public static boolean isStreamingRequest(@Nullable String acceptHeader) {
+    if (acceptHeader == null || acceptHeader.isBlank()) {
+      return false;
+    }
+    try {
+      return MediaType.parseMediaTypes(acceptHeader).stream()
+          .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    } catch (InvalidMediaTypeException e) {
+      return false;
+    }
+  }
+}
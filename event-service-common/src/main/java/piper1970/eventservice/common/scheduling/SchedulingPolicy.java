@@ -0,0 +1,34 @@
+package piper1970.eventservice.common.scheduling;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Scheduling policy shared by the event-booking services.
+ * <p>
+ * R2DBC repositories, reactor-kafka senders/receivers and WebClient requests are non-blocking, and complete on the
+ * event-loop threads that drive them. Their pipelines should not be moved to another scheduler, as each hop costs a
+ * thread handoff and competes for the shared elastic pool.
+ * <p>
+ * Only truly blocking work, such as SMTP delivery or classpath resource reads, should be moved off the event loop, via
+ * {@link #blocking()}. CPU-bound work, such as template rendering, belongs on {@link #cpu()}.
+ */
+public final class SchedulingPolicy {
+
+  private SchedulingPolicy() {
+  }
+
+  /**
+   * @return scheduler reserved for blocking I/O
+   */
+  public static Scheduler blocking() {
+    return Schedulers.boundedElastic();
+  }
+
+  /**
+   * @return scheduler for non-blocking, CPU-bound work
+   */
+  public static Scheduler cpu() {
+    return Schedulers.parallel();
+  }
+}
@@ -0,0 +1,412 @@
+package piper1970.eventservice.common.kafka.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import piper1970.eventservice.common.bookings.messages.BookingCreated;
+import piper1970.eventservice.common.bookings.messages.types.BookingId;
+import piper1970.eventservice.common.kafka.reactive.TracingHelper;
+import piper1970.eventservice.common.kafka.topics.Topics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import reactor.test.StepVerifier;
+
+@DataR2dbcTest(properties = "spring.cloud.config.enabled=false")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Outbox Relay")
+class OutboxRelayTests {
+
+  private static final int BATCH_SIZE = 2;
+
+  @Autowired
+  private OutboxMessageRepository outboxMessageRepository;
+
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @Mock
+  private KafkaSender<Integer, Object> kafkaSender;
+
+  @Mock
+  private TransactionalOperator transactionalOperator;
+
+  @Mock
+  private LockProvider lockProvider;
+
+  @Mock
+  private SimpleLock simpleLock;
+
+  private Tracing tracing;
+
+  private List<MutableSpan> finishedSpans;
+
+  private OutboxRelay outboxRelay;
+
+  @BeforeEach
+  void setUp() {
+    var statements = List.of("CREATE SCHEMA IF NOT EXISTS event_service;",
+        "DROP TABLE IF EXISTS event_service.outbox_messages;",
+        """
+            CREATE TABLE event_service.outbox_messages
+                (
+                    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    topic             varchar(255) NOT NULL,
+                    message_key       integer,
+                    message_type      varchar(255) NOT NULL,
+                    payload           bytea        NOT NULL,
+                    trace_id          varchar(32),
+                    span_id           varchar(16),
+                    created_at        timestamp    NOT NULL,
+                    failed_at         timestamp
+                );
+            """);
+
+    // Drop and recreate outbox table
+    statements.forEach(stmt -> databaseClient.sql(stmt)
+        .fetch()
+        .rowsUpdated()
+        .as(StepVerifier::create)
+        .expectNextCount(1)
+        .verifyComplete());
+
+    lenient().when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Integer>>any()))
+        .thenAnswer(args -> args.getArgument(0));
+    lenient().when(lockProvider.lock(any())).thenReturn(Optional.of(simpleLock));
+
+    finishedSpans = new ArrayList<>();
+    tracing = Tracing.newBuilder()
+        .traceId128Bit(true)
+        .addSpanHandler(new SpanHandler() {
+          @Override
+          public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            finishedSpans.add(span);
+            return true;
+          }
+        })
+        .build();
+    outboxRelay = new OutboxRelay(outboxMessageRepository, kafkaSender, transactionalOperator, tracing.tracer(),
+        lockProvider, Duration.ofMinutes(1), 250L, BATCH_SIZE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    tracing.close();
+  }
+
+  @Test
+  @DisplayName("should relay all queued messages in batches, in order, and remove them from the outbox")
+  void relayPendingMessages_sendsAndDeletes() {
+    List<SenderRecord<Integer, Object, Long>> sentRecords = new ArrayList<>();
+    when(kafkaSender.<Long>send(any())).thenAnswer(args -> {
+      Publisher<SenderRecord<Integer, Object, Long>> records = args.getArgument(0);
+      return Flux.from(records)
+          .doOnNext(sentRecords::add)
+          .map(rec -> new TestSenderResult(rec.correlationMetadata(), null));
+    });
+
+    var messages = List.of(createBookingCreatedMessage(1), createBookingCreatedMessage(2),
+        createBookingCreatedMessage(3));
+    outboxMessageRepository.saveAll(messages.stream().map(this::toOutboxMessage).toList())
+        .blockLast();
+
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(3)
+        .verifyComplete();
+
+    assertEquals(messages, sentRecords.stream().map(SenderRecord::value).toList());
+    assertEquals(List.of(1, 2, 3), sentRecords.stream().map(SenderRecord::key).toList());
+    assertEquals(Topics.BOOKING_CREATED, sentRecords.getFirst().topic());
+
+    outboxMessageRepository.count()
+        .as(StepVerifier::create)
+        .expectNext(0L)
+        .verifyComplete();
+    verify(simpleLock).unlock();
+  }
+
+  @Test
+  @DisplayName("should leave messages for the instance holding the relay lock")
+  void relayPendingMessages_lockHeldElsewhere() {
+    when(lockProvider.lock(any())).thenReturn(Optional.empty());
+
+    outboxMessageRepository.save(toOutboxMessage(createBookingCreatedMessage(1)))
+        .block();
+
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(0)
+        .verifyComplete();
+
+    verify(kafkaSender, never()).send(any());
+    outboxMessageRepository.count()
+        .as(StepVerifier::create)
+        .expectNext(1L)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should keep messages in the outbox when kafka is unavailable")
+  void relayPendingMessages_kafkaUnavailable() {
+    when(kafkaSender.<Long>send(any())).thenReturn(Flux.error(new IllegalStateException("kafka unavailable")));
+
+    outboxMessageRepository.save(toOutboxMessage(createBookingCreatedMessage(1)))
+        .block();
+
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(0)
+        .verifyComplete();
+
+    outboxMessageRepository.count()
+        .as(StepVerifier::create)
+        .expectNext(1L)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should delete only the messages kafka acknowledged, keeping the rest for the next poll")
+  void relayPendingMessages_partialFailure() {
+    when(kafkaSender.<Long>send(any())).thenAnswer(args -> {
+      Publisher<SenderRecord<Integer, Object, Long>> records = args.getArgument(0);
+      return Flux.from(records)
+          .map(rec -> new TestSenderResult(rec.correlationMetadata(),
+              rec.key() == 2 ? new IllegalStateException("not acknowledged") : null));
+    });
+
+    outboxMessageRepository.saveAll(List.of(toOutboxMessage(createBookingCreatedMessage(1)),
+            toOutboxMessage(createBookingCreatedMessage(2)), toOutboxMessage(createBookingCreatedMessage(3))))
+        .blockLast();
+
+    // the first batch is not fully relayed, so the third message waits for the next poll
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    outboxMessageRepository.findAll()
+        .map(OutboxMessage::getMessageKey)
+        .collectList()
+        .as(StepVerifier::create)
+        .expectNext(List.of(2, 3))
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should hold back later messages with the key of a failed message, so they are not relayed ahead of it")
+  void relayPendingMessages_failureKeepsKeyOrder() {
+    List<SenderRecord<Integer, Object, Long>> sentRecords = new ArrayList<>();
+    when(kafkaSender.<Long>send(any())).thenAnswer(args -> {
+      Publisher<SenderRecord<Integer, Object, Long>> records = args.getArgument(0);
+      // acknowledge each record before the next one is generated, as a pipelined sender may
+      return Flux.from(records)
+          .limitRate(1)
+          .doOnNext(sentRecords::add)
+          .map(rec -> new TestSenderResult(rec.correlationMetadata(),
+              sentRecords.size() == 1 ? new IllegalStateException("not acknowledged") : null));
+    });
+
+    outboxMessageRepository.saveAll(List.of(toOutboxMessage(createBookingCreatedMessage(1)),
+            toOutboxMessage(createBookingCreatedMessage(1))))
+        .blockLast();
+
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(0)
+        .verifyComplete();
+
+    assertEquals(1, sentRecords.size(), "later message with the failed key should not be sent");
+    outboxMessageRepository.count()
+        .as(StepVerifier::create)
+        .expectNext(2L)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should keep acknowledged messages queued after a failed message with the same key")
+  void relayPendingMessages_failureKeepsLaterAcknowledgedMessages() {
+    when(kafkaSender.<Long>send(any())).thenAnswer(args -> {
+      Publisher<SenderRecord<Integer, Object, Long>> records = args.getArgument(0);
+      // the whole batch is in flight before the first failure is reported
+      return Flux.from(records)
+          .collectList()
+          .flatMapMany(Flux::fromIterable)
+          .index()
+          .map(indexed -> new TestSenderResult(indexed.getT2().correlationMetadata(),
+              indexed.getT1() == 0 ? new IllegalStateException("not acknowledged") : null));
+    });
+
+    outboxMessageRepository.saveAll(List.of(toOutboxMessage(createBookingCreatedMessage(1)),
+            toOutboxMessage(createBookingCreatedMessage(1))))
+        .blockLast();
+
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(0)
+        .verifyComplete();
+
+    outboxMessageRepository.count()
+        .as(StepVerifier::create)
+        .expectNext(2L)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should set aside undecodable messages, rather than delete them or let them block the outbox")
+  void relayPendingMessages_undecodableMessage() {
+    List<SenderRecord<Integer, Object, Long>> sentRecords = new ArrayList<>();
+    when(kafkaSender.<Long>send(any())).thenAnswer(args -> {
+      Publisher<SenderRecord<Integer, Object, Long>> records = args.getArgument(0);
+      return Flux.from(records)
+          .doOnNext(sentRecords::add)
+          .map(rec -> new TestSenderResult(rec.correlationMetadata(), null));
+    });
+
+    var undecodable = toOutboxMessage(createBookingCreatedMessage(1));
+    undecodable.setMessageType("piper1970.eventservice.common.bookings.messages.Unknown");
+    outboxMessageRepository.saveAll(List.of(undecodable, toOutboxMessage(createBookingCreatedMessage(2)),
+            toOutboxMessage(createBookingCreatedMessage(3))))
+        .blockLast();
+
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(2)
+        .verifyComplete();
+
+    assertEquals(List.of(2, 3), sentRecords.stream().map(SenderRecord::key).toList());
+
+    outboxMessageRepository.findAll()
+        .collectList()
+        .as(StepVerifier::create)
+        .assertNext(remaining -> {
+          assertEquals(1, remaining.size());
+          assertEquals(1, remaining.getFirst().getMessageKey());
+          assertNotNull(remaining.getFirst().getFailedAt());
+        })
+        .verifyComplete();
+
+    // set aside messages are not claimed again
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(0)
+        .verifyComplete();
+    assertEquals(2, sentRecords.size());
+  }
+
+  @Test
+  @DisplayName("should send each message under a child span of the trace captured when it was queued")
+  void relayPendingMessages_continuesCapturedTrace() {
+    var traceId = "0af7651916cd43dd8448eb211c80319c";
+    var spanId = "b7ad6b7169203331";
+    List<TraceContext> sendContexts = new ArrayList<>();
+    List<SenderRecord<Integer, Object, Long>> sentRecords = new ArrayList<>();
+    when(kafkaSender.<Long>send(any())).thenAnswer(args -> {
+      Publisher<SenderRecord<Integer, Object, Long>> records = args.getArgument(0);
+      // the sender's observation parents its span on the span in scope as each record arrives
+      return Flux.from(records)
+          .doOnNext(rec -> {
+            var currentSpan = tracing.tracer().currentSpan();
+            sendContexts.add(currentSpan != null ? currentSpan.context() : null);
+            sentRecords.add(rec);
+          })
+          .map(rec -> new TestSenderResult(rec.correlationMetadata(), null));
+    });
+
+    var traced = toOutboxMessage(createBookingCreatedMessage(1));
+    traced.setTraceId(traceId);
+    traced.setSpanId(spanId);
+    outboxMessageRepository.saveAll(List.of(traced, toOutboxMessage(createBookingCreatedMessage(2))))
+        .blockLast();
+
+    outboxRelay.relayPendingMessages()
+        .as(StepVerifier::create)
+        .expectNext(2)
+        .verifyComplete();
+
+    var relayContext = sendContexts.getFirst();
+    assertNotNull(relayContext);
+    assertEquals(traceId, relayContext.traceIdString());
+    assertEquals(spanId, relayContext.parentIdString());
+    assertEquals(traceId, new String(
+        sentRecords.getFirst().headers().lastHeader(TracingHelper.B3_TRACE_ID_HEADER).value(),
+        StandardCharsets.ISO_8859_1));
+    assertEquals(1, finishedSpans.size());
+    assertEquals(relayContext.spanIdString(), finishedSpans.getFirst().id());
+
+    // messages queued outside any trace are sent without one
+    assertNull(sendContexts.get(1));
+    assertNull(sentRecords.get(1).headers().lastHeader(TracingHelper.B3_TRACE_ID_HEADER));
+  }
+
+  private OutboxMessage toOutboxMessage(BookingCreated message) {
+    return OutboxMessage.builder()
+        .topic(Topics.BOOKING_CREATED)
+        .messageKey(message.getBooking().getId())
+        .messageType(message.getClass().getName())
+        .payload(OutboxCodec.encode(message))
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+
+  private BookingCreated createBookingCreatedMessage(int bookingId) {
+    var booking = new BookingId();
+    booking.setId(bookingId);
+    booking.setUsername("test_user");
+    booking.setEmail("test_user@test.com");
+    var message = new BookingCreated();
+    message.setBooking(booking);
+    message.setEventId(1);
+    return message;
+  }
+
+  private record TestSenderResult(Long correlationMetadata, Exception exception) implements SenderResult<Long> {
+
+    @Override
+    public RecordMetadata recordMetadata() {
+      return null;
+    }
+  }
+
+  @SpringBootConfiguration
+  @EnableR2dbcRepositories(basePackageClasses = OutboxMessageRepository.class)
+  static class OutboxTestConfig {
+
+  }
+}
@@ -0,0 +1,120 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+@DisplayName("Discoverable Listener")
+class DiscoverableListenerTests {
+
+  private static final String TOPIC = "test-topic";
+
+  @Test
+  @DisplayName("key mode should emit, and so acknowledge, records whose handler completes empty")
+  void buildFluxRequest_key_mode_emits_empty_handled_records() {
+    var records = IntStream.range(0, 6)
+        .mapToObj(offset -> createRecord(offset, offset % 3))
+        .toList();
+    // handler skips every record with an even offset
+    var listener = createListener(ProcessingMode.KEY, records,
+        record -> record.offset() % 2 == 0 ? Mono.empty() : Mono.just(record));
+
+    StepVerifier.create(listener.buildFluxRequest()
+            .doOnNext(record -> record.receiverOffset().acknowledge()))
+        .expectNextCount(records.size())
+        .verifyComplete();
+
+    records.forEach(record -> verify(record.receiverOffset()).acknowledge());
+  }
+
+  @Test
+  @DisplayName("key mode should emit records whose DLT post fails")
+  void buildFluxRequest_key_mode_emits_failed_dlt_records() {
+    var records = List.of(createRecord(0, 1), createRecord(1, 2));
+    var deadLetterTopicProducer = mock(DeadLetterTopicProducer.class);
+    when(deadLetterTopicProducer.process(any())).thenReturn(Mono.error(new IllegalStateException("DLT down")));
+    var listener = createListener(ProcessingMode.KEY, records, deadLetterTopicProducer, null);
+    listener.handler = listener::handleDLTLogic;
+
+    StepVerifier.create(listener.buildFluxRequest())
+        .expectNextCount(records.size())
+        .verifyComplete();
+  }
+
+  private TestListener createListener(ProcessingMode processingMode, List<ReceiverRecord<Integer, Object>> records,
+      Function<ReceiverRecord<Integer, Object>, Mono<ReceiverRecord<Integer, Object>>> handler) {
+    return createListener(processingMode, records, mock(DeadLetterTopicProducer.class), handler);
+  }
+
+  private TestListener createListener(ProcessingMode processingMode, List<ReceiverRecord<Integer, Object>> records,
+      DeadLetterTopicProducer deadLetterTopicProducer,
+      Function<ReceiverRecord<Integer, Object>, Mono<ReceiverRecord<Integer, Object>>> handler) {
+    var receiverFactory = new ReactiveKafkaReceiverFactory(ReceiverOptions.create(), List.of(TOPIC),
+        processingMode, 2) {
+      @Override
+      public KafkaReceiver<Integer, Object> getReceiver(String topic) {
+        @SuppressWarnings("unchecked")
+        KafkaReceiver<Integer, Object> receiver = mock(KafkaReceiver.class);
+        when(receiver.receive()).thenReturn(Flux.fromIterable(records));
+        return receiver;
+      }
+    };
+    return new TestListener(receiverFactory, deadLetterTopicProducer, handler);
+  }
+
+  private static ReceiverRecord<Integer, Object> createRecord(long offset, int key) {
+    var consumerRecord = new ConsumerRecord<Integer, Object>(TOPIC, 0, offset, 0L, TimestampType.CREATE_TIME,
+        0, 0, key, "message-" + offset, new RecordHeaders(), Optional.empty());
+    return new ReceiverRecord<>(consumerRecord, mock(ReceiverOffset.class));
+  }
+
+  private static class TestListener extends DiscoverableListener {
+
+    private Function<ReceiverRecord<Integer, Object>, Mono<ReceiverRecord<Integer, Object>>> handler;
+
+    TestListener(ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory,
+        DeadLetterTopicProducer deadLetterTopicProducer,
+        Function<ReceiverRecord<Integer, Object>, Mono<ReceiverRecord<Integer, Object>>> handler) {
+      super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
+      this.handler = handler;
+    }
+
+    @Override
+    public void initializeReceiverFlux() {
+    }
+
+    @Override
+    protected String getTopic() {
+      return TOPIC;
+    }
+
+    @Override
+    protected Disposable getSubscription() {
+      return null;
+    }
+
+    @Override
+    protected Mono<ReceiverRecord<Integer, Object>> handleIndividualRequest(ReceiverRecord<Integer, Object> record) {
+      return handler.apply(record);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import piper1970.eventservice.common.exceptions.KafkaPostingException;
+import reactor.core.publisher.Flux;
+import reactor.kafka.sender.KafkaSender;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+@DisplayName("Pipelined Kafka Publisher")
+class PipelinedKafkaPublisherTests {
+
+  private static final String TOPIC = "test-topic";
+
+  @Test
+  @DisplayName("should stop resubscribing, and fail fast, once the retry is exhausted")
+  void publish_fails_fast_once_retry_exhausted() {
+    var subscriptions = new AtomicInteger();
+    @SuppressWarnings("unchecked")
+    KafkaSender<Integer, Object> kafkaSender = mock(KafkaSender.class);
+    when(kafkaSender.send(any())).thenAnswer(invocation -> {
+      subscriptions.incrementAndGet();
+      return Flux.error(new IllegalStateException("producer fenced"));
+    });
+
+    try (var publisher = new PipelinedKafkaPublisher(kafkaSender, 16,
+        Retry.backoff(2, Duration.ofMillis(1)))) {
+
+      StepVerifier.create(publisher.publish(TOPIC, 1, "message", List.of()))
+          .expectError(KafkaPostingException.class)
+          .verify(Duration.ofSeconds(5));
+
+      assertEquals(3, subscriptions.get(), "send stream should be subscribed once, then retried twice");
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.kafka.receiver.ReceiverOptions;
+
+@DisplayName("Reactive Kafka Receiver Factory")
+class ReactiveKafkaReceiverFactoryTests {
+
+  private static final String WIDE_TOPIC = "wide-topic";
+  private static final String DEFAULT_TOPIC = "default-topic";
+
+  @Test
+  @DisplayName("should use a topic's own concurrency, falling back to the default concurrency")
+  void getConcurrency_prefers_topic_concurrency() {
+    var factory = new ReactiveKafkaReceiverFactory(ReceiverOptions.create(), List.of(WIDE_TOPIC, DEFAULT_TOPIC),
+        ProcessingMode.PARTITION, 3, Map.of(WIDE_TOPIC, 6));
+
+    assertEquals(6, factory.getConcurrency(WIDE_TOPIC));
+    assertEquals(3, factory.getConcurrency(DEFAULT_TOPIC));
+  }
+
+  @Test
+  @DisplayName("should reject a topic concurrency below 1")
+  void constructor_rejects_invalid_topic_concurrency() {
+    assertThrows(IllegalArgumentException.class, () -> new ReactiveKafkaReceiverFactory(ReceiverOptions.create(),
+        List.of(WIDE_TOPIC), ProcessingMode.PARTITION, 3, Map.of(WIDE_TOPIC, 0)));
+  }
+}
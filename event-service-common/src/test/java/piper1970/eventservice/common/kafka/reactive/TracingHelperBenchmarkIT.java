@@ -0,0 +1,184 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import brave.Tracer;
+import brave.Tracing;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.slf4j.MDC;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+
+/**
+ * Repeatable micro-benchmark for the per-record cost of {@link TracingHelper}.
+ * <p>
+ * Times the outbound path (current span to kafka headers) and the inbound path
+ * (kafka headers to MDC, around a no-op handler) over a fixed number of records (default 2,000,000, override with
+ * -Dtracing.benchmark.records), and reports nanoseconds and bytes allocated per record, as measured by the JVM's
+ * per-thread allocation counter. Inbound figures are the overhead over calling the handler undecorated.
+ * <p>
+ * Only runs with the benchmark profile: mvn verify -Pbenchmark -pl event-service-common
+ */
+@DisplayName("Tracing Helper Benchmark")
+@Tag("benchmark")
+@Slf4j
+class TracingHelperBenchmarkIT {
+
+  private static final int RECORDS = Integer.getInteger("tracing.benchmark.records", 2_000_000);
+  private static final int WARMUP_RECORDS = 200_000;
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private static Tracing tracing;
+
+  /// Sink for benchmark results, so the JIT can't discard the measured work
+  private long blackhole;
+  private int iteration;
+
+  @BeforeAll
+  static void createTracing() {
+    tracing = Tracing.newBuilder().traceId128Bit(true).build();
+  }
+
+  @AfterAll
+  static void closeTracing() {
+    tracing.close();
+  }
+
+  @Test
+  @DisplayName("tracing headers should round-trip from span to MDC")
+  void benchmarkTracingHelper() {
+    Tracer tracer = tracing.tracer();
+    var span = tracer.nextSpan().start();
+    try (var ignored = tracer.withSpanInScope(span)) {
+      var recordIds = new String[][]{
+          {span.context().traceIdString(), span.context().spanIdString()},
+          {"0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331"}};
+      var records = List.of(createRecord(recordIds[0]), createRecord(recordIds[1]));
+      Function<ReceiverRecord<Integer, Object>, Mono<ReceiverRecord<Integer, Object>>> handler = Mono::just;
+      var subscriber = new BlackholeSubscriber();
+      MDC.put("requestId", "benchmark");
+
+      var outbound = measure(() -> sumHeaderLengths(TracingHelper.extractMDCIntoHeaders(tracer)));
+      var undecorated = measure(() -> {
+        handler.apply(records.get(nextIndex())).subscribe(subscriber);
+        return subscriber.received;
+      });
+      var decorated = measure(() -> {
+        TracingHelper.decorateWithTracing(records.get(nextIndex()), handler).subscribe(subscriber);
+        return subscriber.received;
+      });
+      var decoratedRepeated = measure(() -> {
+        TracingHelper.decorateWithTracing(records.getFirst(), handler).subscribe(subscriber);
+        return subscriber.received;
+      });
+
+      log.info("TracingHelper cost per record over {} records", RECORDS);
+      log.info("  outbound, current span: {}", outbound);
+      log.info("  inbound overhead, alternating between two traces: {}", decorated.minus(undecorated));
+      log.info("  inbound overhead, repeated trace: {}", decoratedRepeated.minus(undecorated));
+
+      var traceIds = new String[2];
+      TracingHelper.decorateWithTracing(records.getFirst(), received -> {
+        traceIds[0] = MDC.get("traceId");
+        traceIds[1] = MDC.get("spanId");
+        return Mono.just(received);
+      }).block();
+
+      assertEquals(span.context().traceIdString(), traceIds[0], "traceId should be propagated to MDC");
+      assertEquals(span.context().spanIdString(), traceIds[1], "spanId should be propagated to MDC");
+      assertEquals("benchmark", MDC.get("requestId"), "unrelated MDC entries should survive decoration");
+    } finally {
+      MDC.clear();
+      span.finish();
+    }
+  }
+
+  private BenchmarkResult measure(LongSupplier operation) {
+    for (int i = 0; i < WARMUP_RECORDS; i++) {
+      blackhole += operation.getAsLong();
+    }
+    var bytesBefore = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    var start = System.nanoTime();
+    for (int i = 0; i < RECORDS; i++) {
+      blackhole += operation.getAsLong();
+    }
+    var elapsedNanos = System.nanoTime() - start;
+    var bytes = THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - bytesBefore;
+    return new BenchmarkResult((double) elapsedNanos / RECORDS, (double) bytes / RECORDS);
+  }
+
+  private int nextIndex() {
+    return iteration++ & 1;
+  }
+
+  private static long sumHeaderLengths(Iterable<Header> headers) {
+    long sum = 0;
+    for (var header : headers) {
+      sum += header.value().length;
+    }
+    return sum;
+  }
+
+  private static ReceiverRecord<Integer, Object> createRecord(String[] ids) {
+    var headers = new RecordHeaders();
+    headers.add(TracingHelper.B3_TRACE_ID_HEADER, ids[0].getBytes(StandardCharsets.ISO_8859_1));
+    headers.add(TracingHelper.B3_SPAN_ID_HEADER, ids[1].getBytes(StandardCharsets.ISO_8859_1));
+    var consumerRecord = new ConsumerRecord<Integer, Object>("benchmark", 0, 0L, 0L, TimestampType.CREATE_TIME,
+        0, 0, 1, "message", headers, Optional.empty());
+    return new ReceiverRecord<>(consumerRecord, null);
+  }
+
+  /// Reusable subscriber counting received records, so subscribing adds no allocations of its own
+  private static class BlackholeSubscriber implements CoreSubscriber<ReceiverRecord<Integer, Object>> {
+
+    private long received;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(ReceiverRecord<Integer, Object> record) {
+      received++;
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+  }
+
+  private record BenchmarkResult(double nanos, double bytes) {
+
+    BenchmarkResult minus(BenchmarkResult baseline) {
+      return new BenchmarkResult(nanos - baseline.nanos(), bytes - baseline.bytes());
+    }
+
+    @Override
+    public String toString() {
+      return "%.1f ns, %.1f bytes".formatted(nanos, bytes);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package piper1970.eventservice.common.kafka.reactive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import brave.Tracing;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+
+@DisplayName("Tracing Helper")
+class TracingHelperTests {
+
+  private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+  private static final String SPAN_ID = "b7ad6b7169203331";
+
+  private static Tracing tracing;
+
+  @BeforeAll
+  static void createTracing() {
+    tracing = Tracing.newBuilder().traceId128Bit(true).build();
+  }
+
+  @AfterAll
+  static void closeTracing() {
+    tracing.close();
+  }
+
+  @AfterEach
+  void clearMDC() {
+    MDC.clear();
+  }
+
+  @Test
+  @DisplayName("should write the current span's ids under the standard and B3 header names")
+  void extractMDCIntoHeaders_writes_standard_and_b3_headers() {
+    var tracer = tracing.tracer();
+    var span = tracer.nextSpan().start();
+    try (var ignored = tracer.withSpanInScope(span)) {
+      var headers = toMap(TracingHelper.extractMDCIntoHeaders(tracer));
+
+      assertEquals(Map.of(
+              "X-Trace-Id", span.context().traceIdString(),
+              "X-B3-TraceId", span.context().traceIdString(),
+              "X-Span-Id", span.context().spanIdString(),
+              "X-B3-SpanId", span.context().spanIdString()),
+          headers);
+    } finally {
+      span.finish();
+    }
+  }
+
+  @Test
+  @DisplayName("should write no headers without a current span")
+  void extractMDCIntoHeaders_without_span_writes_no_headers() {
+    assertTrue(toMap(TracingHelper.extractMDCIntoHeaders(tracing.tracer())).isEmpty());
+  }
+
+  @Test
+  @DisplayName("should put the ids from written headers into the MDC while handling a record")
+  void decorateWithTracing_round_trips_written_headers() {
+    var tracer = tracing.tracer();
+    var span = tracer.nextSpan().start();
+    var headers = new RecordHeaders();
+    try (var ignored = tracer.withSpanInScope(span)) {
+      TracingHelper.extractMDCIntoHeaders(tracer).forEach(headers::add);
+    } finally {
+      span.finish();
+    }
+
+    var ids = handleAndCaptureIds(headers);
+
+    assertEquals(span.context().traceIdString(), ids.get("traceId"));
+    assertEquals(span.context().spanIdString(), ids.get("spanId"));
+  }
+
+  @Test
+  @DisplayName("should prefer B3 headers over the standard headers")
+  void decorateWithTracing_prefers_b3_headers() {
+    var headers = new RecordHeaders();
+    headers.add(TracingHelper.TRACE_ID_HEADER, bytes("standard-trace"));
+    headers.add(TracingHelper.SPAN_ID_HEADER, bytes("standard-span"));
+    headers.add(TracingHelper.B3_TRACE_ID_HEADER, bytes(TRACE_ID));
+    headers.add(TracingHelper.B3_SPAN_ID_HEADER, bytes(SPAN_ID));
+
+    var ids = handleAndCaptureIds(headers);
+
+    assertEquals(TRACE_ID, ids.get("traceId"));
+    assertEquals(SPAN_ID, ids.get("spanId"));
+  }
+
+  @Test
+  @DisplayName("should fall back to the standard headers without B3 headers")
+  void decorateWithTracing_falls_back_to_standard_headers() {
+    var headers = new RecordHeaders();
+    headers.add(TracingHelper.TRACE_ID_HEADER, bytes(TRACE_ID));
+    headers.add(TracingHelper.SPAN_ID_HEADER, bytes(SPAN_ID));
+
+    var ids = handleAndCaptureIds(headers);
+
+    assertEquals(TRACE_ID, ids.get("traceId"));
+    assertEquals(SPAN_ID, ids.get("spanId"));
+  }
+
+  @Test
+  @DisplayName("should restore the previous ids, and leave other MDC entries untouched, after handling a record")
+  void decorateWithTracing_restores_mdc() {
+    MDC.put("traceId", "previous-trace");
+    MDC.put("requestId", "request");
+    var headers = new RecordHeaders();
+    headers.add(TracingHelper.B3_TRACE_ID_HEADER, bytes(TRACE_ID));
+    headers.add(TracingHelper.B3_SPAN_ID_HEADER, bytes(SPAN_ID));
+
+    var ids = handleAndCaptureIds(headers);
+
+    assertEquals("request", ids.get("requestId"), "other MDC entries should be visible to the handler");
+    assertEquals("previous-trace", MDC.get("traceId"));
+    assertNull(MDC.get("spanId"), "spanId absent beforehand should be removed");
+    assertEquals("request", MDC.get("requestId"));
+  }
+
+  /// Handles a record with the given headers, capturing the MDC seen by the handler
+  private static Map<String, String> handleAndCaptureIds(RecordHeaders headers) {
+    var consumerRecord = new ConsumerRecord<Integer, Object>("test-topic", 0, 0L, 0L, TimestampType.CREATE_TIME,
+        0, 0, 1, "message", headers, Optional.empty());
+    Map<String, String> ids = new HashMap<>();
+    TracingHelper.decorateWithTracing(new ReceiverRecord<>(consumerRecord, null), record -> {
+      ids.putAll(MDC.getCopyOfContextMap());
+      return Mono.just(record);
+    }).block();
+    return ids;
+  }
+
+  private static Map<String, String> toMap(Iterable<Header> headers) {
+    Map<String, String> values = new HashMap<>();
+    headers.forEach(header -> values.put(header.key(), new String(header.value(), StandardCharsets.ISO_8859_1)));
+    return values;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.ISO_8859_1);
+  }
+}
@@ -0,0 +1,86 @@
+package piper1970.eventservice.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import piper1970.eventservice.domain.Event;
+import piper1970.eventservice.repository.EventRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bounded, read-through local cache of events, in front of {@link EventRepository#findById(Object)}.
+ * <p>
+ * Each lookup first reads the event's versions and seat count from the database, and serves the cached row only if
+ * its details version still matches, with the current seat count and version laid over it. Bookings therefore leave
+ * cached rows in place, seat counts are never stale, and other writes made on other nodes are picked up on the next
+ * read. Entries are invalidated on local writes, and age out after the TTL.
+ * <p>
+ * Cached events are shared between callers, and must not be mutated.
+ */
+@Component
+@Slf4j
+public class EventCache {
+
+  private final EventRepository eventRepository;
+  private final AsyncCache<Integer, CachedEvent> cache;
+
+  public EventCache(EventRepository eventRepository,
+      MeterRegistry meterRegistry,
+      @Value("${event-cache.max.size:10000}") Long maxSize,
+      @Value("${event-cache.ttl.millis:300000}") Long ttlMillis) {
+    this.eventRepository = eventRepository;
+    cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfterWrite(Duration.ofMillis(ttlMillis))
+        .recordStats()
+        .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "events");
+  }
+
+  /**
+   * Finds event by id, loading it into the cache if absent or out of date. Concurrent loads of the same event share a
+   * single query.
+   *
+   * @param id event id
+   * @return Mono of event, or empty if the event does not exist
+   */
+  public Mono<Event> findById(Integer id) {
+    return eventRepository.findVersionById(id)
+        .flatMap(current -> load(id, current.detailsVersion())
+            .filter(cached -> Objects.equals(cached.detailsVersion(), current.detailsVersion()))
+            .switchIfEmpty(Mono.defer(() -> {
+              invalidate(id);
+              return load(id, current.detailsVersion());
+            }))
+            .map(cached -> cached.event()
+                .withVersion(current.version())
+                .withAvailableBookings(current.availableBookings())));
+  }
+
+  public void invalidate(Integer eventId) {
+    log.debug("Invalidating cached event [{}]", eventId);
+    cache.synchronous().invalidate(eventId);
+  }
+
+  /**
+   * Loads event into the cache if absent, tagged with the details version read just before it, which at worst is older
+   * than the row and only causes one extra reload.
+   */
+  private Mono<CachedEvent> load(Integer id, Integer detailsVersion) {
+    // an empty result completes the future with null, which is not cached. The future is shared by concurrent
+    // callers, so a cancelled caller must not cancel it
+    return Mono.fromFuture(() -> cache.get(id, (key, executor) -> eventRepository.findById(key)
+        .map(event -> new CachedEvent(event, detailsVersion))
+        .toFuture()), true);
+  }
+
+  private record CachedEvent(Event event, Integer detailsVersion) {
+
+  }
+}
@@ -11,8 +11,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
@@ -22,10 +24,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import piper1970.eventservice.common.events.dto.EventDto;
+import piper1970.eventservice.common.paging.PagingUtilities;
 import piper1970.eventservice.common.tokens.TokenUtilities;
 import piper1970.eventservice.dto.model.EventCreateRequest;
 import piper1970.eventservice.dto.model.EventUpdateRequest;
@@ -43,15 +48,19 @@ public class EventController {
   private final EventWebService eventWebService;
 
   @Operation(
-      summary = "Get all available events",
+      summary = "Get available events, one page at a time, or all of them as a stream",
       responses = {
           @ApiResponse(
               responseCode = "200",
-              description = "found all events",
+              description = "found page of events, or stream of all events if application/x-ndjson was requested",
               content = {
                   @Content(
                       mediaType = MediaType.APPLICATION_JSON_VALUE,
                       array = @ArraySchema(schema = @Schema(implementation = EventDto.class))
+                  ),
+                  @Content(
+                      mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                      schema = @Schema(implementation = EventDto.class)
                   )
               }),
           @ApiResponse(
@@ -74,16 +83,32 @@ public class EventController {
           )
       }
   )
-  @GetMapping
+  @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
   @PreAuthorize("hasAuthority('MEMBER')")
-  public Flux<EventDto> getEvents(@AuthenticationPrincipal JwtAuthenticationToken jwtToken) {
+  public Flux<EventDto> getEvents(@AuthenticationPrincipal JwtAuthenticationToken jwtToken,
+      @Parameter(description = "id of last event from previous page (omit for first page)")
+      @RequestParam(required = false) Integer after,
+      @Parameter(description = "maximum number of events in page (default 50, max 200)")
+      @RequestParam(required = false) Integer size,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+    if(PagingUtilities.isStreamingRequest(accept)) {
+      if(log.isDebugEnabled()) {
+        var user = TokenUtilities.getUserFromToken(jwtToken);
+        log.debug("User [{}] is streaming all events", user);
+      }
+      return eventWebService.getEvents();
+    }
+
+    var cursor = PagingUtilities.resolveCursor(after);
+    var pageSize = PagingUtilities.resolvePageSize(size);
 
     if(log.isDebugEnabled()) {
       var user = TokenUtilities.getUserFromToken(jwtToken);
-      log.debug("User [{}] is retrieving all events", user);
+      log.debug("User [{}] is retrieving [{}] events after id [{}]", user, pageSize, cursor);
     }
 
-    return eventWebService.getEvents();
+    return eventWebService.getEventsPage(cursor, pageSize);
   }
 
   @Operation(
@@ -98,6 +123,10 @@ public class EventController {
                       schema = @Schema(implementation = EventDto.class)
                   )
               }),
+          @ApiResponse(
+              responseCode = "304",
+              description = "event unchanged since the version given in If-None-Match"
+          ),
           @ApiResponse(
               responseCode = "404",
               description = "event not found for given id",
@@ -129,7 +158,7 @@ public class EventController {
   )
   @GetMapping("{id}")
   @PreAuthorize("hasAuthority('MEMBER')")
-  public Mono<EventDto> getEvent(@AuthenticationPrincipal JwtAuthenticationToken jwtToken,
+  public Mono<ResponseEntity<EventDto>> getEvent(@AuthenticationPrincipal JwtAuthenticationToken jwtToken,
       @Parameter(description = "id of event to retrieve") @PathVariable Integer id) {
 
     if(log.isDebugEnabled()) {
@@ -137,7 +166,11 @@ public class EventController {
       log.debug("User [{}] is retrieving event [{}]", user, id);
     }
 
-    return eventWebService.getEvent(id);
+    // If-None-Match is checked against the ETag by the response handler, which answers 304 on a match
+    return eventWebService.getEvent(id)
+        .map(dto -> ResponseEntity.ok()
+            .eTag(createETag(dto))
+            .body(dto));
   }
 
   @Operation(
@@ -341,4 +374,13 @@ public class EventController {
 
     return eventWebService.cancelEvent(id, facilitator);
   }
+
+  /**
+   * Helper method: EventDto => ETag.
+   * Status is included alongside version, as a status derived from the current time changes without a version bump.
+   */
+  private String createETag(EventDto dto) {
+    var version = dto.getVersion() == null ? 0 : dto.getVersion();
+    return "\"%d-%s\"".formatted(version, dto.getEventStatus());
+  }
 }
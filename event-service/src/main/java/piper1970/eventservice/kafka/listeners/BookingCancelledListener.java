@@ -1,6 +1,9 @@
 package piper1970.eventservice.kafka.listeners;
 
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,16 +11,17 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import piper1970.eventservice.common.bookings.messages.BookingCancelled;
+import piper1970.eventservice.common.kafka.reactive.BatchDiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
-import piper1970.eventservice.common.kafka.reactive.DiscoverableListener;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
 import piper1970.eventservice.common.kafka.topics.Topics;
-import piper1970.eventservice.domain.Event;
 import piper1970.eventservice.repository.EventRepository;
+import piper1970.eventservice.repository.SeatUpdateType;
 import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.util.retry.Retry;
 
@@ -25,23 +29,32 @@ import reactor.util.retry.Retry;
  * Listener for BookingCancelled messages from the 'booking-cancelled' topic.
  * <p>
  * These messages are posted to kafka by the booking-service when a user cancels their booking for an event.
+ * <p>
+ * Cancellations are micro-batched, collecting records for up to the configured window or batch size, so that
+ * mass cancellations result in one availability update per event rather than one per booking.
  */
 @Component
 @Slf4j
-public class BookingCancelledListener extends DiscoverableListener {
+public class BookingCancelledListener extends BatchDiscoverableListener {
 
   private final EventRepository eventRepository;
+  private final TransactionalOperator transactionalOperator;
   private final Duration timeoutDuration;
   private final Retry defaultRepositoryRetry;
   private Disposable subscription;
 
   public BookingCancelledListener(ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory,
       EventRepository eventRepository,
+      TransactionalOperator transactionalOperator,
       DeadLetterTopicProducer deadLetterTopicProducer,
       @NonNull @Value("${event-repository.timout.milliseconds}") Integer timeoutInMilliseconds,
-      @Qualifier("repository") Retry defaultRepositoryRetry) {
-    super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
+      @Qualifier("repository") Retry defaultRepositoryRetry,
+      @NonNull @Value("${booking-cancelled.batch.max.size:100}") Integer batchMaxSize,
+      @NonNull @Value("${booking-cancelled.batch.window.millis:500}") Integer batchWindowInMilliseconds) {
+    super(reactiveKafkaReceiverFactory, deadLetterTopicProducer, batchMaxSize,
+        Duration.ofMillis(batchWindowInMilliseconds));
     this.eventRepository = eventRepository;
+    this.transactionalOperator = transactionalOperator;
     timeoutDuration = Duration.ofMillis(timeoutInMilliseconds);
     this.defaultRepositoryRetry = defaultRepositoryRetry;
   }
@@ -49,8 +62,8 @@ public class BookingCancelledListener extends DiscoverableListener {
   @EventListener(ApplicationReadyEvent.class)
   @Override
   public void initializeReceiverFlux() {
-    subscription = buildFluxRequest()
-        .subscribe(rec -> rec.receiverOffset().acknowledge());
+    subscription = buildBatchFluxRequest()
+        .subscribe();
   }
 
   @Override
@@ -64,8 +77,8 @@ public class BookingCancelledListener extends DiscoverableListener {
   }
 
   /**
-   * Helper method to update event count due to booking cancellation.
-   * Retries up to 3 times, returning empty mono if not success
+   * Helper method to validate individual records before they are batched. Records that cannot be deserialized
+   * are sent to the DLT, while BookingCancelled records are passed downstream for batching.
    *
    * @param record ReceiverRecord containing BookingCancelled message
    * @return a Mono[ReceiverRecord], optionally posting to DLT if problems occurred
@@ -76,33 +89,93 @@ public class BookingCancelledListener extends DiscoverableListener {
 
     log.debug("BookingCancelledListener::handleIndividualRequest started");
 
-    if (record.value() instanceof BookingCancelled message) {
-      return eventRepository.findById(message.getEventId())
-          .subscribeOn(Schedulers.boundedElastic())
-          .timeout(timeoutDuration)
-          .retryWhen(defaultRepositoryRetry)
-          .flatMap(event -> eventRepository.save(
-                  event.withAvailableBookings(event.getAvailableBookings() + 1))
-              .subscribeOn(Schedulers.boundedElastic())
-              .timeout(timeoutDuration)
-              .retryWhen(defaultRepositoryRetry)
-              .doOnNext((Event evt) ->
-                  log.info(
-                      "Event [{}] availabilities increased to [{}] due to booking cancellation",
-                      evt.getId(), evt.getAvailableBookings()))
-              .doOnError(err -> log.error("Event [{}] for cancelled booking not properly updated",
-                  message.getEventId(), err))
-              .map(_evt -> record)
-          )
-          .onErrorResume(err -> {
-            log.error(
-                "BOOKING_CANCELLED message not handled after max attempts. Sending to DLQ",
-                err);
-            return handleDLTLogic(record);
-          });
+    if (record.value() instanceof BookingCancelled) {
+      return Mono.just(record);
     } else {
       log.error("Unable to deserialize message. Sending to DLT for further processing");
       return handleDLTLogic(record);
     }
   }
+
+  /**
+   * Helper method to update event counts due to a batch of booking cancellations, applying one increment per event.
+   * Retries up to 3 times, sending the event's records to the DLT if not successful.
+   * <p>
+   * Released bookings are recorded as applied in the same transaction as the increment, so a retry after a timed-out
+   * but committed update, or a redelivered message, does not release them a second time.
+   *
+   * @param records batch of ReceiverRecords, in order of receipt
+   * @return a Mono of the full batch, for acknowledgement once all events have been handled
+   */
+  @Override
+  protected Mono<List<ReceiverRecord<Integer, Object>>> handleBatchRequest(
+      List<ReceiverRecord<Integer, Object>> records) {
+
+    log.debug("BookingCancelledListener::handleBatchRequest started with [{}] records", records.size());
+
+    var recordsByEventId = records.stream()
+        .filter(rec -> rec.value() instanceof BookingCancelled)
+        .collect(Collectors.groupingBy(rec -> ((BookingCancelled) rec.value()).getEventId()));
+
+    return Flux.fromIterable(recordsByEventId.entrySet())
+        .concatMap(entry -> {
+          var eventId = entry.getKey();
+          var eventRecords = entry.getValue();
+          var bookingIds = eventRecords.stream()
+              .map(rec -> ((BookingCancelled) rec.value()).getBooking().getId())
+              .distinct()
+              .toList();
+          return releaseBookings(eventId, bookingIds)
+              .as(transactionalOperator::transactional)
+              .timeout(timeoutDuration)
+              .retryWhen(defaultRepositoryRetry)
+              .then()
+              .onErrorResume(err -> {
+                log.error(
+                    "BOOKING_CANCELLED messages for event [{}] not handled after max attempts. Sending to DLQ",
+                    eventId, err);
+                return Flux.fromIterable(eventRecords)
+                    .concatMap(this::handleDLTLogic)
+                    .then();
+              });
+        })
+        .then(Mono.just(records));
+  }
+
+  /**
+   * Helper method to release bookings for the given event, skipping those already released.
+   *
+   * @param eventId event id
+   * @param bookingIds ids of the cancelled bookings
+   * @return Mono of the number of bookings released
+   */
+  private Mono<Integer> releaseBookings(Integer eventId, List<Integer> bookingIds) {
+    return eventRepository.findAppliedBookingIds(bookingIds, SeatUpdateType.CANCELLED)
+        .collect(Collectors.toCollection(HashSet::new))
+        .flatMap(applied -> {
+          var pending = bookingIds.stream()
+              .filter(bookingId -> !applied.contains(bookingId))
+              .toList();
+          if (pending.size() < bookingIds.size()) {
+            log.info("[{}] cancelled bookings already released for event [{}]. Skipping them",
+                bookingIds.size() - pending.size(), eventId);
+          }
+          if (pending.isEmpty()) {
+            return Mono.just(0);
+          }
+          return eventRepository.incrementAvailableBookings(eventId, pending.size())
+              .flatMap(rowsUpdated -> {
+                if (rowsUpdated == 0) {
+                  log.warn("Event [{}] for cancelled bookings not found. No availabilities updated", eventId);
+                  return Mono.just(0);
+                }
+                log.info("Event [{}] availabilities increased by [{}] due to booking cancellation",
+                    eventId, pending.size());
+                return Flux.fromIterable(pending)
+                    .concatMap(bookingId ->
+                        eventRepository.saveAppliedSeatUpdate(bookingId, SeatUpdateType.CANCELLED, eventId))
+                    .then(Mono.just(pending.size()));
+              });
+        });
+  }
 }
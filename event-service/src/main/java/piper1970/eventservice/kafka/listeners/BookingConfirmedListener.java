@@ -6,6 +6,7 @@ import static piper1970.eventservice.common.kafka.reactive.TracingHelper.extract
 import brave.Tracer;
 import java.time.Clock;
 import java.time.Duration;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +14,7 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import piper1970.eventservice.common.events.messages.BookingEventUnavailable;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
 import piper1970.eventservice.common.kafka.reactive.DiscoverableListener;
@@ -20,9 +22,9 @@ import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory
 import piper1970.eventservice.common.kafka.topics.Topics;
 import piper1970.eventservice.common.notifications.messages.BookingConfirmed;
 import piper1970.eventservice.repository.EventRepository;
+import piper1970.eventservice.repository.SeatUpdateType;
 import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.kafka.sender.KafkaSender;
 import reactor.util.retry.Retry;
@@ -38,6 +40,7 @@ public class BookingConfirmedListener extends DiscoverableListener {
 
   private final EventRepository eventRepository;
   private final KafkaSender<Integer, Object> kafkaSender;
+  private final TransactionalOperator transactionalOperator;
   private final Tracer tracer;
   private final Duration timeoutDuration;
   private final Retry defaultRepositoryRetry;
@@ -48,6 +51,7 @@ public class BookingConfirmedListener extends DiscoverableListener {
   public BookingConfirmedListener(ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory,
       EventRepository eventRepository,
       KafkaSender<Integer, Object> kafkaSender,
+      TransactionalOperator transactionalOperator,
       Tracer tracer,
       DeadLetterTopicProducer deadLetterTopicProducer,
       @NonNull @Value("${event-repository.timout.milliseconds}") Integer timeoutInMilliseconds,
@@ -57,6 +61,7 @@ public class BookingConfirmedListener extends DiscoverableListener {
     super(reactiveKafkaReceiverFactory, deadLetterTopicProducer);
     this.eventRepository = eventRepository;
     this.kafkaSender = kafkaSender;
+    this.transactionalOperator = transactionalOperator;
     this.tracer = tracer;
     timeoutDuration = Duration.ofMillis(timeoutInMilliseconds);
     this.defaultRepositoryRetry = defaultRepositoryRetry;
@@ -82,9 +87,13 @@ public class BookingConfirmedListener extends DiscoverableListener {
   }
 
   /**
-   * Helper method to handle confirmation requests per single record. In the event of a confirmation
-   * to an event with no more available bookings, a BOOKING_EVENT_UNAVAILABLE message is sent to the
-   * corresponding topic. Retries up to 3 times, returning empty mono if not successful.
+   * Helper method to handle confirmation requests per single record. Available bookings are reserved with a single
+   * conditional update, so concurrent confirmations for the same event do not collide on the version column. In the
+   * event of a confirmation to an event with no more available bookings, a BOOKING_EVENT_UNAVAILABLE message is sent to
+   * the corresponding topic. Retries up to 3 times, returning empty mono if not successful.
+   * <p>
+   * The booking is recorded as applied in the same transaction as the update, so a retry after a timed-out but
+   * committed update, or a redelivered message, does not reserve a second booking.
    *
    * @param record ReceiverRecord containing BookingConfirmed message
    * @return a Mono[ReceiverRecord], optionally posting to DLT if problems occurred
@@ -100,11 +109,17 @@ public class BookingConfirmedListener extends DiscoverableListener {
 
       log.info("Consuming from BOOKING_CONFIRMED topic [{}]", eventId);
 
-      return eventRepository.findById(eventId)
-          .subscribeOn(Schedulers.boundedElastic())
+      return reserveBooking(eventId, message.getBooking().getId())
+          .as(transactionalOperator::transactional)
           .timeout(timeoutDuration)
           .retryWhen(defaultRepositoryRetry)
-          .filter(event -> event.getAvailableBookings() > 0)
+          .filter(reserved -> reserved)
+          .map(reserved -> record)
+          .onErrorResume(err -> {
+            log.error("BOOKING_CONFIRMED message not handled after max attempts. Sending to DLT",
+                err);
+            return handleDLTLogic(record);
+          })
           .switchIfEmpty(Mono.defer(() -> {
             log.warn("Event [{}] has no available bookings left. Sending message to BOOKING_EVENT_UNAVAILABLE topic",
                 eventId);
@@ -118,23 +133,38 @@ public class BookingConfirmedListener extends DiscoverableListener {
                   log.error("Unable to send message to BOOKING_EVENT_UNAVAILABLE topic. Manual intervention necessary",
                       err);
                   return Mono.empty();
-                }).then(Mono.empty());
-          }))
-          .flatMap(event -> eventRepository.save(
-                  event.withAvailableBookings(event.getAvailableBookings() - 1))
-              .subscribeOn(Schedulers.boundedElastic())
-              .timeout(timeoutDuration)
-              .retryWhen(defaultRepositoryRetry)
-              .map(evt -> record)
-              .onErrorResume(err -> {
-                log.error("BOOKING_CONFIRMED message not handled after max attempts. Sending to DLT",
-                    err);
-                return handleDLTLogic(record);
-              })
-          );
+                }).thenReturn(record);
+          }));
     } else {
       log.error("Unable to deserialize message. Sending to DLT for further processing");
       return handleDLTLogic(record);
     }
   }
+
+  /**
+   * Helper method to reserve a booking for the given event, unless already reserved for the given booking.
+   *
+   * @param eventId event id
+   * @param bookingId id of the confirmed booking
+   * @return Mono of true if the booking is reserved, now or previously, or false if no bookings are left
+   */
+  private Mono<Boolean> reserveBooking(Integer eventId, Integer bookingId) {
+    return eventRepository.findAppliedBookingIds(List.of(bookingId), SeatUpdateType.CONFIRMED)
+        .hasElements()
+        .flatMap(applied -> {
+          if (applied) {
+            log.info("Booking [{}] already reserved for event [{}]. Skipping", bookingId, eventId);
+            return Mono.just(true);
+          }
+          return eventRepository.decrementAvailableBookings(eventId)
+              .flatMap(rowsUpdated -> {
+                if (rowsUpdated == 0) {
+                  return Mono.just(false);
+                }
+                log.info("Event [{}] availabilities decreased due to booking confirmation", eventId);
+                return eventRepository.saveAppliedSeatUpdate(bookingId, SeatUpdateType.CONFIRMED, eventId)
+                    .thenReturn(true);
+              });
+        });
+  }
 }
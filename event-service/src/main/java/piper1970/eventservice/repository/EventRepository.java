@@ -1,6 +1,9 @@
 package piper1970.eventservice.repository;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import piper1970.eventservice.common.events.status.EventStatus;
@@ -12,4 +15,146 @@ import reactor.core.publisher.Mono;
 public interface EventRepository extends ReactiveCrudRepository<Event, Integer> {
   Mono<Event> findByIdAndFacilitator(Integer id, String facilitator);
   Flux<Event> findByEventStatusIn(Collection<EventStatus> eventStatus);
+
+  /**
+   * Fetches only the versions and seat count of the given event, to validate a cached copy of the rest of the row.
+   * <p>
+   * The details version is bumped by every write except the atomic seat updates, so a cached row stays valid across
+   * bookings and only needs the current seat count and version laid over it.
+   *
+   * @param id event id
+   * @return Mono of versions and available bookings, or empty if the event does not exist
+   */
+  @Query("""
+      SELECT version, version - seat_updates AS details_version, available_bookings FROM event_service.events
+      WHERE id = :id
+      """)
+  Mono<EventVersion> findVersionById(Integer id);
+
+  /**
+   * Fetches the next page of events by keyset on id, so deep pages cost the same as the first one.
+   *
+   * @param afterId id of the last event of the previous page, or 0 for the first page
+   * @param limit maximum number of events to return
+   * @return Flux of events ordered by id
+   */
+  @Query("""
+      SELECT * FROM event_service.events
+      WHERE id > :afterId
+      ORDER BY id
+      LIMIT :limit
+      """)
+  Flux<Event> findPageAfterId(Integer afterId, Integer limit);
+
+  /**
+   * Atomically reserves a single booking for the given event, in one round trip.
+   * <p>
+   * The version column is bumped so concurrent optimistic-locked writes on the same event still detect the change, and
+   * seat_updates with it, so the details version is left alone.
+   *
+   * @param id event id
+   * @return Mono of updated row count, which is 0 if the event does not exist or has no bookings left
+   */
+  @Modifying
+  @Query("""
+      UPDATE event_service.events
+      SET available_bookings = available_bookings - 1, version = version + 1, seat_updates = seat_updates + 1
+      WHERE id = :id AND available_bookings > 0
+      """)
+  Mono<Integer> decrementAvailableBookings(Integer id);
+
+  /**
+   * Atomically releases the given number of bookings for the given event, in one round trip.
+   * <p>
+   * Bumps version and seat_updates together, as for {@link #decrementAvailableBookings(Integer)}.
+   *
+   * @param id event id
+   * @param count number of bookings to release
+   * @return Mono of updated row count, which is 0 if the event does not exist
+   */
+  @Modifying
+  @Query("""
+      UPDATE event_service.events
+      SET available_bookings = available_bookings + :count, version = version + 1, seat_updates = seat_updates + 1
+      WHERE id = :id
+      """)
+  Mono<Integer> incrementAvailableBookings(Integer id, Integer count);
+
+  /**
+   * Finds which of the given bookings have already had the given seat update applied.
+   *
+   * @param bookingIds booking ids to check
+   * @param updateType kind of seat update
+   * @return Flux of the ids among bookingIds already applied
+   */
+  @Query("""
+      SELECT booking_id FROM event_service.applied_seat_updates
+      WHERE update_type = :updateType AND booking_id IN (:bookingIds)
+      """)
+  Flux<Integer> findAppliedBookingIds(Collection<Integer> bookingIds, SeatUpdateType updateType);
+
+  /**
+   * Records that the given seat update has been applied for the given booking.
+   * <p>
+   * Must run in the same transaction as the seat update itself, so retries and redeliveries can skip it.
+   *
+   * @param bookingId booking id
+   * @param updateType kind of seat update
+   * @param eventId id of the booking's event
+   * @return Mono of inserted row count
+   */
+  @Modifying
+  @Query("""
+      INSERT INTO event_service.applied_seat_updates (booking_id, update_type, event_id)
+      VALUES (:bookingId, :updateType, :eventId)
+      """)
+  Mono<Integer> saveAppliedSeatUpdate(Integer bookingId, SeatUpdateType updateType, Integer eventId);
+
+  /**
+   * Finds and locks ids of events not yet completed or cancelled whose end time is before the given time.
+   * <p>
+   * Served by the partial index on ends_at, so only due events are ever read, no matter how many are scheduled.
+   *
+   * @param currentDateTime time to check completion against
+   * @return Flux of ids of events that have completed
+   */
+  @Query("""
+      SELECT id FROM event_service.events
+      WHERE event_status IN ('AWAITING', 'IN_PROGRESS') AND ends_at < :currentDateTime
+      FOR UPDATE
+      """)
+  Flux<Integer> findCompletedEventIdsForUpdate(LocalDateTime currentDateTime);
+
+  /**
+   * Finds and locks ids of awaiting events that have started, but not yet ended, as of the given time.
+   * <p>
+   * Served by the partial index on event_date_time, so only due events are ever read, no matter how many are
+   * scheduled.
+   *
+   * @param currentDateTime time to check start against
+   * @return Flux of ids of events that have started
+   */
+  @Query("""
+      SELECT id FROM event_service.events
+      WHERE event_status = 'AWAITING' AND event_date_time < :currentDateTime AND ends_at > :currentDateTime
+      FOR UPDATE
+      """)
+  Flux<Integer> findStartedEventIdsForUpdate(LocalDateTime currentDateTime);
+
+  /**
+   * Moves all events with the given ids to the new status, in one round trip.
+   * <p>
+   * The version column is bumped so concurrent optimistic-locked writes on the same events still detect the change.
+   *
+   * @param ids event ids
+   * @param newStatus status to move events to
+   * @return Mono of updated row count
+   */
+  @Modifying
+  @Query("""
+      UPDATE event_service.events
+      SET event_status = :newStatus, version = version + 1
+      WHERE id IN (:ids)
+      """)
+  Mono<Integer> updateEventStatusByIdIn(Collection<Integer> ids, EventStatus newStatus);
 }
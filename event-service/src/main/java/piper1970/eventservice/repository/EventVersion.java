@@ -0,0 +1,12 @@
+package piper1970.eventservice.repository;
+
+/**
+ * Needed by EventRepository for {@link EventRepository#findVersionById(Integer)} response, used to validate cached
+ * events against the database.
+ * <p>
+ * A DTO rather than an interface projection, as interface projections are read through the Event entity, which has no
+ * details version.
+ */
+public record EventVersion(Integer version, Integer detailsVersion, Integer availableBookings) {
+
+}
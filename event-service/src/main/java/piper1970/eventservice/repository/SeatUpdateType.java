@@ -0,0 +1,9 @@
+package piper1970.eventservice.repository;
+
+/**
+ * Kind of booking applied to an event's seat count, recorded in applied_seat_updates.
+ */
+public enum SeatUpdateType {
+  CONFIRMED,
+  CANCELLED
+}
@@ -0,0 +1,186 @@
+package piper1970.eventservice.scheduling;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import piper1970.eventservice.common.events.status.EventStatus;
+import piper1970.eventservice.common.scheduling.SchedulingPolicy;
+import piper1970.eventservice.domain.Event;
+import piper1970.eventservice.repository.EventRepository;
+import piper1970.eventservice.service.SchedulingService;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fires event start and completion transitions within a tick of their due time, using a
+ * {@link HierarchicalTimingWheel} rebuilt at startup and kept current as events are created, updated and cancelled.
+ * <p>
+ * The wheel only decides when to look. A fired timer runs the same row-locked sweeps as {@link SchedulingService}, so
+ * the database stays the source of truth, and stale timers for events changed on another node are harmless no-ops.
+ * Sweeps run under a short ShedLock lock, so nodes do not sweep concurrently; a node that misses the lock retries on
+ * the next tick.
+ */
+@Component
+@Slf4j
+public class EventTransitionScheduler implements DisposableBean {
+
+  private static final String LOCK_NAME = "eventTransitions";
+
+  private final EventRepository eventRepository;
+  private final SchedulingService schedulingService;
+  private final LockProvider lockProvider;
+  private final Clock clock;
+  private final Duration tickDuration;
+  private final Duration lockAtMostFor;
+  private final HierarchicalTimingWheel<Integer, EventTimer> timingWheel;
+  private Disposable ticker;
+
+  public EventTransitionScheduler(EventRepository eventRepository,
+      SchedulingService schedulingService,
+      LockProvider lockProvider,
+      Clock clock,
+      @Value("${scheduler.timing-wheel.tick.millis:1000}") long tickMillis,
+      @Value("${scheduler.timing-wheel.size:64}") int wheelSize,
+      @Value("${scheduler.timing-wheel.lock-at-most-for:PT1M}") Duration lockAtMostFor) {
+    this.eventRepository = eventRepository;
+    this.schedulingService = schedulingService;
+    this.lockProvider = lockProvider;
+    this.clock = clock;
+    this.tickDuration = Duration.ofMillis(tickMillis);
+    this.lockAtMostFor = lockAtMostFor;
+    this.timingWheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, clock.millis());
+  }
+
+  /**
+   * Rebuilds the wheel from all AWAITING or IN_PROGRESS events, then starts ticking it.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    ticker = eventRepository.findByEventStatusIn(List.of(EventStatus.AWAITING, EventStatus.IN_PROGRESS))
+        .doOnNext(this::schedule)
+        .count()
+        .doOnNext(count -> log.info("Timing wheel rebuilt with {} active events", count))
+        .onErrorResume(ex -> {
+          log.error("Unable to rebuild timing wheel. Relying on periodic sweeps until events change", ex);
+          return Mono.empty();
+        })
+        .thenMany(Flux.interval(tickDuration, SchedulingPolicy.blocking()))
+        .onBackpressureDrop()
+        .concatMap(tick -> fireDueTransitions(), 1)
+        .subscribe();
+  }
+
+  @Override
+  public void destroy() {
+    if (ticker != null) {
+      ticker.dispose();
+    }
+  }
+
+  /**
+   * Schedules the next status transition of the given event, replacing any transition already scheduled for it.
+   * Events that are neither AWAITING nor IN_PROGRESS have no further transitions.
+   */
+  public void schedule(Event event) {
+    var startsAt = toEpochMillis(event.getEventDateTime());
+    var endsAt = toEpochMillis(event.getEventDateTime().plusMinutes(event.getDurationInMinutes()));
+    switch (event.getEventStatus()) {
+      case AWAITING -> timingWheel.schedule(event.getId(), startsAt,
+          new EventTimer(event.getId(), EventStatus.IN_PROGRESS, endsAt));
+      case IN_PROGRESS -> timingWheel.schedule(event.getId(), endsAt,
+          new EventTimer(event.getId(), EventStatus.COMPLETED, endsAt));
+      default -> timingWheel.cancel(event.getId());
+    }
+  }
+
+  /**
+   * Cancels any transition scheduled for the given event.
+   */
+  public void cancel(Integer eventId) {
+    timingWheel.cancel(eventId);
+  }
+
+  /**
+   * Advances the wheel, and runs the sweeps for any transitions that have come due.
+   *
+   * @return Mono completing once sweeps have run, which never errors so the ticker keeps going
+   */
+  Mono<Void> fireDueTransitions() {
+    var dueTimers = timingWheel.advance(clock.millis());
+    if (dueTimers.isEmpty()) {
+      return Mono.empty();
+    }
+    // lock provider blocks on its own database round trip
+    return Mono.fromCallable(this::tryLock)
+        .subscribeOn(SchedulingPolicy.blocking())
+        .flatMap(lock -> lock
+            .map(acquired -> runTransitions(dueTimers)
+                .onErrorResume(ex -> {
+                  log.error("Unable to fire {} due event transitions", dueTimers.size(), ex);
+                  return Mono.empty();
+                })
+                .then(Mono.fromRunnable(acquired::unlock).subscribeOn(SchedulingPolicy.blocking())))
+            .orElseGet(() -> {
+              log.debug("Transition lock held by another node. Retrying {} transitions next tick", dueTimers.size());
+              dueTimers.forEach(timer -> timingWheel.scheduleIfAbsent(timer.eventId(), clock.millis(), timer));
+              return Mono.empty();
+            }))
+        .onErrorResume(ex -> {
+          log.error("Unable to acquire or release event transition lock", ex);
+          return Mono.empty();
+        })
+        .then();
+  }
+
+  /**
+   * @return number of transitions still scheduled
+   */
+  int scheduledTransitions() {
+    return timingWheel.size();
+  }
+
+  private Mono<Void> runTransitions(List<EventTimer> dueTimers) {
+    var starts = dueTimers.stream()
+        .filter(timer -> timer.targetStatus() == EventStatus.IN_PROGRESS)
+        .toList();
+    var anyCompletions = starts.size() < dueTimers.size();
+
+    var started = starts.isEmpty() ? Mono.<Integer>empty() : schedulingService.startDueEvents()
+        // started events complete at their end time
+        .doOnNext(count -> starts.forEach(timer -> timingWheel.scheduleIfAbsent(timer.eventId(),
+            timer.endsAtMillis(), new EventTimer(timer.eventId(), EventStatus.COMPLETED, timer.endsAtMillis()))));
+    var completed = anyCompletions ? schedulingService.completeDueEvents() : Mono.<Integer>empty();
+
+    return started.then(completed).then();
+  }
+
+  private Optional<SimpleLock> tryLock() {
+    return lockProvider.lock(new LockConfiguration(clock.instant(), LOCK_NAME, lockAtMostFor, Duration.ZERO));
+  }
+
+  private long toEpochMillis(LocalDateTime dateTime) {
+    return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+  }
+
+  /**
+   * Next status transition due for an event.
+   *
+   * @param eventId event id
+   * @param targetStatus status the event moves to once the timer fires
+   * @param endsAtMillis end time of the event, in epoch milliseconds
+   */
+  record EventTimer(Integer eventId, EventStatus targetStatus, long endsAtMillis) {
+  }
+}
@@ -0,0 +1,244 @@
+package piper1970.eventservice.scheduling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel of keyed timers, after the design used by Kafka's purgatory.
+ * <p>
+ * Timers are hashed into fixed-size wheels of buckets. Deadlines beyond the range of one wheel go to a coarser
+ * overflow wheel, and cascade down to finer wheels as their bucket comes due. Scheduling and cancelling are O(1), and
+ * advancing the clock only touches buckets that are due, so far-off timers cost nothing until they are near.
+ * <p>
+ * Timers never fire early: deadlines are rounded up to the next tick, so a timer fires between its deadline and one
+ * tick after. Each key holds at most one timer, and scheduling a key again replaces its timer.
+ * <p>
+ * The wheel does not keep time on its own. The caller drives it by calling {@link #advance(long)} once per tick.
+ *
+ * @param <K> timer key type
+ * @param <V> timer value type
+ */
+public class HierarchicalTimingWheel<K, V> {
+
+  private final long tickMillis;
+  private final int wheelSize;
+  private final Map<K, TimerEntry<K, V>> timers = new HashMap<>();
+  private final List<TimerEntry<K, V>> overdue = new ArrayList<>();
+  private final PriorityQueue<Bucket<K, V>> scheduledBuckets =
+      new PriorityQueue<>(Comparator.comparingLong(Bucket::getExpiration));
+  private final Wheel root;
+
+  /**
+   * @param tickMillis duration of one tick of the finest wheel, in milliseconds
+   * @param wheelSize number of buckets per wheel
+   * @param startMillis current time, in epoch milliseconds
+   */
+  public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+    if (tickMillis <= 0 || wheelSize <= 0) {
+      throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+    }
+    this.tickMillis = tickMillis;
+    this.wheelSize = wheelSize;
+    this.root = new Wheel(tickMillis, startMillis);
+  }
+
+  /**
+   * Schedules a timer for the given key, replacing any timer already held for it. A deadline already passed is
+   * returned by the next call to {@link #advance(long)}.
+   *
+   * @param key timer key
+   * @param deadlineMillis deadline, in epoch milliseconds
+   * @param value value returned once the timer fires
+   */
+  public synchronized void schedule(K key, long deadlineMillis, V value) {
+    cancel(key);
+    var entry = new TimerEntry<>(key, roundUpToTick(deadlineMillis), value);
+    timers.put(key, entry);
+    if (!root.add(entry)) {
+      overdue.add(entry);
+    }
+  }
+
+  /**
+   * Schedules a timer for the given key, only if no timer is held for it.
+   *
+   * @return true if the timer was scheduled
+   */
+  public synchronized boolean scheduleIfAbsent(K key, long deadlineMillis, V value) {
+    if (timers.containsKey(key)) {
+      return false;
+    }
+    schedule(key, deadlineMillis, value);
+    return true;
+  }
+
+  /**
+   * Cancels the timer held for the given key, if any.
+   */
+  public synchronized void cancel(K key) {
+    var entry = timers.remove(key);
+    if (entry != null) {
+      entry.cancelled = true;
+      if (entry.bucket != null) {
+        entry.bucket.remove(entry);
+      }
+    }
+  }
+
+  /**
+   * Advances the wheel to the given time, firing every timer whose deadline has been reached.
+   *
+   * @param nowMillis current time, in epoch milliseconds
+   * @return values of fired timers, in no particular order
+   */
+  public synchronized List<V> advance(long nowMillis) {
+    List<V> fired = new ArrayList<>();
+    overdue.forEach(entry -> fire(entry, fired));
+    overdue.clear();
+
+    Bucket<K, V> bucket;
+    while ((bucket = scheduledBuckets.peek()) != null && bucket.getExpiration() <= nowMillis) {
+      scheduledBuckets.poll();
+      root.advanceClock(bucket.getExpiration());
+      // entries either fire, or cascade down to a finer wheel
+      for (var entry : bucket.flush()) {
+        if (!entry.cancelled && !root.add(entry)) {
+          fire(entry, fired);
+        }
+      }
+    }
+    root.advanceClock(nowMillis);
+    return fired;
+  }
+
+  /**
+   * @return number of timers not yet fired or cancelled
+   */
+  public synchronized int size() {
+    return timers.size();
+  }
+
+  private void fire(TimerEntry<K, V> entry, List<V> fired) {
+    if (!entry.cancelled) {
+      timers.remove(entry.key);
+      fired.add(entry.value);
+    }
+  }
+
+  private long roundUpToTick(long deadlineMillis) {
+    return Math.ceilDiv(deadlineMillis, tickMillis) * tickMillis;
+  }
+
+  /**
+   * Single level of the hierarchy, covering wheelSize ticks of its own tick duration.
+   */
+  private final class Wheel {
+
+    private final long tick;
+    private final long interval;
+    private final List<Bucket<K, V>> buckets;
+    private long currentTime;
+    private Wheel overflowWheel;
+
+    private Wheel(long tick, long startMillis) {
+      this.tick = tick;
+      this.interval = tick * wheelSize;
+      this.currentTime = startMillis - (startMillis % tick);
+      this.buckets = new ArrayList<>(wheelSize);
+      for (int i = 0; i < wheelSize; i++) {
+        buckets.add(new Bucket<>());
+      }
+    }
+
+    /**
+     * @return false if the entry is already due, and was not added
+     */
+    private boolean add(TimerEntry<K, V> entry) {
+      if (entry.deadline < currentTime + tick) {
+        return false;
+      }
+      if (entry.deadline < currentTime + interval) {
+        var virtualId = entry.deadline / tick;
+        var bucket = buckets.get((int) (virtualId % wheelSize));
+        bucket.add(entry);
+        if (bucket.setExpiration(virtualId * tick)) {
+          scheduledBuckets.add(bucket);
+        }
+        return true;
+      }
+      if (overflowWheel == null) {
+        overflowWheel = new Wheel(interval, currentTime);
+      }
+      return overflowWheel.add(entry);
+    }
+
+    private void advanceClock(long timeMillis) {
+      if (timeMillis >= currentTime + tick) {
+        currentTime = timeMillis - (timeMillis % tick);
+        if (overflowWheel != null) {
+          overflowWheel.advanceClock(currentTime);
+        }
+      }
+    }
+  }
+
+  private static final class Bucket<K, V> {
+
+    private final Set<TimerEntry<K, V>> entries = new LinkedHashSet<>();
+    private long expiration = -1L;
+
+    private long getExpiration() {
+      return expiration;
+    }
+
+    /**
+     * @return true if the expiration changed, meaning the bucket must be (re)queued
+     */
+    private boolean setExpiration(long expiration) {
+      if (this.expiration == expiration) {
+        return false;
+      }
+      this.expiration = expiration;
+      return true;
+    }
+
+    private void add(TimerEntry<K, V> entry) {
+      entry.bucket = this;
+      entries.add(entry);
+    }
+
+    private void remove(TimerEntry<K, V> entry) {
+      entry.bucket = null;
+      entries.remove(entry);
+    }
+
+    private List<TimerEntry<K, V>> flush() {
+      var flushed = new ArrayList<>(entries);
+      flushed.forEach(entry -> entry.bucket = null);
+      entries.clear();
+      expiration = -1L;
+      return flushed;
+    }
+  }
+
+  private static final class TimerEntry<K, V> {
+
+    private final K key;
+    private final long deadline;
+    private final V value;
+    private Bucket<K, V> bucket;
+    private boolean cancelled;
+
+    private TimerEntry(K key, long deadline, V value) {
+      this.key = key;
+      this.deadline = deadline;
+      this.value = value;
+    }
+  }
+}
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.reactive.TransactionalOperator;
+import piper1970.eventservice.cache.EventCache;
 import piper1970.eventservice.common.events.dto.EventDto;
 import piper1970.eventservice.common.events.messages.EventCancelled;
 import piper1970.eventservice.common.events.messages.EventChanged;
@@ -25,10 +26,10 @@ import piper1970.eventservice.exceptions.EventCancellationException;
 import piper1970.eventservice.exceptions.EventTimeoutException;
 import piper1970.eventservice.exceptions.EventUpdateException;
 import piper1970.eventservice.repository.EventRepository;
+import piper1970.eventservice.scheduling.EventTransitionScheduler;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 /**
@@ -43,8 +44,10 @@ import reactor.util.retry.Retry;
 public class DefaultEventWebService implements EventWebService {
 
   private final EventRepository eventRepository;
+  private final EventCache eventCache;
   private final MessagePostingService messagePostingService;
   private final EventMapper eventMapper;
+  private final EventTransitionScheduler eventTransitionScheduler;
   private final Clock clock;
   private final Integer eventRepositoryTimeoutInMilliseconds;
   private final Duration eventsTimeoutDuration;
@@ -54,8 +57,10 @@ public class DefaultEventWebService implements EventWebService {
 
   public DefaultEventWebService(
       @NonNull EventRepository eventRepository,
+      @NonNull EventCache eventCache,
       @NonNull MessagePostingService messagePostingService,
       @NonNull EventMapper eventMapper,
+      @NonNull EventTransitionScheduler eventTransitionScheduler,
       TransactionalOperator transactionalOperator,
       Clock clock,
       @NonNull @Value("${event-repository.timout.milliseconds}") Integer eventRepositoryTimeoutInMilliseconds,
@@ -63,8 +68,10 @@ public class DefaultEventWebService implements EventWebService {
       @Qualifier("kafka") Retry defaultKafkaRetry) {
 
     this.eventRepository = eventRepository;
+    this.eventCache = eventCache;
     this.messagePostingService = messagePostingService;
     this.eventMapper = eventMapper;
+    this.eventTransitionScheduler = eventTransitionScheduler;
     this.transactionalOperator = transactionalOperator;
     this.clock = clock;
     this.eventRepositoryTimeoutInMilliseconds = eventRepositoryTimeoutInMilliseconds;
@@ -79,7 +86,6 @@ public class DefaultEventWebService implements EventWebService {
     log.debug("Get events called");
 
     return eventRepository.findAll()
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(eventsTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryFluxTimeout(ex,  "attempting to get all events"))
@@ -87,24 +93,33 @@ public class DefaultEventWebService implements EventWebService {
         .doOnNext(this::logEventRetrieval);
   }
 
+  @Override
+  public Flux<EventDto> getEventsPage(@NonNull Integer afterId, @NonNull Integer pageSize) {
+
+    log.debug("Get events page after id [{}] with size [{}] called", afterId, pageSize);
+
+    return eventRepository.findPageAfterId(afterId, pageSize)
+        .timeout(eventsTimeoutDuration)
+        .retryWhen(defaultRepositoryRetry)
+        .onErrorResume(ex -> handleRepositoryFluxTimeout(ex,
+            "attempting to get page of events after id [%d]".formatted(afterId)))
+        .map(eventMapper::toDto)
+        .doOnNext(this::logEventRetrieval);
+  }
+
   @Override
   public Mono<EventDto> getEvent(@NonNull Integer id) {
 
     log.debug("Get event with id [{}] called", id);
 
-    // TODO: this should NOT update status of event.  Violates REST/GET idempotency principle.
-    //    This scenario is handled by SchedulingService already
-    //    Also, should this need to be transactional???
-
-    return eventRepository.findById(id)
-        .subscribeOn(Schedulers.boundedElastic())
+    // read-only: status transitions are persisted by the schedulers, not by reads
+    return eventCache.findById(id)
         .switchIfEmpty(Mono.error(new EventNotFoundException("Event [%d] not found".formatted(id))))
-        // ensure status is correct before returning to caller
-        .flatMap(this::handlePossibleStatusUpdate) // FIXME: dangerous...mutates event from GET request
         .timeout(eventsTimeoutDuration)
-        .as(transactionalOperator::transactional) // FIXME: may be removed once mutation eliminated
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryMonoTimeout(ex, id, "attempting to get event"))
+        // ensure status is correct before returning to caller
+        .map(this::withEffectiveStatus)
         .map(eventMapper::toDto)
         .doOnNext(this::logEventRetrieval);
   }
@@ -118,10 +133,10 @@ public class DefaultEventWebService implements EventWebService {
         // EventCreateRequest validation ensures future date
         .withEventStatus(EventStatus.AWAITING);
     return eventRepository.save(event)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(eventsTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryMonoTimeout(ex, 0, "attempting to save event"))
+        .doOnNext(eventTransitionScheduler::schedule)
         .map(eventMapper::toDto)
         .doOnNext(dto -> log.debug("Event [{}] has been created", dto));
   }
@@ -133,23 +148,26 @@ public class DefaultEventWebService implements EventWebService {
     log.debug("Update event with id [{}] called [{}]", id, updateRequest);
 
     return eventRepository.findByIdAndFacilitator(id, facilitator)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(eventsTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryMonoTimeout(ex, id, "attempting to find event"))
         .switchIfEmpty(Mono.error(new EventNotFoundException("Event [%d] not found for facilitator [%s]".formatted(id, facilitator))))
         .flatMap(event -> mergeWithUpdateRequest(event, updateRequest))
         .flatMap(updatedEvent -> {
-          var dto = eventMapper.toDto(updatedEvent);
-          var message = createEventChangedMessage(dto);
+          var message = createEventChangedMessage(eventMapper.toDto(updatedEvent));
           return messagePostingService.postEventChangedMessage(message)
-              .subscribeOn(Schedulers.boundedElastic())
               .timeout(eventsTimeoutDuration)
               .retryWhen(defaultKafkaRetry)
-              .onErrorResume(ex -> handlePostingTimeout(ex, dto.getId(), "EVENT_CHANGED"))
-              .then(Mono.just(dto));
+              .onErrorResume(ex -> handlePostingTimeout(ex, updatedEvent.getId(), "EVENT_CHANGED"))
+              .then(Mono.just(updatedEvent));
         })
-        .as(transactionalOperator::transactional);
+        .as(transactionalOperator::transactional)
+        // only once committed: start time or duration may have changed
+        .doOnNext(updatedEvent -> {
+          eventTransitionScheduler.schedule(updatedEvent);
+          eventCache.invalidate(updatedEvent.getId());
+        })
+        .map(eventMapper::toDto);
   }
 
 
@@ -159,7 +177,6 @@ public class DefaultEventWebService implements EventWebService {
     log.debug("Cancel event [{}] called by [{}]", id, facilitator);
 
     return eventRepository.findByIdAndFacilitator(id, facilitator)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(eventsTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .onErrorResume(ex -> handleRepositoryMonoTimeout(ex, id, "attempting to find event"))
@@ -171,16 +188,20 @@ public class DefaultEventWebService implements EventWebService {
                 .formatted(id))))
         .flatMap(this::cancelAndSave)
         .flatMap(updatedEvent -> {
-          var dto = eventMapper.toDto(updatedEvent);
-          var message = createEventCancelledMessage(dto);
+          var message = createEventCancelledMessage(eventMapper.toDto(updatedEvent));
           return messagePostingService.postEventCancelledMessage(message)
-              .subscribeOn(Schedulers.boundedElastic())
               .timeout(eventsTimeoutDuration)
               .retryWhen(defaultKafkaRetry)
-              .onErrorResume(ex -> handlePostingTimeout(ex, dto.getId(), "EVENT_CANCELLED"))
-              .then(Mono.just(dto));
+              .onErrorResume(ex -> handlePostingTimeout(ex, updatedEvent.getId(), "EVENT_CANCELLED"))
+              .then(Mono.just(updatedEvent));
+        })
+        .as(transactionalOperator::transactional)
+        // only once committed, so a rolled-back cancellation keeps its scheduled transitions
+        .doOnNext(cancelledEvent -> {
+          eventTransitionScheduler.cancel(cancelledEvent.getId());
+          eventCache.invalidate(cancelledEvent.getId());
         })
-        .as(transactionalOperator::transactional);
+        .map(eventMapper::toDto);
 
   }
 
@@ -213,7 +234,6 @@ public class DefaultEventWebService implements EventWebService {
     }
     var cancelledEvent = event.toBuilder().eventStatus(EventStatus.CANCELLED).build();
     return eventRepository.save(cancelledEvent)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(eventsTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .doOnNext(
@@ -256,7 +276,6 @@ public class DefaultEventWebService implements EventWebService {
       return Mono.error(exception);
     }
     return eventRepository.save(event)
-        .subscribeOn(Schedulers.boundedElastic())
         .timeout(eventsTimeoutDuration)
         .retryWhen(defaultRepositoryRetry)
         .doOnNext(dto -> log.debug("Event [{}] has been updated in the database", dto.getId()))
@@ -342,13 +361,13 @@ public class DefaultEventWebService implements EventWebService {
   }
 
   /**
-   * When getting individual event, need to ensure that the status properly updated for downstream
-   * processing by calling services
+   * When getting individual event, need to ensure that the status is correct for downstream processing by calling
+   * services, even if the scheduled transition has not been persisted yet. The status is derived in memory only.
    */
-  private Mono<Event> handlePossibleStatusUpdate(Event event){
+  private Event withEffectiveStatus(Event event){
     // only statuses to update are 'IN_PROGRESS' or 'AWAITING'
     if(EventStatus.CANCELLED == event.getEventStatus() || EventStatus.COMPLETED == event.getEventStatus()){
-      return Mono.just(event);
+      return event;
     }
     var now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
     var startTime = event.getEventDateTime().truncatedTo(ChronoUnit.MINUTES);
@@ -363,12 +382,6 @@ public class DefaultEventWebService implements EventWebService {
       derivedStatus = event.getEventStatus();
     }
 
-    if(derivedStatus == event.getEventStatus()){
-      // status is correct, so return as is
-      return Mono.just(event);
-    }else{
-      // status must be updated before returning
-      return eventRepository.save(event.withEventStatus(derivedStatus));
-    }
+    return derivedStatus == event.getEventStatus() ? event : event.withEventStatus(derivedStatus);
   }
 }
@@ -8,6 +8,7 @@ import reactor.core.publisher.Mono;
 
 public interface EventWebService {
   Flux<EventDto> getEvents();
+  Flux<EventDto> getEventsPage(Integer afterId, Integer pageSize);
   Mono<EventDto> getEvent(Integer id);
   Mono<EventDto> createEvent(EventCreateRequest event);
   Mono<EventDto> updateEvent(Integer id, String facilitator, EventUpdateRequest event);
@@ -1,5 +1,6 @@
 package piper1970.eventservice.service;
 
+import java.util.Collection;
 import piper1970.eventservice.common.events.messages.EventCancelled;
 import piper1970.eventservice.common.events.messages.EventChanged;
 import piper1970.eventservice.common.events.messages.EventCompleted;
@@ -9,4 +10,5 @@ public interface MessagePostingService {
   Mono<Void> postEventCancelledMessage(EventCancelled message);
   Mono<Void> postEventChangedMessage(EventChanged message);
   Mono<Void> postEventCompletedMessage(EventCompleted message);
+  Mono<Void> postEventCompletedMessages(Collection<EventCompleted> messages);
 }
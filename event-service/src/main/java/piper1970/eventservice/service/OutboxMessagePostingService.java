@@ -0,0 +1,86 @@
+package piper1970.eventservice.service;
+
+import brave.Tracer;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.specific.SpecificRecord;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import piper1970.eventservice.common.events.messages.EventCancelled;
+import piper1970.eventservice.common.events.messages.EventChanged;
+import piper1970.eventservice.common.events.messages.EventCompleted;
+import piper1970.eventservice.common.kafka.outbox.OutboxCodec;
+import piper1970.eventservice.common.kafka.outbox.OutboxMessage;
+import piper1970.eventservice.common.kafka.outbox.OutboxMessageRepository;
+import piper1970.eventservice.common.kafka.topics.Topics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service for posting kafka messages through the transactional outbox.
+ * <p>
+ * Messages are inserted into the outbox table, joining the caller's transaction if there is one, so they are only
+ * published if the change they announce is committed. Publishing itself is left to OutboxRelay, so callers never wait
+ * on a kafka round trip.
+ * <p>
+ * The following messages are posted by this service:
+ * <ul>
+ *   <li>EventCancelled message => event-cancelled topic</li>
+ *   <li>EventChanged message => event-changed topic</li>
+ *   <li>EventCompleted message => event-completed topic</li>
+ * </ul>
+ */
+@Service
+@Primary
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxMessagePostingService implements MessagePostingService {
+
+  private final OutboxMessageRepository outboxMessageRepository;
+  private final Clock clock;
+  private final Tracer tracer;
+
+  @Override
+  public Mono<Void> postEventCancelledMessage(EventCancelled message) {
+    return Mono.defer(() -> outboxMessageRepository.save(
+        toOutboxMessage(Topics.EVENT_CANCELLED, message.getEventId(), message))).then();
+  }
+
+  @Override
+  public Mono<Void> postEventChangedMessage(EventChanged message) {
+    return Mono.defer(() -> outboxMessageRepository.save(
+        toOutboxMessage(Topics.EVENT_CHANGED, message.getEventId(), message))).then();
+  }
+
+  @Override
+  public Mono<Void> postEventCompletedMessage(EventCompleted message) {
+    return Mono.defer(() -> outboxMessageRepository.save(
+        toOutboxMessage(Topics.EVENT_COMPLETED, message.getEventId(), message))).then();
+  }
+
+  @Override
+  public Mono<Void> postEventCompletedMessages(Collection<EventCompleted> messages) {
+    return Flux.defer(() -> outboxMessageRepository.saveAll(messages.stream()
+            .map(message -> toOutboxMessage(Topics.EVENT_COMPLETED, message.getEventId(), message))
+            .toList()))
+        .then();
+  }
+
+  private OutboxMessage toOutboxMessage(String topic, Integer key, SpecificRecord message) {
+    log.debug("Queueing message [{}] for topic [{}] in outbox", key, topic);
+    // capture trace ids now, as the current span has ended by the time the message is relayed
+    var currentSpan = tracer.currentSpan();
+    return OutboxMessage.builder()
+        .topic(topic)
+        .messageKey(key)
+        .messageType(message.getClass().getName())
+        .payload(OutboxCodec.encode(message))
+        .traceId(currentSpan != null ? currentSpan.context().traceIdString() : null)
+        .spanId(currentSpan != null ? currentSpan.context().spanIdString() : null)
+        .createdAt(LocalDateTime.now(clock))
+        .build();
+  }
+}
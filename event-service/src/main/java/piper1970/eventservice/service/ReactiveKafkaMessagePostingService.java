@@ -1,10 +1,9 @@
 package piper1970.eventservice.service;
 
-import static piper1970.eventservice.common.kafka.KafkaHelper.createSenderMono;
 import static piper1970.eventservice.common.kafka.reactive.TracingHelper.extractMDCIntoHeaders;
 
 import brave.Tracer;
-import java.time.Clock;
+import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,10 +11,10 @@ import piper1970.eventservice.common.events.messages.EventCancelled;
 import piper1970.eventservice.common.events.messages.EventChanged;
 import piper1970.eventservice.common.events.messages.EventCompleted;
 import piper1970.eventservice.common.kafka.KafkaHelper;
+import piper1970.eventservice.common.kafka.reactive.PipelinedKafkaPublisher;
 import piper1970.eventservice.common.kafka.topics.Topics;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import reactor.kafka.sender.KafkaSender;
 
 /**
  * Service for posting kafka messages reactively to given topics.
@@ -32,26 +31,17 @@ import reactor.kafka.sender.KafkaSender;
 @Slf4j
 public class ReactiveKafkaMessagePostingService implements MessagePostingService {
 
-  private final KafkaSender<Integer, Object> kafkaSender;
+  private final PipelinedKafkaPublisher kafkaPublisher;
   private final Tracer tracer;
-  private final Clock clock;
   private static final String SERVICE_NAME = "event-service";
 
-  // TODO: Mono.deferContextual even working? context not being used inside try block
-  //   This was added because zipkin tracing was not capturing the traceId/spanId values
-  //   from kafka posts. Currently, traceId is captured, but spanId isn't.
-  //   does `spring.reactor.context-propagation=auto` property invalidate the need for this?
-
   @Override
   public Mono<Void> postEventCancelledMessage(EventCancelled message) {
-    return Mono.deferContextual(context -> {
+    return Mono.defer(() -> {
       try {
         var eventId = message.getEventId();
         log.info("Posting EVENT_CANCELLED message [{}]", eventId);
-        return kafkaSender.send(
-                createSenderMono(Topics.EVENT_CANCELLED, eventId, message, clock, extractMDCIntoHeaders(tracer)))
-            .subscribeOn(Schedulers.boundedElastic())
-            .single()
+        return kafkaPublisher.publish(Topics.EVENT_CANCELLED, eventId, message, extractMDCIntoHeaders(tracer))
             .doOnNext(KafkaHelper.postReactiveOnNextConsumer(SERVICE_NAME, log))
             .doOnError(throwable -> log.error("Error sending EVENT_CANCELLED message: {}",
                 throwable.getMessage(), throwable))
@@ -67,14 +57,11 @@ public class ReactiveKafkaMessagePostingService implements MessagePostingService
 
   @Override
   public Mono<Void> postEventChangedMessage(EventChanged message) {
-    return Mono.deferContextual(context -> {
+    return Mono.defer(() -> {
       try {
         var eventId = message.getEventId();
         log.debug("Posting EVENT_CHANGED message [{}]", eventId);
-        return kafkaSender.send(
-                createSenderMono(Topics.EVENT_CHANGED, eventId, message, clock, extractMDCIntoHeaders(tracer)))
-            .subscribeOn(Schedulers.boundedElastic())
-            .single()
+        return kafkaPublisher.publish(Topics.EVENT_CHANGED, eventId, message, extractMDCIntoHeaders(tracer))
             .doOnNext(KafkaHelper.postReactiveOnNextConsumer(SERVICE_NAME, log))
             .doOnError(throwable -> log.error("Error sending EVENT_CHANGED message: {}",
                 throwable.getMessage(), throwable))
@@ -89,14 +76,11 @@ public class ReactiveKafkaMessagePostingService implements MessagePostingService
 
   @Override
   public Mono<Void> postEventCompletedMessage(EventCompleted message) {
-    return Mono.deferContextual(context -> {
+    return Mono.defer(() -> {
       try {
         var eventId = message.getEventId();
         log.debug("Posting EVENT_COMPLETED message [{}]", eventId);
-        return kafkaSender.send(
-                createSenderMono(Topics.EVENT_COMPLETED, eventId, message, clock, extractMDCIntoHeaders(tracer)))
-            .subscribeOn(Schedulers.boundedElastic())
-            .single()
+        return kafkaPublisher.publish(Topics.EVENT_COMPLETED, eventId, message, extractMDCIntoHeaders(tracer))
             .doOnNext(KafkaHelper.postReactiveOnNextConsumer(SERVICE_NAME, log))
             .doOnError(throwable -> log.error("Error sending EVENT_COMPLETED message: {}",
                 throwable.getMessage(), throwable))
@@ -108,6 +92,25 @@ public class ReactiveKafkaMessagePostingService implements MessagePostingService
       }
     });
   }
-}
-
 
+  @Override
+  public Mono<Void> postEventCompletedMessages(Collection<EventCompleted> messages) {
+    return Mono.defer(() -> {
+      try {
+        log.debug("Posting [{}] EVENT_COMPLETED messages", messages.size());
+        var headers = extractMDCIntoHeaders(tracer);
+        // all records are queued at once, so the producer batches them together
+        return Flux.fromIterable(messages)
+            .flatMap(message -> kafkaPublisher.publish(Topics.EVENT_COMPLETED, message.getEventId(), message, headers))
+            .doOnNext(KafkaHelper.postReactiveOnNextConsumer(SERVICE_NAME, log))
+            .doOnError(throwable -> log.error("Error sending EVENT_COMPLETED messages: {}",
+                throwable.getMessage(), throwable))
+            .then();
+      } catch (Exception e) {
+        log.error("Unknown error occurred while posting EventCompleted messages to kafka: {}",
+            e.getMessage(), e);
+        return Mono.error(e);
+      }
+    });
+  }
+}
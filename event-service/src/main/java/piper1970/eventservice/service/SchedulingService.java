@@ -4,23 +4,25 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.reactive.TransactionalOperator;
 import piper1970.eventservice.common.events.messages.EventCompleted;
 import piper1970.eventservice.common.events.status.EventStatus;
-import piper1970.eventservice.domain.Event;
 import piper1970.eventservice.repository.EventRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 /**
- * Service for handling periodic cleanup updates to event status's
+ * Service for handling periodic cleanup updates to event status's.
+ * Transitions are normally fired on time by EventTransitionScheduler, so these sweeps only catch events it missed,
+ * such as those created on another node that has since gone down.
  */
 @Service
 @Slf4j
@@ -52,30 +54,14 @@ public class SchedulingService {
   initialDelayString = "${scheduler.completed-events.initial.delay.millis:60000}")
   @SchedulerLock(name="checkForCompletedEvents", lockAtLeastFor = "${shedlock.lockAtLeastFor.default:PT5M}")
   public void checkForCompletedEvents(){
-    // 1. Find all events with status either AWAITING or IN_PROGRESS
-    // 2. Extract all events that have completed
-    // 3. Save all completed events to repo
-    // 4. Send out EVENT_COMPLETED kafka message
+    // 1. Find (and lock) ids of all AWAITING or IN_PROGRESS events that have completed
+    // 2. Update all of them to COMPLETED in a single statement
+    // 3. Send out EVENT_COMPLETED kafka messages in a single batch
 
     log.info("Checking for completed events");
 
     try{
-      eventRepository.findByEventStatusIn(List.of(EventStatus.AWAITING, EventStatus.IN_PROGRESS))
-          .subscribeOn(Schedulers.boundedElastic())
-          .filter(this::isCompleted)
-          .flatMap(event ->
-              eventRepository.save(event.withEventStatus(EventStatus.COMPLETED))
-                  .subscribeOn(Schedulers.boundedElastic())
-          )
-          // add transaction behavior for optimistic locking via version field
-          .as(transactionalOperator::transactional)
-          // allow for retries in case of optimistic lock failures between fetching and saving
-          .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(500L))
-              .filter(throwable -> throwable instanceof OptimisticLockingFailureException)
-              .jitter(0.7D))
-          .flatMap(this::postCompletedEventToKakfa)
-          .count()
-          .doOnNext(count -> log.info("{} completed events have been processed", count))
+      completeDueEvents()
           // IMPORTANT: make sure blocked duration is less thant shedlock lockAtLeastFor duration
           .block(Duration.ofMinutes(4));
 
@@ -93,27 +79,13 @@ public class SchedulingService {
       initialDelayString = "${scheduler.started-events.initial.delay.millis:60000}")
   @SchedulerLock(name="checkForAwaitingEventsThatHaveStarted", lockAtLeastFor = "${shedlock.lockAtLeastFor.default:PT5M}")
   public void checkForAwaitingEventsThatHaveStarted(){
-    // 1. Find all events in the AWAITING status
-    // 2. Extract all events based on whether they have started (but not completed)
-    // 3. Save events with status updated to IN_PROGRESS
+    // 1. Find (and lock) ids of all AWAITING events that have started (but not completed)
+    // 2. Update all of them to IN_PROGRESS in a single statement
 
     log.info("Checking for awaiting events that have started");
 
     try{
-      eventRepository.findByEventStatusIn(List.of(EventStatus.AWAITING))
-          .subscribeOn(Schedulers.boundedElastic())
-          .filter(this::isInProgress)
-          .flatMap(event -> eventRepository.save(event.withEventStatus(EventStatus.IN_PROGRESS))
-              .subscribeOn(Schedulers.boundedElastic())
-          )
-          // add transaction behavior for optimistic locking via version field
-          .as(transactionalOperator::transactional)
-          // allow for retries in case of optimistic lock failures between fetching and saving
-          .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(500L))
-              .filter(throwable -> throwable instanceof OptimisticLockingFailureException)
-              .jitter(0.7D))
-          .count()
-          .doOnNext(count -> log.info("{} events have been updated to IN_PROGRESS", count))
+      startDueEvents()
           // IMPORTANT: make sure blocked duration is less thant shedlock lockAtLeastFor duration
           .block(Duration.ofMinutes(4));
     }catch(RuntimeException e){
@@ -121,33 +93,64 @@ public class SchedulingService {
     }
   }
 
-  private Mono<Integer> postCompletedEventToKakfa(Event event){
-    EventCompleted message = new EventCompleted();
-    message.setEventId(event.getId());
-    return messagePostingService.postEventCompletedMessage(message)
-        .subscribeOn(Schedulers.boundedElastic())
-        // send back single value so count() can be properly used downstream
-        .then(Mono.just(1));
+  /**
+   * Moves all AWAITING or IN_PROGRESS events that have ended to COMPLETED, and posts EVENT_COMPLETED messages for them.
+   * Safe to run concurrently from several nodes, as due events are locked before being updated.
+   *
+   * @return Mono of number of completed events
+   */
+  public Mono<Integer> completeDueEvents(){
+    return updateEventStatus(eventRepository.findCompletedEventIdsForUpdate(LocalDateTime.now(clock)),
+        EventStatus.COMPLETED, this::postCompletedEventsToKafka)
+        .map(List::size)
+        .defaultIfEmpty(0)
+        .doOnNext(count -> log.info("{} completed events have been processed", count));
   }
 
   /**
-   * Determines whether event is in progress, based on current time, event-start-time and duration
+   * Moves all AWAITING events that have started, but not yet ended, to IN_PROGRESS.
+   * Safe to run concurrently from several nodes, as due events are locked before being updated.
+   *
+   * @return Mono of number of started events
    */
-  private boolean isInProgress(Event event){
-    var now = LocalDateTime.now(clock);
-    var startTime = event.getEventDateTime();
-    var endTime = startTime.plusMinutes(event.getDurationInMinutes());
-    return now.isAfter(startTime) && now.isBefore(endTime);
+  public Mono<Integer> startDueEvents(){
+    return updateEventStatus(eventRepository.findStartedEventIdsForUpdate(LocalDateTime.now(clock)),
+        EventStatus.IN_PROGRESS, ids -> Mono.empty())
+        .map(List::size)
+        .defaultIfEmpty(0)
+        .doOnNext(count -> log.info("{} events have been updated to IN_PROGRESS", count));
   }
 
   /**
-   * Determines whether event has completed, based on current time, event-start-time and duration
+   * Moves all events with the locked ids to the new status in one set-based update, within a single transaction.
+   * Messages queued by afterUpdate join the same transaction, so they are only published if the update commits.
+   *
+   * @return Mono of updated event ids, or empty if none were found
    */
-  private boolean isCompleted(Event event){
-    var now = LocalDateTime.now(clock);
-    var startTime = event.getEventDateTime();
-    var endTime = startTime.plusMinutes(event.getDurationInMinutes());
-    return now.isAfter(endTime);
+  private Mono<List<Integer>> updateEventStatus(Flux<Integer> lockedEventIds, EventStatus newStatus,
+      Function<List<Integer>, Mono<Void>> afterUpdate){
+    return lockedEventIds
+        .collectList()
+        .filter(ids -> !ids.isEmpty())
+        .flatMap(ids -> eventRepository.updateEventStatusByIdIn(ids, newStatus)
+            .then(afterUpdate.apply(ids))
+            .thenReturn(ids))
+        // lock and update share a transaction, so no other writer can change the rows in between
+        .as(transactionalOperator::transactional)
+        // allow for retries in case of lock failures with concurrent writers
+        .retryWhen(Retry.backoff(maxRetries, Duration.ofMillis(500L))
+            .filter(throwable -> throwable instanceof ConcurrencyFailureException)
+            .jitter(0.7D));
   }
 
+  private Mono<Void> postCompletedEventsToKafka(List<Integer> eventIds){
+    var messages = eventIds.stream()
+        .map(eventId -> {
+          EventCompleted message = new EventCompleted();
+          message.setEventId(eventId);
+          return message;
+        })
+        .toList();
+    return messagePostingService.postEventCompletedMessages(messages);
+  }
 }
@@ -0,0 +1,14 @@
+-- End time of event, derived from existing columns so every write path keeps it in sync
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS ends_at timestamp
+        GENERATED ALWAYS AS (event_date_time + duration_in_minutes * INTERVAL '1 minute') STORED;
+
+-- Supports scheduled completion sweep, which only ever looks at events not yet completed or cancelled
+CREATE INDEX IF NOT EXISTS idx_events_active_ends_at
+    ON events (ends_at)
+    WHERE event_status IN ('AWAITING', 'IN_PROGRESS');
+
+-- Supports scheduled start sweep, which only ever looks at events not yet started
+CREATE INDEX IF NOT EXISTS idx_events_awaiting_event_date_time
+    ON events (event_date_time)
+    WHERE event_status = 'AWAITING';
@@ -0,0 +1,13 @@
+-- Transactional outbox: kafka messages are written in the same transaction as the change they announce, then relayed
+-- to kafka in batches by OutboxRelay, in id order
+CREATE TABLE IF NOT EXISTS outbox_messages
+(
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    topic             varchar(255) NOT NULL,
+    message_key       integer,
+    message_type      varchar(255) NOT NULL,
+    payload           bytea        NOT NULL,
+    trace_id          varchar(32),
+    span_id           varchar(16),
+    created_at        timestamp    NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Count of seat-only updates, bumped alongside version by the atomic booking updates, so version - seat_updates only
+-- moves when anything other than the seat count changes. EventCache validates cached rows against that difference.
+ALTER TABLE events
+    ADD COLUMN IF NOT EXISTS seat_updates integer NOT NULL DEFAULT 0;
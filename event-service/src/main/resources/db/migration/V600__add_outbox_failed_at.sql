@@ -0,0 +1,4 @@
+-- Outbox messages that can no longer be decoded are set aside for manual intervention, rather than deleted or left to
+-- block the relay
+ALTER TABLE outbox_messages
+    ADD COLUMN IF NOT EXISTS failed_at timestamp;
@@ -0,0 +1,10 @@
+-- Bookings whose confirmation or cancellation has been applied to their event's seat count. Rows are written in the
+-- same transaction as the seat update, so a retried or redelivered message never moves the seat count twice
+CREATE TABLE IF NOT EXISTS applied_seat_updates
+(
+    booking_id        integer     NOT NULL,
+    update_type       varchar(20) NOT NULL,
+    event_id          integer     NOT NULL,
+    applied_at        timestamp   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (booking_id, update_type)
+);
@@ -244,6 +244,42 @@ public class EventControllerTestsIT {
 
   }
 
+  @Test
+  @DisplayName("authorized members should get 304 when event is unchanged since given ETag")
+  void getEventById_NotModified() throws JOSEException {
+
+    var db = initializeDatabase()
+        .block();
+
+    var eventId = Objects.requireNonNull(db, dbInitializationFailure).getFirst().getId();
+
+    var token = getJwtToken("test_member", "MEMBER");
+
+    var eTag = webClient.get()
+        .uri("/api/events/{eventId}", eventId)
+        .accept(MediaType.APPLICATION_JSON)
+        .headers(headers -> headers.setBearerAuth(token))
+        .exchange()
+        .expectStatus()
+        .isOk()
+        .returnResult(EventDto.class)
+        .getResponseHeaders()
+        .getETag();
+
+    assertNotNull(eTag);
+
+    webClient.get()
+        .uri("/api/events/{eventId}", eventId)
+        .accept(MediaType.APPLICATION_JSON)
+        .headers(headers -> {
+          headers.setBearerAuth(token);
+          headers.setIfNoneMatch(eTag);
+        })
+        .exchange()
+        .expectStatus()
+        .isNotModified();
+  }
+
   @Test
   @DisplayName("non-authenticated user should not be able to access individual events")
   void getEventById_NonAuthenticated() {
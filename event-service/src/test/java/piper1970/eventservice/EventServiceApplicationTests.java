@@ -37,6 +37,7 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import piper1970.eventservice.common.bookings.messages.BookingCancelled;
 import piper1970.eventservice.common.bookings.messages.types.BookingId;
 import piper1970.eventservice.common.events.messages.BookingEventUnavailable;
@@ -107,12 +108,21 @@ public class EventServiceApplicationTests {
   @Autowired
   private DeadLetterTopicProducer dltProducer;
 
+  @Autowired
+  private TransactionalOperator transactionalOperator;
+
   @Autowired
   private Clock clock;
 
   @Value("${event-repository.timout.milliseconds}")
   private Integer timeoutInMilliseconds;
 
+  @Value("${booking-cancelled.batch.max.size:100}")
+  private Integer batchMaxSize;
+
+  @Value("${booking-cancelled.batch.window.millis:500}")
+  private Integer batchWindowInMilliseconds;
+
   private final List<DiscoverableListener> discoverableListeners = new ArrayList<>();
 
   //endregion Properties Used
@@ -123,10 +133,11 @@ public class EventServiceApplicationTests {
   void setupListeners() {
     // setup all kafka listeners
     discoverableListeners.add(new BookingCancelledListener(receiverFactory,
-        eventRepository, dltProducer, timeoutInMilliseconds, defaultRepositoryRetry));
+        eventRepository, transactionalOperator, dltProducer, timeoutInMilliseconds, defaultRepositoryRetry,
+        batchMaxSize, batchWindowInMilliseconds));
     discoverableListeners.add(
         new BookingConfirmedListener(receiverFactory, eventRepository,
-            kafkaSender, tracer, dltProducer, timeoutInMilliseconds, defaultRepositoryRetry,
+            kafkaSender, transactionalOperator, tracer, dltProducer, timeoutInMilliseconds, defaultRepositoryRetry,
             defaultKafkaRetry, clock));
 
     // initialize call listeners
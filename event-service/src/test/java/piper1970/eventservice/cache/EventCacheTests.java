@@ -0,0 +1,212 @@
+package piper1970.eventservice.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import piper1970.eventservice.common.events.status.EventStatus;
+import piper1970.eventservice.domain.Event;
+import piper1970.eventservice.repository.EventRepository;
+import piper1970.eventservice.repository.EventVersion;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@DataR2dbcTest
+@DisplayName("Event Cache")
+class EventCacheTests {
+
+  @Autowired
+  private EventRepository eventRepository;
+
+  @Autowired
+  DatabaseClient databaseClient;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private EventCache eventCache;
+
+  @BeforeEach
+  void setUp() {
+    var statements = List.of(
+        "DROP TABLE IF EXISTS event_service.events;",
+        "DROP TABLE IF EXISTS event_service.outbox_messages;",
+        "DROP TABLE IF EXISTS event_service.applied_seat_updates;",
+        "DROP SCHEMA IF EXISTS event_service;",
+        "CREATE SCHEMA event_service;",
+        """
+              CREATE TABLE IF NOT EXISTS event_service.events
+              (
+                id                  int GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                version             integer,
+                facilitator         varchar(60)  NOT NULL,
+                title               varchar(255) NOT NULL,
+                description         varchar(255),
+                location            varchar(255) NOT NULL,
+                event_date_time     timestamp    NOT NULL,
+                duration_in_minutes int          NOT NULL,
+                available_bookings  smallint     NOT NULL,
+                event_status        varchar(30)  NOT NULL,
+                seat_updates        integer      NOT NULL DEFAULT 0,
+                ends_at             timestamp GENERATED ALWAYS AS (DATEADD(MINUTE, duration_in_minutes, event_date_time))
+              );
+            """);
+
+    // Drop and recreate events table
+    statements.forEach(stmt -> databaseClient.sql(stmt)
+        .fetch()
+        .rowsUpdated()
+        .as(StepVerifier::create)
+        .expectNextCount(1)
+        .verifyComplete());
+
+    meterRegistry = new SimpleMeterRegistry();
+    eventCache = new EventCache(eventRepository, meterRegistry, 100L, 60_000L);
+  }
+
+  @Test
+  @DisplayName("should serve repeated lookups from the cache")
+  void findById_cachesEvent() {
+    insertEvent();
+
+    eventCache.findById(1)
+        .map(Event::getTitle)
+        .as(StepVerifier::create)
+        .expectNext("test-title")
+        .verifyComplete();
+
+    eventCache.findById(1)
+        .map(Event::getTitle)
+        .as(StepVerifier::create)
+        .expectNext("test-title")
+        .verifyComplete();
+
+    var hits = meterRegistry.find("cache.gets").tag("cache", "events").tag("result", "hit").functionCounter();
+    assertNotNull(hits);
+    assertEquals(1.0, hits.count());
+  }
+
+  @Test
+  @DisplayName("should return current seat count and version from the cached row after an atomic seat update")
+  void findById_overlaysSeatCount() {
+    insertEvent();
+
+    eventCache.findById(1)
+        .map(Event::getAvailableBookings)
+        .as(StepVerifier::create)
+        .expectNext(2)
+        .verifyComplete();
+
+    // not invalidated, as if updated from another node
+    eventRepository.decrementAvailableBookings(1)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventCache.findById(1)
+        .as(StepVerifier::create)
+        .assertNext(event -> {
+          assertEquals(1, event.getAvailableBookings());
+          assertEquals(1, event.getVersion());
+        })
+        .verifyComplete();
+
+    assertEquals(1.0, cacheGets("hit"));
+    assertEquals(1.0, cacheGets("miss"));
+  }
+
+  @Test
+  @DisplayName("should reload the row after a write other than a seat update")
+  void findById_revalidatesAgainstDetailsVersion() {
+    insertEvent();
+
+    eventCache.findById(1)
+        .map(Event::getEventStatus)
+        .as(StepVerifier::create)
+        .expectNext(EventStatus.AWAITING)
+        .verifyComplete();
+
+    // not invalidated, as if updated from another node
+    eventRepository.updateEventStatusByIdIn(List.of(1), EventStatus.IN_PROGRESS)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventCache.findById(1)
+        .map(Event::getEventStatus)
+        .as(StepVerifier::create)
+        .expectNext(EventStatus.IN_PROGRESS)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should complete a shared load for other callers after one caller cancels")
+  void findById_cancelledCallerKeepsSharedLoad() {
+    var loads = new AtomicInteger();
+    var repository = mock(EventRepository.class);
+    when(repository.findVersionById(1)).thenReturn(Mono.just(new EventVersion(0, 0, 2)));
+    when(repository.findById(1)).thenReturn(Mono.defer(() -> {
+      loads.incrementAndGet();
+      return Mono.delay(Duration.ofMillis(200))
+          .thenReturn(Event.builder().id(1).title("test-title").build());
+    }));
+    var sharedCache = new EventCache(repository, meterRegistry, 100L, 60_000L);
+
+    // joins the load, then gives up on it
+    sharedCache.findById(1)
+        .as(StepVerifier::create)
+        .thenAwait(Duration.ofMillis(50))
+        .thenCancel()
+        .verify();
+
+    sharedCache.findById(1)
+        .map(Event::getTitle)
+        .as(StepVerifier::create)
+        .expectNext("test-title")
+        .verifyComplete();
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("should return empty for events not in the repository")
+  void findById_notFound() {
+    eventCache.findById(1)
+        .as(StepVerifier::create)
+        .verifyComplete();
+  }
+
+  private double cacheGets(String result) {
+    var gets = meterRegistry.find("cache.gets").tag("cache", "events").tag("result", result).functionCounter();
+    assertNotNull(gets);
+    return gets.count();
+  }
+
+  private void insertEvent() {
+    var event = Event.builder()
+        .facilitator("test-facilitator")
+        .eventDateTime(LocalDateTime.now().plusDays(1))
+        .availableBookings(2)
+        .eventStatus(EventStatus.AWAITING)
+        .description("test-description")
+        .durationInMinutes(60)
+        .location("test-location")
+        .title("test-title")
+        .build();
+    eventRepository.save(event)
+        .as(StepVerifier::create)
+        .expectNextCount(1)
+        .verifyComplete();
+  }
+}
@@ -2,6 +2,7 @@ package piper1970.eventservice.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.ClassOrderer.OrderAnnotation;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestClassOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.r2dbc.core.DatabaseClient;
 import piper1970.eventservice.common.events.status.EventStatus;
 import piper1970.eventservice.domain.Event;
@@ -31,6 +33,8 @@ class EventRepositoryTests {
   void setUp() {
     var statements = List.of(
         "DROP TABLE IF EXISTS event_service.events;",
+        "DROP TABLE IF EXISTS event_service.outbox_messages;",
+        "DROP TABLE IF EXISTS event_service.applied_seat_updates;",
         "DROP SCHEMA IF EXISTS event_service;",
         "CREATE SCHEMA event_service;",
         """
@@ -45,7 +49,19 @@ class EventRepositoryTests {
                 event_date_time     timestamp    NOT NULL,
                 duration_in_minutes int          NOT NULL,
                 available_bookings  smallint     NOT NULL,
-                event_status        varchar(30)  NOT NULL
+                event_status        varchar(30)  NOT NULL,
+                seat_updates        integer      NOT NULL DEFAULT 0,
+                ends_at             timestamp GENERATED ALWAYS AS (DATEADD(MINUTE, duration_in_minutes, event_date_time))
+              );
+            """,
+        """
+              CREATE TABLE IF NOT EXISTS event_service.applied_seat_updates
+              (
+                booking_id          integer      NOT NULL,
+                update_type         varchar(20)  NOT NULL,
+                event_id            integer      NOT NULL,
+                applied_at          timestamp    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                PRIMARY KEY (booking_id, update_type)
               );
             """);
 
@@ -153,6 +169,188 @@ class EventRepositoryTests {
         .verifyComplete();
   }
 
+  @Test
+  @DisplayName("should be able to find page of events after given id")
+  void findPageAfterId() {
+    var events = IntStream.rangeClosed(1, 4)
+        .mapToObj(idx -> Event.builder()
+            .facilitator("test-facilitator-" + idx)
+            .eventDateTime(LocalDateTime.now())
+            .availableBookings(2)
+            .eventStatus(EventStatus.AWAITING)
+            .description("test-description-" + idx)
+            .durationInMinutes(60)
+            .location("test-location-" + idx)
+            .title("test-title-" + idx)
+            .build())
+        .toArray(Event[]::new);
+    insertEvents(events);
+
+    eventRepository.findPageAfterId(1, 2)
+        .map(Event::getId)
+        .as(StepVerifier::create)
+        .expectNext(2, 3)
+        .verifyComplete();
+
+    eventRepository.findPageAfterId(3, 2)
+        .map(Event::getId)
+        .as(StepVerifier::create)
+        .expectNext(4)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should find only due events, and move them to new status in one update")
+  void findDueEventIdsAndUpdateEventStatus() {
+    var now = LocalDateTime.now();
+    var completed = Event.builder()
+        .facilitator("test-facilitator-1")
+        .eventDateTime(now.minusMinutes(90))
+        .availableBookings(2)
+        .eventStatus(EventStatus.IN_PROGRESS)
+        .description("test-description-1")
+        .durationInMinutes(60)
+        .location("test-location-1")
+        .title("test-title-1")
+        .build();
+    var started = Event.builder()
+        .facilitator("test-facilitator-2")
+        .eventDateTime(now.minusMinutes(30))
+        .availableBookings(2)
+        .eventStatus(EventStatus.AWAITING)
+        .description("test-description-2")
+        .durationInMinutes(60)
+        .location("test-location-2")
+        .title("test-title-2")
+        .build();
+    var future = Event.builder()
+        .facilitator("test-facilitator-3")
+        .eventDateTime(now.plusDays(1))
+        .availableBookings(2)
+        .eventStatus(EventStatus.AWAITING)
+        .description("test-description-3")
+        .durationInMinutes(60)
+        .location("test-location-3")
+        .title("test-title-3")
+        .build();
+    var cancelled = Event.builder()
+        .facilitator("test-facilitator-4")
+        .eventDateTime(now.minusMinutes(90))
+        .availableBookings(2)
+        .eventStatus(EventStatus.CANCELLED)
+        .description("test-description-4")
+        .durationInMinutes(60)
+        .location("test-location-4")
+        .title("test-title-4")
+        .build();
+    insertEvents(completed, started, future, cancelled);
+
+    eventRepository.findCompletedEventIdsForUpdate(now)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventRepository.findStartedEventIdsForUpdate(now)
+        .as(StepVerifier::create)
+        .expectNext(2)
+        .verifyComplete();
+
+    eventRepository.updateEventStatusByIdIn(List.of(1), EventStatus.COMPLETED)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventRepository.findById(1)
+        .as(StepVerifier::create)
+        .expectNextMatches(evt -> evt.getEventStatus() == EventStatus.COMPLETED && evt.getVersion() == 1)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should only decrement available bookings while bookings remain")
+  void decrementAvailableBookings() {
+    var event = Event.builder()
+        .facilitator("test-facilitator")
+        .eventDateTime(LocalDateTime.now())
+        .availableBookings(1)
+        .eventStatus(EventStatus.AWAITING)
+        .description("test-description")
+        .durationInMinutes(60)
+        .location("test-location")
+        .title("test-title")
+        .build();
+    insertEvents(event);
+
+    eventRepository.decrementAvailableBookings(1)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventRepository.decrementAvailableBookings(1)
+        .as(StepVerifier::create)
+        .expectNext(0)
+        .verifyComplete();
+
+    eventRepository.findById(1)
+        .as(StepVerifier::create)
+        .expectNextMatches(evt -> evt.getAvailableBookings() == 0 && evt.getVersion() == 1)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should increment available bookings by the given count")
+  void incrementAvailableBookings() {
+    var event = Event.builder()
+        .facilitator("test-facilitator")
+        .eventDateTime(LocalDateTime.now())
+        .availableBookings(1)
+        .eventStatus(EventStatus.AWAITING)
+        .description("test-description")
+        .durationInMinutes(60)
+        .location("test-location")
+        .title("test-title")
+        .build();
+    insertEvents(event);
+
+    eventRepository.incrementAvailableBookings(1, 5)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventRepository.incrementAvailableBookings(2, 5)
+        .as(StepVerifier::create)
+        .expectNext(0)
+        .verifyComplete();
+
+    eventRepository.findById(1)
+        .as(StepVerifier::create)
+        .expectNextMatches(evt -> evt.getAvailableBookings() == 6 && evt.getVersion() == 1)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("should find only the bookings with the given seat update already applied")
+  void findAppliedBookingIds() {
+    eventRepository.saveAppliedSeatUpdate(1, SeatUpdateType.CONFIRMED, 1)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+    eventRepository.saveAppliedSeatUpdate(2, SeatUpdateType.CANCELLED, 1)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventRepository.findAppliedBookingIds(List.of(1, 2, 3), SeatUpdateType.CONFIRMED)
+        .as(StepVerifier::create)
+        .expectNext(1)
+        .verifyComplete();
+
+    eventRepository.saveAppliedSeatUpdate(1, SeatUpdateType.CONFIRMED, 1)
+        .as(StepVerifier::create)
+        .expectError(DataIntegrityViolationException.class)
+        .verify();
+  }
+
   /**
    * Helper method to initialize repo with given events.
    *
@@ -0,0 +1,127 @@
+package piper1970.eventservice.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import piper1970.eventservice.common.events.status.EventStatus;
+import piper1970.eventservice.domain.Event;
+import piper1970.eventservice.repository.EventRepository;
+import piper1970.eventservice.service.SchedulingService;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Event Transition Scheduler")
+class EventTransitionSchedulerTests {
+
+  private EventTransitionScheduler eventTransitionScheduler;
+
+  @Mock
+  private EventRepository eventRepository;
+  @Mock
+  private SchedulingService schedulingService;
+  @Mock
+  private LockProvider lockProvider;
+  @Mock
+  private SimpleLock simpleLock;
+
+  private final Clock clock = Clock.fixed(Instant.parse("2025-06-01T12:00:00Z"), ZoneId.of("UTC"));
+
+  @BeforeEach
+  void setUp() {
+    eventTransitionScheduler = new EventTransitionScheduler(eventRepository, schedulingService, lockProvider, clock,
+        1000L, 64, Duration.ofMinutes(1));
+  }
+
+  @Test
+  @DisplayName("should start due events under lock, then schedule their completion")
+  void fireDueTransitions_startsDueEvents() {
+    when(lockProvider.lock(any())).thenReturn(Optional.of(simpleLock));
+    when(schedulingService.startDueEvents()).thenReturn(Mono.just(1));
+
+    eventTransitionScheduler.schedule(createEvent(EventStatus.AWAITING, LocalDateTime.now(clock).minusMinutes(5)));
+
+    eventTransitionScheduler.fireDueTransitions()
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    verify(schedulingService, never()).completeDueEvents();
+    verify(simpleLock).unlock();
+    // completion is now scheduled in its place
+    assertEquals(1, eventTransitionScheduler.scheduledTransitions());
+  }
+
+  @Test
+  @DisplayName("should complete due events under lock")
+  void fireDueTransitions_completesDueEvents() {
+    when(lockProvider.lock(any())).thenReturn(Optional.of(simpleLock));
+    when(schedulingService.completeDueEvents()).thenReturn(Mono.just(1));
+
+    eventTransitionScheduler.schedule(createEvent(EventStatus.IN_PROGRESS, LocalDateTime.now(clock).minusMinutes(90)));
+
+    eventTransitionScheduler.fireDueTransitions()
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    verify(schedulingService, never()).startDueEvents();
+    verify(simpleLock).unlock();
+    assertEquals(0, eventTransitionScheduler.scheduledTransitions());
+  }
+
+  @Test
+  @DisplayName("should keep due transitions for the next tick when another node holds the lock")
+  void fireDueTransitions_lockHeldElsewhere() {
+    when(lockProvider.lock(any())).thenReturn(Optional.empty());
+
+    eventTransitionScheduler.schedule(createEvent(EventStatus.IN_PROGRESS, LocalDateTime.now(clock).minusMinutes(90)));
+
+    eventTransitionScheduler.fireDueTransitions()
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    verify(schedulingService, never()).completeDueEvents();
+    assertEquals(1, eventTransitionScheduler.scheduledTransitions());
+  }
+
+  @Test
+  @DisplayName("should drop scheduled transition once event is cancelled")
+  void schedule_cancelledEvent() {
+    var event = createEvent(EventStatus.AWAITING, LocalDateTime.now(clock).plusDays(1));
+    eventTransitionScheduler.schedule(event);
+    assertEquals(1, eventTransitionScheduler.scheduledTransitions());
+
+    eventTransitionScheduler.schedule(event.withEventStatus(EventStatus.CANCELLED));
+    assertEquals(0, eventTransitionScheduler.scheduledTransitions());
+  }
+
+  private Event createEvent(EventStatus eventStatus, LocalDateTime eventDateTime) {
+    return Event.builder()
+        .id(1)
+        .facilitator("facilitator")
+        .title("title")
+        .description("description")
+        .location("location")
+        .availableBookings(10)
+        .eventStatus(eventStatus)
+        .durationInMinutes(60)
+        .eventDateTime(eventDateTime)
+        .build();
+  }
+}
@@ -0,0 +1,88 @@
+package piper1970.eventservice.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Hierarchical Timing Wheel")
+class HierarchicalTimingWheelTests {
+
+  private static final long TICK = 1000L;
+  private static final int WHEEL_SIZE = 8;
+  private static final long START = 1_000_000L;
+
+  private HierarchicalTimingWheel<Integer, String> timingWheel;
+
+  @BeforeEach
+  void setUp() {
+    timingWheel = new HierarchicalTimingWheel<>(TICK, WHEEL_SIZE, START);
+  }
+
+  @Test
+  @DisplayName("should fire timer once its deadline is reached, but never before")
+  void advance_firesOnDeadline() {
+    timingWheel.schedule(1, START + 2500L, "timer-1");
+
+    assertEquals(List.of(), timingWheel.advance(START + 2000L));
+    assertEquals(List.of(), timingWheel.advance(START + 2999L));
+    assertEquals(List.of("timer-1"), timingWheel.advance(START + 3000L));
+    assertEquals(0, timingWheel.size());
+  }
+
+  @Test
+  @DisplayName("should cascade timers beyond the first wheel down through overflow wheels")
+  void advance_cascadesOverflowTimers() {
+    // beyond two levels of 8 one-second buckets
+    var deadline = START + TICK * WHEEL_SIZE * WHEEL_SIZE + 4500L;
+    timingWheel.schedule(1, deadline, "timer-1");
+
+    for (long now = START; now < deadline; now += TICK) {
+      assertEquals(List.of(), timingWheel.advance(now));
+    }
+    assertEquals(List.of("timer-1"), timingWheel.advance(deadline + TICK));
+  }
+
+  @Test
+  @DisplayName("should fire timers already past their deadline on next advance")
+  void advance_firesOverdueTimers() {
+    timingWheel.schedule(1, START - 5000L, "timer-1");
+
+    assertEquals(List.of("timer-1"), timingWheel.advance(START));
+  }
+
+  @Test
+  @DisplayName("should not fire cancelled timers")
+  void cancel_preventsFiring() {
+    timingWheel.schedule(1, START + 2000L, "timer-1");
+    timingWheel.schedule(2, START + 2000L, "timer-2");
+    timingWheel.cancel(1);
+
+    assertEquals(List.of("timer-2"), timingWheel.advance(START + 2000L));
+  }
+
+  @Test
+  @DisplayName("should replace timer when key is scheduled again")
+  void schedule_replacesExistingTimer() {
+    timingWheel.schedule(1, START + 2000L, "timer-1");
+    timingWheel.schedule(1, START + 5000L, "timer-1-moved");
+
+    assertEquals(1, timingWheel.size());
+    assertEquals(List.of(), timingWheel.advance(START + 4000L));
+    assertEquals(List.of("timer-1-moved"), timingWheel.advance(START + 5000L));
+  }
+
+  @Test
+  @DisplayName("should only schedule timer if none is held for the key")
+  void scheduleIfAbsent_keepsExistingTimer() {
+    timingWheel.schedule(1, START + 2000L, "timer-1");
+
+    assertFalse(timingWheel.scheduleIfAbsent(1, START + 5000L, "timer-1-moved"));
+    assertTrue(timingWheel.scheduleIfAbsent(2, START + 5000L, "timer-2"));
+    assertEquals(List.of("timer-1"), timingWheel.advance(START + 2000L));
+  }
+}
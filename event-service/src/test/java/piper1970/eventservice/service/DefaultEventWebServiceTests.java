@@ -2,6 +2,8 @@ package piper1970.eventservice.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Clock;
@@ -24,6 +26,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.reactive.TransactionalOperator;
+import piper1970.eventservice.cache.EventCache;
 import piper1970.eventservice.common.events.dto.EventDto;
 import piper1970.eventservice.common.events.messages.EventCancelled;
 import piper1970.eventservice.common.events.messages.EventChanged;
@@ -37,6 +40,7 @@ import piper1970.eventservice.exceptions.EventCancellationException;
 import piper1970.eventservice.exceptions.EventTimeoutException;
 import piper1970.eventservice.exceptions.EventUpdateException;
 import piper1970.eventservice.repository.EventRepository;
+import piper1970.eventservice.scheduling.EventTransitionScheduler;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -55,12 +59,16 @@ class DefaultEventWebServiceTests {
   @Mock
   private EventRepository eventRepository;
   @Mock
+  private EventCache eventCache;
+  @Mock
   private TransactionalOperator transactionalOperator;
   @Mock
   private MessagePostingService messagePostingService;
   @Mock
   private EventMapper eventMapper;
   @Mock
+  private EventTransitionScheduler eventTransitionScheduler;
+  @Mock
   private Clock clock;
 
   // common variables used for tests
@@ -81,8 +89,10 @@ class DefaultEventWebServiceTests {
   void setUp() {
 
     webService = new DefaultEventWebService(eventRepository,
+        eventCache,
         messagePostingService,
         eventMapper,
+        eventTransitionScheduler,
         transactionalOperator,
         clock,
         eventRepositoryTimeoutInMilliseconds,
@@ -138,6 +148,40 @@ class DefaultEventWebServiceTests {
         .verifyComplete();
   }
 
+  @Test
+  @DisplayName("getEventsPage should be able to retrieve page of events after given id")
+  void getEventsPage_events_returned() {
+
+    setupMockClocks();
+
+    setupMockMapper();
+
+    when(eventRepository.findPageAfterId(1, 2)).thenReturn(createEventFlux()
+        .skip(1)
+        .take(2)
+    );
+
+    StepVerifier.create(webService.getEventsPage(1, 2))
+        .expectNextCount(2)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("getEventsPage should throw EventTimeoutException if repo fetch takes too long")
+  void getEventsPage_repo_timeout() {
+
+    setupMockClocks();
+
+    when(eventRepository.findPageAfterId(1, 2)).thenReturn(createEventFlux()
+        .delaySequence(eventDuration)
+    );
+
+    StepVerifier.withVirtualTime(() -> webService.getEventsPage(1, 2))
+        .expectSubscription()
+        .thenAwait(eventDuration.multipliedBy(10))
+        .verifyError(EventTimeoutException.class);
+  }
+
   //endregion Get Events Scenarios
 
   //region Get Event Scenarios
@@ -151,10 +195,7 @@ class DefaultEventWebServiceTests {
   @DisplayName("getEvent should return 404 Mono Error when event with given id not in repo")
   void getEvent_nothing_found() {
 
-    when(eventRepository.findById(eventId)).thenReturn(Mono.empty());
-
-    when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Event>>any())).thenAnswer(
-        args -> args.getArgument(0));
+    when(eventCache.findById(eventId)).thenReturn(Mono.empty());
 
     StepVerifier.create(webService.getEvent(eventId))
         .verifyError(EventNotFoundException.class);
@@ -168,13 +209,10 @@ class DefaultEventWebServiceTests {
 
     var event = this.createEvent(EventParams.of(eventId, facilitator));
 
-    when(eventRepository.findById(eventId)).thenReturn(Mono.just(event)
+    when(eventCache.findById(eventId)).thenReturn(Mono.just(event)
         .delayElement(eventDuration)
     );
 
-    when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Event>>any())).thenAnswer(
-        args -> args.getArgument(0));
-
     StepVerifier.withVirtualTime(() -> webService.getEvent(eventId))
         .expectSubscription()
         .thenAwait(eventDuration.multipliedBy(10))
@@ -182,7 +220,7 @@ class DefaultEventWebServiceTests {
   }
 
   @Test
-  @DisplayName("getEvent should returns completed event when an in_progress event is found in repo via id param that has ended")
+  @DisplayName("getEvent should return completed event, without saving it, when an in_progress event found in repo via id param has ended")
   void getEvent_returns_event_updated_to_completed() {
 
     setupMockClocks();
@@ -205,21 +243,18 @@ class DefaultEventWebServiceTests {
         .withDurationInMinutes(durationMinutes)
         .withEventDateTime(edt);
 
-    when(eventRepository.findById(eventId)).thenReturn(Mono.just(event));
-
-    when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Event>>any())).thenAnswer(
-        args -> args.getArgument(0));
-
-    when(eventRepository.save(any(Event.class))).thenAnswer(
-        args -> Mono.just(args.getArgument(0)));
+    when(eventCache.findById(eventId)).thenReturn(Mono.just(event));
 
     StepVerifier.create(webService.getEvent(eventId))
         .expectNext(eventDto)
         .verifyComplete();
+
+    // status is derived in memory, never persisted from a read
+    verify(eventRepository, never()).save(any(Event.class));
   }
 
   @Test
-  @DisplayName("getEvent should return an in_progress event when an awaiting event is found in repo via id param that has started")
+  @DisplayName("getEvent should return in_progress event, without saving it, when an awaiting event found in repo via id param has started")
   void getEvent_returns_event_updated_to_in_progress() {
 
     setupMockClocks();
@@ -242,17 +277,14 @@ class DefaultEventWebServiceTests {
         .withDurationInMinutes(durationMinutes)
         .withEventDateTime(edt);
 
-    when(eventRepository.findById(eventId)).thenReturn(Mono.just(event));
-
-    when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Event>>any())).thenAnswer(
-        args -> args.getArgument(0));
-
-    when(eventRepository.save(any(Event.class))).thenAnswer(
-        args -> Mono.just(args.getArgument(0)));
+    when(eventCache.findById(eventId)).thenReturn(Mono.just(event));
 
     StepVerifier.create(webService.getEvent(eventId))
         .expectNext(eventDto)
         .verifyComplete();
+
+    // status is derived in memory, never persisted from a read
+    verify(eventRepository, never()).save(any(Event.class));
   }
 
   @Test
@@ -269,10 +301,7 @@ class DefaultEventWebServiceTests {
 
     var eventDto = this.createEventDto(param);
 
-    when(eventRepository.findById(eventId)).thenReturn(Mono.just(event));
-
-    when(transactionalOperator.transactional(ArgumentMatchers.<Mono<Event>>any())).thenAnswer(
-        args -> args.getArgument(0));
+    when(eventCache.findById(eventId)).thenReturn(Mono.just(event));
 
     StepVerifier.create(webService.getEvent(eventId))
         .expectNext(eventDto)
@@ -490,6 +519,39 @@ class DefaultEventWebServiceTests {
     StepVerifier.create(webService.updateEvent(eventId, facilitator, eventUpdateRequest))
         .expectNext(updatedEventDto)
         .verifyComplete();
+
+    verify(eventTransitionScheduler).schedule(updatedEvent);
+  }
+
+  @Test
+  @DisplayName("updateEvent should not reschedule event transitions when the update is rolled back")
+  void updateEvent_rollback_keeps_schedule() {
+
+    setupMockClocks();
+
+    setupMockMapper();
+
+    var originalEvent = createEvent(EventParams.of(eventId, facilitator));
+
+    var eventUpdateRequest = createEventUpdateRequest(
+        new UpdateEventRequestParam(eventId, originalEvent.getEventDateTime().plusHours(1),
+            originalEvent.getDurationInMinutes()));
+
+    when(eventRepository.findByIdAndFacilitator(eventId, facilitator)).thenReturn(Mono.just(originalEvent));
+
+    when(eventRepository.save(any(Event.class))).thenAnswer(args -> Mono.just(args.getArgument(0)));
+
+    when(messagePostingService.postEventChangedMessage(any(EventChanged.class)))
+        .thenReturn(Mono.empty());
+
+    // commit fails after the update and outbox insert have run
+    when(transactionalOperator.transactional(ArgumentMatchers.<Mono<EventDto>>any())).thenAnswer(
+        args -> args.<Mono<?>>getArgument(0).then(Mono.error(new IllegalStateException("commit failed"))));
+
+    StepVerifier.create(webService.updateEvent(eventId, facilitator, eventUpdateRequest))
+        .verifyError(IllegalStateException.class);
+
+    verify(eventTransitionScheduler, never()).schedule(any(Event.class));
   }
 
   //endregion Update Event Scenarios
@@ -570,7 +632,7 @@ class DefaultEventWebServiceTests {
 
     when(eventRepository.save(any(Event.class))).thenAnswer(
         args -> Mono.just((Event) args.getArgument(0)
-        ).delayElement(eventDuration));
+        ).delayElement(eventDuration.multipliedBy(2)));
 
     when(transactionalOperator.transactional(ArgumentMatchers.<Mono<EventDto>>any())).thenAnswer(
         args -> args.getArgument(0));
@@ -1,6 +1,7 @@
 package piper1970.eventservice.service;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -24,11 +25,9 @@ import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.support.NoOpTaskScheduler;
 import org.springframework.transaction.reactive.TransactionalOperator;
-import piper1970.eventservice.common.events.messages.EventCompleted;
 import piper1970.eventservice.common.events.status.EventStatus;
 import piper1970.eventservice.domain.Event;
 import piper1970.eventservice.repository.EventRepository;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -112,7 +111,7 @@ class SchedulingServiceTests {
         .expectNextCount(2L)
         .verifyComplete();
 
-    verify(messagePostingService, times(2)).postEventCompletedMessage(any(EventCompleted.class));
+    verify(messagePostingService, times(1)).postEventCompletedMessages(argThat(messages -> messages.size() == 2));
   }
 
   @Test
@@ -162,7 +161,7 @@ class SchedulingServiceTests {
         .expectNextCount(0L)
         .verifyComplete();
 
-    verify(messagePostingService, never()).postEventCompletedMessage(any(EventCompleted.class));
+    verify(messagePostingService, never()).postEventCompletedMessages(anyCollection());
   }
 
   @Test
@@ -266,7 +265,7 @@ class SchedulingServiceTests {
    * Helper method for optionally setting up mock behavior for messagePostingService
    */
   private void initializeMockKafkaMessage() {
-    when(messagePostingService.postEventCompletedMessage(any(EventCompleted.class)))
+    when(messagePostingService.postEventCompletedMessages(anyCollection()))
         .thenReturn(Mono.empty());
   }
 
@@ -274,7 +273,7 @@ class SchedulingServiceTests {
    * Helper method for optionally setting up mock behavior for transactionalOperator
    */
   private void initializeTransactionalMock() {
-    when(transactionalOperator.transactional(ArgumentMatchers.<Flux<Event>>any()))
+    when(transactionalOperator.transactional(ArgumentMatchers.<Mono<List<Integer>>>any()))
         .thenAnswer(i -> i.getArgument(0));
   }
 
@@ -284,6 +283,8 @@ class SchedulingServiceTests {
   private void initializeDatabase() {
     var statements = List.of(
         "DROP TABLE IF EXISTS event_service.events;",
+        "DROP TABLE IF EXISTS event_service.outbox_messages;",
+        "DROP TABLE IF EXISTS event_service.applied_seat_updates;",
         "DROP SCHEMA IF EXISTS event_service;",
         "CREATE SCHEMA event_service;",
         """
@@ -298,7 +299,9 @@ class SchedulingServiceTests {
                 event_date_time     timestamp    NOT NULL,
                 duration_in_minutes int          NOT NULL,
                 available_bookings  smallint     NOT NULL,
-                event_status        varchar(30)  NOT NULL
+                event_status        varchar(30)  NOT NULL,
+                seat_updates        integer      NOT NULL DEFAULT 0,
+                ends_at             timestamp GENERATED ALWAYS AS (DATEADD(MINUTE, duration_in_minutes, event_date_time))
               );
             """);
 
@@ -11,6 +11,29 @@ CREATE TABLE IF NOT EXISTS event_service.events
     event_date_time     timestamp    NOT NULL,
     duration_in_minutes int          NOT NULL,
     available_bookings  smallint     NOT NULL,
-    event_status        varchar(30)  NOT NULL
+    event_status        varchar(30)  NOT NULL,
+    seat_updates        integer      NOT NULL DEFAULT 0,
+    ends_at             timestamp GENERATED ALWAYS AS (DATEADD(MINUTE, duration_in_minutes, event_date_time))
 );
 
+CREATE TABLE IF NOT EXISTS event_service.outbox_messages
+(
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    topic             varchar(255) NOT NULL,
+    message_key       integer,
+    message_type      varchar(255) NOT NULL,
+    payload           bytea        NOT NULL,
+    trace_id          varchar(32),
+    span_id           varchar(16),
+    created_at        timestamp    NOT NULL,
+    failed_at         timestamp
+);
+
+CREATE TABLE IF NOT EXISTS event_service.applied_seat_updates
+(
+    booking_id        integer     NOT NULL,
+    update_type       varchar(20) NOT NULL,
+    event_id          integer     NOT NULL,
+    applied_at        timestamp   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (booking_id, update_type)
+);
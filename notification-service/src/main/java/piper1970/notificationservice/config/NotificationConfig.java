@@ -7,21 +7,29 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.MustacheFactory;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import io.micrometer.observation.ObservationRegistry;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeoutException;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
@@ -33,14 +41,23 @@ import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import piper1970.eventservice.common.kafka.ProducerProfile;
 import piper1970.eventservice.common.kafka.TopicCreater;
+import piper1970.eventservice.common.kafka.TopicProperties;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
+import piper1970.eventservice.common.kafka.reactive.PipelinedKafkaPublisher;
+import piper1970.eventservice.common.kafka.reactive.ProcessingMode;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
 import piper1970.eventservice.common.kafka.topics.Topics;
 import piper1970.notificationservice.kafka.listener.options.BaseListenerOptions;
+import piper1970.notificationservice.mail.MailRateLimiter;
+import piper1970.notificationservice.mail.PooledJavaMailSender;
 import piper1970.notificationservice.repository.BookingConfirmationRepository;
 import piper1970.notificationservice.routehandler.BookingConfirmationHandler;
 import piper1970.notificationservice.service.MessagePostingService;
+import piper1970.notificationservice.templating.MustacheTemplateCache;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.MicrometerConsumerListener;
 import reactor.kafka.receiver.ReceiverOptions;
 import reactor.kafka.receiver.observation.KafkaReceiverObservation.DefaultKafkaReceiverObservationConvention;
@@ -56,6 +73,7 @@ import reactor.util.retry.Retry;
 @Configuration(proxyBeanMethods = false)
 @EnableKafka
 @EnableWebFluxSecurity
+@EnableConfigurationProperties({MailProperties.class, TopicProperties.class})
 public class NotificationConfig {
 
   private final BookingConfirmationRepository bookingConfirmationRepository;
@@ -88,8 +106,90 @@ public class NotificationConfig {
     return new DefaultMustacheFactory();
   }
 
+  @Bean
+  public MustacheTemplateCache mustacheTemplateCache(MustacheFactory mustacheFactory,
+      @Value("${mustache.location:templates}") String mustacheLocation) {
+    return new MustacheTemplateCache(mustacheFactory, mustacheLocation);
+  }
+
   //endregion Mustache Template Factory
 
+  //region Mail Delivery
+
+  /**
+   * Mail sender reusing a bounded pool of authenticated SMTP connections, configured from the spring.mail properties.
+   */
+  @Bean
+  public JavaMailSender pooledMailSender(MailProperties mailProperties,
+      @Value("${mail.smtp.pool.max-connections:${mail.send.max.concurrency:20}}") Integer maxConnections) {
+    var sender = new PooledJavaMailSender(maxConnections);
+    sender.setHost(mailProperties.getHost());
+    if (mailProperties.getPort() != null) {
+      sender.setPort(mailProperties.getPort());
+    }
+    sender.setUsername(mailProperties.getUsername());
+    sender.setPassword(mailProperties.getPassword());
+    sender.setProtocol(mailProperties.getProtocol());
+    if (mailProperties.getDefaultEncoding() != null) {
+      sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+    }
+    if (!mailProperties.getProperties().isEmpty()) {
+      var javaMailProperties = new Properties();
+      javaMailProperties.putAll(mailProperties.getProperties());
+      sender.setJavaMailProperties(javaMailProperties);
+    }
+    return sender;
+  }
+
+  /**
+   * Dedicated scheduler for blocking SMTP sends, running each send on its own virtual thread.
+   * <p>
+   * Virtual threads are not pooled. Concurrent sends are capped by the 'mail' semaphore instead, so that large
+   * fan-outs cannot starve the shared bounded-elastic pool.
+   */
+  @Bean(destroyMethod = "dispose")
+  @Qualifier("mail")
+  public Scheduler mailScheduler(MeterRegistry meterRegistry) {
+    return Schedulers.fromExecutorService(
+        ExecutorServiceMetrics.monitor(meterRegistry, Executors.newVirtualThreadPerTaskExecutor(), "mail.sender"),
+        "mail-sender");
+  }
+
+  /**
+   * Permits for concurrent SMTP sends, acquired on a mail-scheduler virtual thread ahead of the timed send. Sends
+   * waiting for a permit and sends in progress are published as 'mail.sender.waiting' and 'mail.sender.active'
+   * gauges.
+   */
+  @Bean
+  @Qualifier("mail")
+  public Semaphore mailSendPermits(MeterRegistry meterRegistry,
+      @Value("${mail.send.max.concurrency:20}") Integer maxConcurrency) {
+    var permits = new Semaphore(maxConcurrency, true);
+    Gauge.builder("mail.sender.waiting", permits, Semaphore::getQueueLength)
+        .description("SMTP sends waiting for a permit")
+        .register(meterRegistry);
+    Gauge.builder("mail.sender.active", permits, semaphore -> maxConcurrency - semaphore.availablePermits())
+        .description("SMTP sends in progress")
+        .register(meterRegistry);
+    return permits;
+  }
+
+  /**
+   * Adaptive token-bucket throttle for outbound mail, backing off when the relay responds with 4xx throttling.
+   */
+  @Bean
+  public MailRateLimiter mailRateLimiter(MeterRegistry meterRegistry,
+      @Value("${mail.rate.max.permits.per.second:10}") Double maxPermitsPerSecond,
+      @Value("${mail.rate.min.permits.per.second:1}") Double minPermitsPerSecond,
+      @Value("${mail.rate.burst.permits:20}") Double burstPermits,
+      @Value("${mail.rate.backoff.factor:0.5}") Double backoffFactor,
+      @Value("${mail.rate.recovery.step:0.1}") Double recoveryStep) {
+    return new MailRateLimiter(meterRegistry, maxPermitsPerSecond, minPermitsPerSecond, burstPermits,
+        backoffFactor, recoveryStep);
+  }
+
+  //endregion Mail Delivery
+
   //region Route Handling
 
   @Bean
@@ -162,8 +262,8 @@ public class NotificationConfig {
   //region Kafka Topic Creation
 
   @Bean
-  TopicCreater topicCreater() {
-    return new TopicCreater(partitionCount, replicationFactor, kafkaRetentionProperty);
+  TopicCreater topicCreater(TopicProperties topicProperties) {
+    return new TopicCreater(partitionCount, replicationFactor, kafkaRetentionProperty, topicProperties.topics());
   }
 
   //region Producer Topics
@@ -215,8 +315,8 @@ public class NotificationConfig {
 
   @Bean
   KafkaSender<Integer, Object> kafkaSender(KafkaProperties kafkaProperties, ObservationRegistry observationRegistry,
-      MeterRegistry meterRegistry) {
-    Map<String, Object> propertiesMap = kafkaProperties.buildProducerProperties();
+      MeterRegistry meterRegistry, @Value("${kafka.producer.profile:CONTROL}") ProducerProfile producerProfile) {
+    Map<String, Object> propertiesMap = producerProfile.apply(kafkaProperties.buildProducerProperties());
     var senderOptions = SenderOptions.<Integer, Object>create(propertiesMap)
         .producerListener(new MicrometerProducerListener(meterRegistry))
         .withObservation(observationRegistry,
@@ -231,6 +331,19 @@ public class NotificationConfig {
     return new DeadLetterTopicProducer(kafkaSender, tracer, deadLetterTopicSuffix, clock);
   }
 
+  @Bean
+  PipelinedKafkaPublisher pipelinedKafkaPublisher(KafkaSender<Integer, Object> kafkaSender,
+      @Value("${kafka.publisher.buffer.size:1024}") Integer bufferSize,
+      @Value("${kafka.publisher.retry.max.attempts:10}") long maxAttempts,
+      @Value("${kafka.publisher.retry.duration.millis:100}") long durationInMillis,
+      @Value("${kafka.publisher.retry.max.duration.millis:10000}") long maxDurationInMillis) {
+    // attempts are counted per run of consecutive failures, so occasional failures never exhaust the retry
+    var resubscribeRetry = Retry.backoff(maxAttempts, Duration.ofMillis(durationInMillis))
+        .maxBackoff(Duration.ofMillis(maxDurationInMillis))
+        .transientErrors(true);
+    return new PipelinedKafkaPublisher(kafkaSender, bufferSize, resubscribeRetry);
+  }
+
   //endregion Producer
 
   //region Kafka Consumer
@@ -239,13 +352,15 @@ public class NotificationConfig {
   public BaseListenerOptions baseListenerOptions(ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory,
       DeadLetterTopicProducer deadLetterTopicProducer,
       JavaMailSender mailSender,
-      MustacheFactory mustacheFactory,
-      @Value("${mustache.location:templates}") String mustacheLocation,
+      @Qualifier("mail") Scheduler mailScheduler,
+      @Qualifier("mail") Semaphore mailSendPermits,
+      MailRateLimiter mailRateLimiter,
+      MustacheTemplateCache mustacheTemplateCache,
       @Value("${mail.message.from}") String fromAddress,
       @Value("${events.api.address: http://localhost:8080/api/events}") String eventsApiAddress,
       @Value("${bookings.api.address: http://localhost:8080/api/bookings}") String bookingsApiAddress,
       @Value("${mail.send.timeout.milliseconds:10000}") Long mailSendTimeoutMillis,
-      @Value("${mail.delay.milliseconds:500}") Long mailDelayMilliseconds
+      @Value("${mail.send.batch.size:50}") Integer mailBatchSize
       ) {
     return BaseListenerOptions.builder()
         .bookingsApiAddress(bookingsApiAddress)
@@ -253,11 +368,13 @@ public class NotificationConfig {
         .deadLetterTopicProducer(deadLetterTopicProducer)
         .reactiveKafkaReceiverFactory(reactiveKafkaReceiverFactory)
         .fromAddress(fromAddress)
-        .mustacheFactory(mustacheFactory)
-        .mustacheLocation(mustacheLocation)
+        .mustacheTemplateCache(mustacheTemplateCache)
         .mailSender(mailSender)
+        .mailScheduler(mailScheduler)
+        .mailSendPermits(mailSendPermits)
         .mailSendTimeoutMillis(mailSendTimeoutMillis)
-        .mailDelayMillis(mailDelayMilliseconds)
+        .mailRateLimiter(mailRateLimiter)
+        .mailBatchSize(mailBatchSize)
         .build();
   }
 
@@ -272,10 +389,15 @@ public class NotificationConfig {
   }
 
   @Bean
-  public ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory(ReceiverOptions<Integer, Object> receiverOptions) {
+  public ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory(ReceiverOptions<Integer, Object> receiverOptions,
+      @Value("${kafka.listener.processing.mode:SEQUENTIAL}") ProcessingMode processingMode,
+      @Value("${kafka.listener.concurrency:${kafka.partition.count}}") Integer concurrency,
+      TopicProperties topicProperties) {
     var topics = List.of(Topics.BOOKING_CREATED, Topics.BOOKING_EVENT_UNAVAILABLE, Topics.BOOKING_CANCELLED,
         Topics.BOOKINGS_UPDATED, Topics.BOOKINGS_CANCELLED);
-    return new ReactiveKafkaReceiverFactory(receiverOptions, topics);
+    // topics with their own partition count get one lane per partition
+    return new ReactiveKafkaReceiverFactory(receiverOptions, topics, processingMode, concurrency,
+        topicProperties.partitionCounts());
   }
 
   //endregion Kafka Consumer
@@ -315,8 +437,9 @@ public class NotificationConfig {
       @Value("${mailer.retry.duration.millis:500}") long durationInMillis,
       @Value("${mailer.retry.jitter.factor:0.7D}")double jitterFactor
   ){
+    // batch sends report failed messages through MailSendException, and retry only those messages
     return Retry.backoff(maxAttempts, Duration.ofMillis(durationInMillis))
-        .filter(throwable -> throwable instanceof TimeoutException)
+        .filter(throwable -> throwable instanceof TimeoutException || throwable instanceof MailSendException)
         .jitter(jitterFactor);
   }
 
@@ -1,23 +1,30 @@
 package piper1970.notificationservice.kafka.listener;
 
 import com.github.mustachejava.Mustache;
-import com.github.mustachejava.MustacheFactory;
-import com.google.common.io.Resources;
 import jakarta.mail.internet.MimeMessage;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.io.StringWriter;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import piper1970.eventservice.common.kafka.reactive.DiscoverableListener;
+import piper1970.eventservice.common.scheduling.SchedulingPolicy;
 import piper1970.notificationservice.kafka.listener.options.BaseListenerOptions;
+import piper1970.notificationservice.mail.MailRateLimiter;
+import piper1970.notificationservice.templating.MustacheTemplateCache;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
 
 /**
  * Abstract class to deal with common kafka Listener behavior.
@@ -25,41 +32,47 @@ import reactor.core.scheduler.Schedulers;
 public abstract class AbstractListener extends DiscoverableListener {
 
   protected final JavaMailSender mailSender;
-  protected final MustacheFactory mustacheFactory;
-  protected final String mustacheLocation;
+  protected final Scheduler mailScheduler;
+  private final Semaphore mailSendPermits;
+  protected final MailRateLimiter mailRateLimiter;
+  protected final MustacheTemplateCache mustacheTemplateCache;
   protected final String fromAddress;
   protected final String bookingsApiAddress;
   protected final String eventsApiAddress;
   private final Duration mailSendTimeoutDuration;
-  private final Duration mailDelayDuration;
+  private final int mailBatchSize;
 
   public AbstractListener(BaseListenerOptions options) {
     super(options.getReactiveKafkaReceiverFactory(), options.getDeadLetterTopicProducer());
     this.mailSender = options.getMailSender();
-    this.mustacheFactory = options.getMustacheFactory();
-    this.mustacheLocation = options.getMustacheLocation();
+    this.mailScheduler = options.getMailScheduler();
+    this.mailSendPermits = options.getMailSendPermits();
+    this.mailRateLimiter = options.getMailRateLimiter();
+    this.mustacheTemplateCache = options.getMustacheTemplateCache();
     this.fromAddress = options.getFromAddress();
     this.bookingsApiAddress = options.getBookingsApiAddress();
     this.eventsApiAddress = options.getEventsApiAddress();
     mailSendTimeoutDuration = Duration.ofMillis(options.getMailSendTimeoutMillis());
-    mailDelayDuration = Duration.ofMillis(options.getMailDelayMillis());
+    mailBatchSize = options.getMailBatchSize();
   }
 
   abstract protected Logger getLogger();
 
-  /// Provides flux setup for proper auto-close behavior of Reader resource Used by Flux.using() as
-  /// the initial supplier parameter
-  protected Flux<EmailTemplate> readerFlux(String template, Stream<PropsHolder> propHolders) {
-    return Flux.using(readerSupplier(template),
-            reader -> buildEmailsFromMustacheAsFlux(reader, template, propHolders)
-        ).subscribeOn(Schedulers.boundedElastic());
+  /// Renders one email per props holder from the cached, pre-compiled template
+  protected Flux<EmailTemplate> renderFlux(String template, Stream<PropsHolder> propHolders) {
+    return Flux.defer(() -> {
+          Mustache mustache = mustacheTemplateCache.get(template);
+          return Flux.fromStream(propHolders)
+              .map(propsHolder -> new EmailTemplate(propsHolder.email(),
+                  buildEmailFromMustache(mustache, propsHolder.props())));
+        })
+        .subscribeOn(SchedulingPolicy.cpu());
   }
 
-  /// Provides mono setup for proper auto-close behavior of Reader resource
-  protected Mono<String> readerMono(String template, Object props) {
-    return Mono.using(readerSupplier(template),
-            reader -> buildEmailFromMustacheAsMono(reader, template, props)
-        ).subscribeOn(Schedulers.boundedElastic());
+  /// Renders a single email from the cached, pre-compiled template
+  protected Mono<String> renderMono(String template, Object props) {
+    return Mono.fromCallable(() -> buildEmailFromMustache(mustacheTemplateCache.get(template), props))
+        .subscribeOn(SchedulingPolicy.cpu());
   }
 
   protected void logMailDelivery(CharSequence memberEmail, String formattedEmail) {
@@ -67,21 +80,24 @@ public abstract class AbstractListener extends DiscoverableListener {
   }
 
   protected Mono<Void> handleMailMono(String email, String subject, String body) {
-    return Mono.fromCallable(() -> sendMail(email, subject, body))
-        .subscribeOn(Schedulers.boundedElastic())
-        .timeout(mailSendTimeoutDuration);
+    return throttledSend(1, () -> sendMail(email, subject, body));
   }
 
-  /// Helper method to box-then-unbox from flux-mono-flux, to allow for using the fromRunnable logic
-  /// in deferring blocking sendMail logic
-  protected Flux<Void> handleMailFlux(EmailTemplate tpl, String topic) {
-    return Flux.defer(() -> Mono.fromCallable(() -> sendMail(tpl.subject().toString(), topic,
-                tpl.body())
-            )
-            .delayElement(mailDelayDuration, Schedulers.boundedElastic()) // prevent DDOS-like behavior
-            .timeout(mailSendTimeoutDuration)
-            .flux())
-        .subscribeOn(Schedulers.boundedElastic());
+  /// Groups fan-out emails into batches, so each batch is delivered over a single pooled SMTP
+  /// connection rather than connecting once per recipient
+  protected Flux<List<EmailTemplate>> batchMail(Flux<EmailTemplate> templates) {
+    return templates.buffer(mailBatchSize);
+  }
+
+  /// Sends a batch of emails, sharing the given subject, in a single blocking send call. When the
+  /// sender reports per-message failures, retries resend only the messages that failed
+  protected Mono<Void> handleMailBatch(List<EmailTemplate> batch, String subject, Retry retry) {
+    var pending = new AtomicReference<>(batch);
+    return Mono.defer(() -> {
+          var remaining = pending.get();
+          return throttledSend(remaining.size(), () -> sendMail(remaining, subject, pending));
+        })
+        .retryWhen(retry);
   }
 
   protected record EmailTemplate(Object subject, String body) {
@@ -100,32 +116,59 @@ public abstract class AbstractListener extends DiscoverableListener {
     return eventsApiAddress + "/" + eventId;
   }
 
-  private Flux<EmailTemplate> buildEmailsFromMustacheAsFlux(
-      Reader reader, String template,
-      Stream<PropsHolder> propsHolderStream) {
-    Mustache mustache = mustacheFactory.compile(reader, template);
-    return Flux.fromStream(propsHolderStream)
-        .subscribeOn(Schedulers.parallel())
-        .map(propsHolder -> {
-              var msg = buildEmailFromMustache(mustache, propsHolder.props());
-              return new EmailTemplate(propsHolder.email(), msg);
-            }
-        );
+  /// Waits for rate-limiter permits and a concurrent-send permit, then runs the blocking send on the mail scheduler,
+  /// feeding the outcome back to the rate-limiter so it can adapt to relay throttling. Only the send itself is timed,
+  /// so sends queued behind a busy relay are neither timed out nor reported as failures
+  private Mono<Void> throttledSend(int permits, Callable<Void> send) {
+    return mailRateLimiter.acquire(permits)
+        .then(Mono.usingWhen(acquireSendPermit(),
+            permit -> Mono.fromCallable(() -> permit.send(send))
+                .subscribeOn(mailScheduler)
+                .timeout(mailSendTimeoutDuration)
+                .doOnSuccess(ignored -> mailRateLimiter.onSuccess(permits))
+                .doOnError(mailRateLimiter::onFailure),
+            permit -> Mono.fromRunnable(permit::releaseUnlessSending)));
   }
 
-  /// Used as first supplier parameter by Mono.using() and Flux.using()
-  private Callable<Reader> readerSupplier(String resource) {
-    var fullPath = mustacheLocation + "/" + resource;
-    return () -> new InputStreamReader(Resources.getResource(fullPath).openStream());
+  /// Blocks a virtual thread on the mail scheduler until one of the concurrent-send permits is free. A permit
+  /// acquired after the waiting send was cancelled is released again
+  private Mono<SendPermit> acquireSendPermit() {
+    return Mono.fromCallable(() -> {
+          mailSendPermits.acquire();
+          return new SendPermit(mailSendPermits);
+        })
+        .subscribeOn(mailScheduler)
+        .doOnDiscard(SendPermit.class, SendPermit::releaseUnlessSending);
   }
 
-  /// Used as second parameter to Mono.using() to build Mustache templating logic from Reader
-  /// resource
-  private Mono<String> buildEmailFromMustacheAsMono(Reader reader, String template, Object props) {
-    return Mono.fromCallable(() -> {
-          Mustache mustache = mustacheFactory.compile(reader, template);
-          return buildEmailFromMustache(mustache, props);
-        }).subscribeOn(Schedulers.parallel());
+  /// A held concurrent-send permit, released once by whichever comes first: the send finishing, or the send being
+  /// cancelled before it started. A send still running after its timeout keeps the permit until it returns, so the
+  /// concurrency cap also covers hung sends
+  private static final class SendPermit {
+
+    private final Semaphore permits;
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private SendPermit(Semaphore permits) {
+      this.permits = permits;
+    }
+
+    private Void send(Callable<Void> send) throws Exception {
+      if (!claimed.compareAndSet(false, true)) {
+        throw new CancellationException("Mail send cancelled before it started");
+      }
+      try {
+        return send.call();
+      } finally {
+        permits.release();
+      }
+    }
+
+    private void releaseUnlessSending() {
+      if (claimed.compareAndSet(false, true)) {
+        permits.release();
+      }
+    }
   }
 
   private String buildEmailFromMustache(Mustache mustache, Object prop) {
@@ -137,17 +180,51 @@ public abstract class AbstractListener extends DiscoverableListener {
   private Void sendMail(String to, String subject, String body) {
 
     try {
-      MimeMessage message = mailSender.createMimeMessage();
-      message.setSubject(subject);
-      MimeMessageHelper helper = new MimeMessageHelper(message, true);
-      helper.setTo(to);
-      helper.setText(body, true);
-      helper.setFrom(fromAddress);
-      mailSender.send(message);
+      mailSender.send(createMessage(to, subject, body));
       return null;
     } catch (Exception e) {
       getLogger().error("Unable to send email", e);
       throw new RuntimeException(e);
     }
   }
+
+  private Void sendMail(List<EmailTemplate> batch, String subject, AtomicReference<List<EmailTemplate>> pending) {
+
+    var messages = new MimeMessage[batch.size()];
+    try {
+      for (int i = 0; i < messages.length; i++) {
+        var tpl = batch.get(i);
+        messages[i] = createMessage(tpl.subject().toString(), subject, tpl.body());
+      }
+      mailSender.send(messages);
+      return null;
+    } catch (MailSendException e) {
+      var failedMessages = e.getFailedMessages();
+      if (!failedMessages.isEmpty()) {
+        var failed = new ArrayList<EmailTemplate>(failedMessages.size());
+        for (int i = 0; i < messages.length; i++) {
+          if (failedMessages.containsKey(messages[i])) {
+            failed.add(batch.get(i));
+          }
+        }
+        pending.set(failed);
+      }
+      getLogger().error("Unable to send {} of {} emails in batch", failedMessages.isEmpty() ? batch.size()
+          : failedMessages.size(), batch.size(), e);
+      throw e;
+    } catch (Exception e) {
+      getLogger().error("Unable to send batch of {} emails", batch.size(), e);
+      throw new RuntimeException(e);
+    }
+  }
+
+  private MimeMessage createMessage(String to, String subject, String body) throws Exception {
+    MimeMessage message = mailSender.createMimeMessage();
+    message.setSubject(subject);
+    MimeMessageHelper helper = new MimeMessageHelper(message, true);
+    helper.setTo(to);
+    helper.setText(body, true);
+    helper.setFrom(fromAddress);
+    return message;
+  }
 }
@@ -86,7 +86,7 @@ public class BookingCancelledListener extends AbstractListener {
           buildEventLink(message.getEventId())
       );
       var template = BookingCancelledMessage.template();
-      return readerMono(template, props)
+      return renderMono(template, props)
           .doOnNext(
               email -> logMailDelivery(bookingId.getEmail(), email))
           .flatMap(msg ->
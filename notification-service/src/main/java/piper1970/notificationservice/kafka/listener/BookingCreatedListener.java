@@ -22,7 +22,6 @@ import piper1970.notificationservice.kafka.listener.options.BaseListenerOptions;
 import piper1970.notificationservice.repository.BookingConfirmationRepository;
 import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.util.retry.Retry;
 
@@ -128,7 +127,7 @@ public class BookingCreatedListener extends AbstractListener {
 
       var template = BookingCreatedMessage.template();
       var emailAddress = bookingId.getEmail();
-      var sendEmailMono = readerMono(template, props)
+      var sendEmailMono = renderMono(template, props)
           .doOnNext(email -> logMailDelivery(emailAddress, email))
           .flatMap(msg ->
               handleMailMono(emailAddress.toString(), BOOKING_HAS_BEEN_CREATED_SUBJECT, msg)
@@ -146,7 +145,6 @@ public class BookingCreatedListener extends AbstractListener {
           .build();
 
       return bookingConfirmationRepository.save(dbConfirmation)
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(notificationTimeoutDuration)
           .doOnNext(confirmation ->
               log.info("Booking confirmation saved [{}]", confirmation))
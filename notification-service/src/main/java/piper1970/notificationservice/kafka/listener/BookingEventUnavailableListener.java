@@ -85,7 +85,7 @@ public class BookingEventUnavailableListener extends AbstractListener {
           buildBookingLink(bookingId.getId()), buildEventLink(message.getEventId()));
 
       var template = BookingEventUnavailableMessage.template();
-      return readerMono(template, props)
+      return renderMono(template, props)
           .doOnNext(email -> logMailDelivery(bookingId.getEmail(),
               email))
           .flatMap(msg ->
@@ -20,6 +20,9 @@ import reactor.util.retry.Retry;
 /**
  * Kafka listener for bookings-cancelled topic. Sends out booking-cancelled email to every user booked for an event.
  * This usually happens if the owner of the event cancels the event.
+ * <p>
+ * Large events arrive as several chunks of bookings, each handled and acknowledged on its own, so progress is
+ * committed chunk by chunk.
  */
 @Component
 @Slf4j
@@ -86,8 +89,10 @@ public class BookingsCancelledListener extends AbstractListener {
           .map(Object::toString)
           .collect(Collectors.joining(","));
 
-      log.info("Consuming from BOOKINGS_CANCELLED topic for event [{}] and bookingIds [{}]",
+      log.info("Consuming from BOOKINGS_CANCELLED topic for event [{}], chunk [{}/{}], and bookingIds [{}]",
           message.getEventId(),
+          message.getChunkIndex() + 1,
+          message.getChunkCount(),
           bookingIds);
 
       var props = message.getBookings().stream()
@@ -101,14 +106,13 @@ public class BookingsCancelledListener extends AbstractListener {
           });
       var template = BookingCancelledMessage.template();
 
-      return readerFlux(template, props)
+      return renderFlux(template, props)
           .doOnNext(tpl -> logMailDelivery(tpl.subject().toString(),
               tpl.body()))
           .doOnError(t -> log.error("Error while reading from flux", t))
-          .flatMap(tpl ->
-              handleMailFlux(tpl, BOOKING_CANCELLED_MESSAGE_SUBJECT)
-                  .retryWhen(defaultMailerRetry)
-          ).then(Mono.just(record))
+          .transform(this::batchMail)
+          .flatMap(batch -> handleMailBatch(batch, BOOKING_CANCELLED_MESSAGE_SUBJECT, defaultMailerRetry))
+          .then(Mono.just(record))
           .onErrorResume(error -> {
             log.error("BOOKINGS_CANCELLED message handling failed. Sending to DLT", error);
             return handleDLTLogic(record);
@@ -20,6 +20,9 @@ import reactor.util.retry.Retry;
 /**
  * Kafka listener for bookings-updated topic. Sends out booking-updated email to every user booked for an event.
  * This usually happens if the owner of the event updates the event before it starts.
+ * <p>
+ * Large events arrive as several chunks of bookings, each handled and acknowledged on its own, so progress is
+ * committed chunk by chunk.
  */
 @Component
 @Slf4j
@@ -87,8 +90,10 @@ public class BookingsUpdatedListener extends AbstractListener {
           .map(BookingId::getId)
           .map(Object::toString)
           .collect(Collectors.joining(","));
-      log.info("Consuming from BOOKINGS_UPDATED topic for event [{}] and bookingIds [{}]",
+      log.info("Consuming from BOOKINGS_UPDATED topic for event [{}], chunk [{}/{}], and bookingIds [{}]",
           message.getEventId(),
+          message.getChunkIndex() + 1,
+          message.getChunkCount(),
           bookingIds);
 
       var props = message.getBookings().stream()
@@ -104,13 +109,12 @@ public class BookingsUpdatedListener extends AbstractListener {
 
       var template = BookingUpdatedMessage.template();
 
-      return readerFlux(template, props)
+      return renderFlux(template, props)
           .doOnNext(tpl -> logMailDelivery(tpl.subject().toString(),
               tpl.body()))
-          .flatMap(tpl ->
-              handleMailFlux(tpl, BOOKING_HAS_BEEN_UPDATED_SUBJECT)
-                  .retryWhen(defaultMailerRetry)
-          ).then(Mono.just(record))
+          .transform(this::batchMail)
+          .flatMap(batch -> handleMailBatch(batch, BOOKING_HAS_BEEN_UPDATED_SUBJECT, defaultMailerRetry))
+          .then(Mono.just(record))
           .onErrorResume(error -> {
             log.error("BOOKINGS_UPDATED message handling failed. Sending to DLT", error);
             return handleDLTLogic(record);
@@ -1,12 +1,15 @@
 package piper1970.notificationservice.kafka.listener.options;
 
 
-import com.github.mustachejava.MustacheFactory;
+import java.util.concurrent.Semaphore;
 import lombok.Builder;
 import lombok.Value;
 import org.springframework.mail.javamail.JavaMailSender;
 import piper1970.eventservice.common.kafka.reactive.DeadLetterTopicProducer;
 import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory;
+import piper1970.notificationservice.mail.MailRateLimiter;
+import piper1970.notificationservice.templating.MustacheTemplateCache;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Component that holds common Kafka Listener options for all Listeners
@@ -16,12 +19,14 @@ import piper1970.eventservice.common.kafka.reactive.ReactiveKafkaReceiverFactory
 public class BaseListenerOptions {
   ReactiveKafkaReceiverFactory reactiveKafkaReceiverFactory;
   DeadLetterTopicProducer deadLetterTopicProducer;
-  MustacheFactory mustacheFactory;
+  MustacheTemplateCache mustacheTemplateCache;
   JavaMailSender mailSender;
-  String mustacheLocation;
+  Scheduler mailScheduler;
+  Semaphore mailSendPermits;
+  MailRateLimiter mailRateLimiter;
   String fromAddress;
   String bookingsApiAddress;
   String eventsApiAddress;
   Long mailSendTimeoutMillis;
-  Long mailDelayMillis;
+  Integer mailBatchSize;
 }
@@ -0,0 +1,161 @@
+package piper1970.notificationservice.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.springframework.mail.MailSendException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adaptive token-bucket rate limiter for outbound mail to the SMTP relay.
+ * <p>
+ * Permits refill continuously at the current rate, up to the burst size. Callers reserve permits up front, and are
+ * delayed (without blocking) until the bucket has paid back the reservation. The rate is halved (down to the minimum)
+ * whenever the relay answers with a transient 4xx throttling response, and climbs back toward the maximum by a fixed
+ * step for every message delivered.
+ */
+@Slf4j
+public class MailRateLimiter {
+
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final double maxPermitsPerSecond;
+  private final double minPermitsPerSecond;
+  private final double burstPermits;
+  private final double backoffFactor;
+  private final double recoveryStep;
+  private final LongSupplier nanoTime;
+  private final Timer waitTimer;
+  private final Counter throttledCounter;
+
+  private double permitsPerSecond;
+  private double storedPermits;
+  private long lastRefillNanos;
+
+  public MailRateLimiter(MeterRegistry meterRegistry, double maxPermitsPerSecond, double minPermitsPerSecond,
+      double burstPermits, double backoffFactor, double recoveryStep) {
+    this(meterRegistry, maxPermitsPerSecond, minPermitsPerSecond, burstPermits, backoffFactor, recoveryStep,
+        System::nanoTime);
+  }
+
+  MailRateLimiter(MeterRegistry meterRegistry, double maxPermitsPerSecond, double minPermitsPerSecond,
+      double burstPermits, double backoffFactor, double recoveryStep, LongSupplier nanoTime) {
+    this.maxPermitsPerSecond = maxPermitsPerSecond;
+    this.minPermitsPerSecond = Math.min(minPermitsPerSecond, maxPermitsPerSecond);
+    this.burstPermits = burstPermits;
+    this.backoffFactor = backoffFactor;
+    this.recoveryStep = recoveryStep;
+    this.nanoTime = nanoTime;
+    this.permitsPerSecond = maxPermitsPerSecond;
+    this.storedPermits = burstPermits;
+    this.lastRefillNanos = nanoTime.getAsLong();
+
+    Gauge.builder("mail.rate.permits.per.second", this, MailRateLimiter::getPermitsPerSecond)
+        .description("Current outbound mail rate allowed by the throttle")
+        .register(meterRegistry);
+    waitTimer = Timer.builder("mail.rate.wait")
+        .description("Time outbound mail waited for throttle permits")
+        .register(meterRegistry);
+    throttledCounter = Counter.builder("mail.rate.throttled")
+        .description("Number of SMTP throttling responses that lowered the outbound mail rate")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Reserves permits, completing once they are available.
+   *
+   * @param permits number of messages about to be sent
+   * @return empty Mono, completing after the throttle wait
+   */
+  public Mono<Void> acquire(int permits) {
+    return Mono.defer(() -> {
+      var wait = Duration.ofNanos(reserve(permits));
+      waitTimer.record(wait);
+      return wait.isZero() ? Mono.empty() : Mono.delay(wait).then();
+    });
+  }
+
+  /**
+   * Raises rate toward the maximum after successful delivery.
+   *
+   * @param permits number of messages delivered
+   */
+  public synchronized void onSuccess(int permits) {
+    permitsPerSecond = Math.min(maxPermitsPerSecond, permitsPerSecond + recoveryStep * permits);
+  }
+
+  /**
+   * Lowers rate if the failure was caused by an SMTP 4xx throttling response.
+   *
+   * @param throwable failure raised while sending mail
+   */
+  public void onFailure(Throwable throwable) {
+    if (isThrottlingResponse(throwable)) {
+      throttledCounter.increment();
+      synchronized (this) {
+        refill(nanoTime.getAsLong());
+        permitsPerSecond = Math.max(minPermitsPerSecond, permitsPerSecond * backoffFactor);
+        log.warn("SMTP relay throttled outbound mail. Lowering rate to {} permits/sec", permitsPerSecond);
+      }
+    }
+  }
+
+  public synchronized double getPermitsPerSecond() {
+    return permitsPerSecond;
+  }
+
+  /**
+   * Takes permits from the bucket, going into debt if needed, and returns nanos to wait for the debt to be repaid.
+   */
+  synchronized long reserve(int permits) {
+    var now = nanoTime.getAsLong();
+    refill(now);
+    storedPermits -= permits;
+    return storedPermits >= 0 ? 0L : (long) (-storedPermits / permitsPerSecond * NANOS_PER_SECOND);
+  }
+
+  private void refill(long now) {
+    if (now > lastRefillNanos) {
+      storedPermits = Math.min(burstPermits,
+          storedPermits + (now - lastRefillNanos) / NANOS_PER_SECOND * permitsPerSecond);
+      lastRefillNanos = now;
+    }
+  }
+
+  private static boolean isThrottlingResponse(Throwable throwable) {
+    for (Throwable t = throwable; t != null; t = t.getCause()) {
+      if (t instanceof MailSendException mailSendException) {
+        for (Exception failure : mailSendException.getFailedMessages().values()) {
+          if (isThrottlingResponse(failure)) {
+            return true;
+          }
+        }
+      }
+      if (isTransientReturnCode(t)) {
+        return true;
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isTransientReturnCode(Throwable t) {
+    int returnCode = switch (t) {
+      case SMTPSendFailedException e -> e.getReturnCode();
+      case SMTPAddressFailedException e -> e.getReturnCode();
+      case SMTPSenderFailedException e -> e.getReturnCode();
+      default -> 0;
+    };
+    return returnCode >= 400 && returnCode < 500;
+  }
+}
@@ -0,0 +1,139 @@
+package piper1970.notificationservice.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * JavaMailSender keeping a bounded pool of connected, authenticated SMTP transports alive between sends.
+ * <p>
+ * {@link JavaMailSenderImpl} connects (and authenticates) a new transport for every call to send, closing it
+ * afterward. This implementation borrows an idle transport from the pool instead, only connecting a new one when none
+ * is available, and returns it once the send completes. Calling send with multiple messages delivers all of them over
+ * the single borrowed transport.
+ * <p>
+ * If any message of a multi-message send fails, a {@link MailSendException} is thrown listing every message that was
+ * not delivered, including those left unsent because the connection could not be replaced.
+ */
+@Slf4j
+public class PooledJavaMailSender extends JavaMailSenderImpl implements DisposableBean {
+
+  private final BlockingDeque<Transport> idleTransports = new LinkedBlockingDeque<>();
+  private final Semaphore transportPermits;
+
+  public PooledJavaMailSender(int maxConnections) {
+    this.transportPermits = new Semaphore(maxConnections, true);
+  }
+
+  @Override
+  protected void doSend(MimeMessage[] mimeMessages, @Nullable Object[] originalMessages) throws MailException {
+    Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+    Transport transport = borrowTransport();
+    try {
+      for (int i = 0; i < mimeMessages.length; i++) {
+        MimeMessage mimeMessage = mimeMessages[i];
+        try {
+          if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+          }
+          mimeMessage.saveChanges();
+          Address[] addresses = mimeMessage.getAllRecipients();
+          transport.sendMessage(mimeMessage, (addresses != null ? addresses : new Address[0]));
+        } catch (Exception ex) {
+          Object original = (originalMessages != null ? originalMessages[i] : mimeMessage);
+          failedMessages.put(original, ex);
+          if (!transport.isConnected()) {
+            // connection dropped mid-batch: replace it so remaining messages can still be delivered
+            closeQuietly(transport);
+            transport = null;
+            try {
+              transport = connectPooledTransport();
+            } catch (MailException connectEx) {
+              // report the unsent remainder as failed, so callers know which messages were already delivered
+              for (int j = i + 1; j < mimeMessages.length; j++) {
+                failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], connectEx);
+              }
+              break;
+            }
+          }
+        }
+      }
+    } finally {
+      releaseTransport(transport);
+    }
+    if (!failedMessages.isEmpty()) {
+      throw new MailSendException(failedMessages);
+    }
+  }
+
+  @Override
+  public void destroy() {
+    Transport transport;
+    while ((transport = idleTransports.poll()) != null) {
+      closeQuietly(transport);
+    }
+  }
+
+  private Transport borrowTransport() {
+    try {
+      transportPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+    }
+    try {
+      Transport transport;
+      while ((transport = idleTransports.pollFirst()) != null) {
+        if (transport.isConnected()) {
+          return transport;
+        }
+        closeQuietly(transport);
+      }
+      return connectPooledTransport();
+    } catch (RuntimeException e) {
+      transportPermits.release();
+      throw e;
+    }
+  }
+
+  private void releaseTransport(@Nullable Transport transport) {
+    if (transport != null) {
+      // most-recently used first, so idle connections left to time out are the least-recently used ones
+      idleTransports.offerFirst(transport);
+    }
+    transportPermits.release();
+  }
+
+  private Transport connectPooledTransport() {
+    try {
+      return connectTransport();
+    } catch (AuthenticationFailedException ex) {
+      throw new MailAuthenticationException(ex);
+    } catch (Exception ex) {
+      throw new MailSendException("Mail server connection failed", ex);
+    }
+  }
+
+  private void closeQuietly(Transport transport) {
+    try {
+      transport.close();
+    } catch (MessagingException ex) {
+      log.debug("Failed to close SMTP transport", ex);
+    }
+  }
+}
@@ -2,6 +2,7 @@ package piper1970.notificationservice.repository;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import piper1970.notificationservice.domain.BookingConfirmation;
@@ -19,4 +20,19 @@ public interface BookingConfirmationRepository extends
 
   Mono<Integer> deleteByConfirmationDateTimeBefore(LocalDateTime deletionDateTime);
 
+  /**
+   * Finds confirmations still awaiting confirmation whose confirmation window closed before the given time.
+   * <p>
+   * Served by the partial index on expires_at for awaiting rows, so cost scales with the number of expirations
+   * rather than with the number of confirmations still outstanding.
+   *
+   * @param currentDateTime time to check expiration against
+   * @return Flux of expired confirmations, still in AWAITING_CONFIRMATION status
+   */
+  @Query("""
+      SELECT * FROM event_service.booking_confirmations
+      WHERE confirmation_status = 'AWAITING_CONFIRMATION' AND expires_at < :currentDateTime
+      """)
+  Flux<BookingConfirmation> findAwaitingConfirmationsExpiredBefore(LocalDateTime currentDateTime);
+
 }
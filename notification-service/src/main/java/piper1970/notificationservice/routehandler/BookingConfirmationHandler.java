@@ -29,7 +29,6 @@ import piper1970.notificationservice.repository.BookingConfirmationRepository;
 import piper1970.notificationservice.service.MessagePostingService;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 /**
@@ -239,7 +238,6 @@ public class BookingConfirmationHandler {
           .build();
 
       return bookingConfirmationRepository.save(updatedConfirmation)
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(notificationTimeoutDuration)
           .retryWhen(defaultRepositoryRetry) // retries for timeouts only
           .onErrorResume(
@@ -283,7 +281,6 @@ public class BookingConfirmationHandler {
       log.warn(errorMessage);
 
       return bookingConfirmationRepository.save(expiredConfirmation)
-          .subscribeOn(Schedulers.boundedElastic())
           .timeout(notificationTimeoutDuration)
           .retryWhen(defaultRepositoryRetry) // retries for timeouts only
           .onErrorResume(
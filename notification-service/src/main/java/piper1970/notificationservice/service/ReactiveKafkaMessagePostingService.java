@@ -1,10 +1,8 @@
 package piper1970.notificationservice.service;
 
-import static piper1970.eventservice.common.kafka.KafkaHelper.createSenderMono;
 import static piper1970.eventservice.common.kafka.reactive.TracingHelper.extractMDCIntoHeaders;
 
 import brave.Tracer;
-import java.time.Clock;
 import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -12,13 +10,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import piper1970.eventservice.common.exceptions.KafkaPostingException;
 import piper1970.eventservice.common.kafka.KafkaHelper;
+import piper1970.eventservice.common.kafka.reactive.PipelinedKafkaPublisher;
 import piper1970.eventservice.common.kafka.topics.Topics;
 import piper1970.eventservice.common.notifications.messages.BookingConfirmed;
 import piper1970.eventservice.common.notifications.messages.BookingExpired;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
-import reactor.kafka.sender.KafkaSender;
 import reactor.kafka.sender.SenderResult;
 import reactor.util.retry.Retry;
 
@@ -34,24 +31,21 @@ public class ReactiveKafkaMessagePostingService implements MessagePostingService
 
   private static final String SERVICE_NAME = "notification-service";
 
-  private final KafkaSender<Integer, Object> kafkaSender;
+  private final PipelinedKafkaPublisher kafkaPublisher;
   private final Tracer tracer;
   private final Duration postingTimeout;
   private final Retry defaultKafkaRetry;
-  private final Clock clock;
 
   public ReactiveKafkaMessagePostingService(
-      KafkaSender<Integer, Object> kafkaSender,
+      PipelinedKafkaPublisher kafkaPublisher,
       Tracer tracer,
       @Value("${kafka.posting.timout.milliseconds:1500}") Long postingTimeoutMillis,
-      @Qualifier("kafka") Retry defaultKafkaRetry,
-      Clock clock
+      @Qualifier("kafka") Retry defaultKafkaRetry
   ) {
-    this.kafkaSender = kafkaSender;
+    this.kafkaPublisher = kafkaPublisher;
     this.tracer = tracer;
     this.postingTimeout = Duration.ofMillis(postingTimeoutMillis);
     this.defaultKafkaRetry = defaultKafkaRetry;
-    this.clock = clock;
   }
 
   /**
@@ -62,15 +56,11 @@ public class ReactiveKafkaMessagePostingService implements MessagePostingService
    */
   @Override
   public Mono<Void> postBookingConfirmedMessage(BookingConfirmed message) {
-    return Mono.deferContextual(context -> {
+    return Mono.defer(() -> {
       try {
         var eventId = message.getEventId();
         log.info("Posting BOOKING_CONFIRMED message [{}]", eventId);
-        return kafkaSender.send(
-                createSenderMono(Topics.BOOKING_CONFIRMED, eventId, message, clock,
-                    extractMDCIntoHeaders(tracer)))
-            .subscribeOn(Schedulers.boundedElastic())
-            .single()
+        return kafkaPublisher.publish(Topics.BOOKING_CONFIRMED, eventId, message, extractMDCIntoHeaders(tracer))
             .timeout(postingTimeout)
             .retryWhen(defaultKafkaRetry)
             .onErrorResume(ex -> handlePostingTimeout(ex, eventId, "BOOKING_CONFIRMED"))
@@ -92,15 +82,11 @@ public class ReactiveKafkaMessagePostingService implements MessagePostingService
    */
   @Override
   public Mono<Void> postBookingExpiredMessage(BookingExpired message) {
-    return Mono.deferContextual(context -> {
+    return Mono.defer(() -> {
       try {
         var eventId = message.getEventId();
         log.debug("Posting BOOKING_EXPIRED message [{}]", eventId);
-        return kafkaSender.send(
-                createSenderMono(Topics.BOOKING_EXPIRED, eventId, message, clock,
-                    extractMDCIntoHeaders(tracer)))
-            .subscribeOn(Schedulers.boundedElastic())
-            .single()
+        return kafkaPublisher.publish(Topics.BOOKING_EXPIRED, eventId, message, extractMDCIntoHeaders(tracer))
             .timeout(postingTimeout)
             .retryWhen(defaultKafkaRetry)
             .onErrorResume(ex -> handlePostingTimeout(ex, eventId, "BOOKING_EXPIRED"))
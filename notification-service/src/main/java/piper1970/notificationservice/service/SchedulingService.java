@@ -18,7 +18,6 @@ import piper1970.notificationservice.domain.BookingConfirmation;
 import piper1970.notificationservice.domain.ConfirmationStatus;
 import piper1970.notificationservice.repository.BookingConfirmationRepository;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import reactor.util.retry.Retry;
 
 /**
@@ -70,15 +69,12 @@ public class SchedulingService {
     // 3. post kafka message for each booking that has expired
 
     try{
-      bookingConfirmationRepository.findByConfirmationStatus(ConfirmationStatus.AWAITING_CONFIRMATION)
-          .subscribeOn(Schedulers.boundedElastic())
-          // check to see if the expiration window has past
-          .filter(this::filterForExpiredConfirmations)
+      // expiration window checked in query, so only expired records are ever loaded
+      bookingConfirmationRepository.findAwaitingConfirmationsExpiredBefore(LocalDateTime.now(clock))
           // update record in repo with expired status
           .flatMap(confirmation ->
               bookingConfirmationRepository.save(confirmation.withConfirmationStatus(
                       ConfirmationStatus.EXPIRED))
-                  .subscribeOn(Schedulers.boundedElastic())
           )
           // add transaction behavior for optimistic locking via version field
           .as(transactionalOperator::transactional)
@@ -116,7 +112,6 @@ public class SchedulingService {
 
     try{
       bookingConfirmationRepository.deleteByConfirmationDateTimeBefore(deletionDateTime)
-          .subscribeOn(Schedulers.boundedElastic())
           .doOnNext(deleteCount -> log.info("Deleted [{}] confirmation records that were older than {}:", deleteCount, deletionDateTime))
           // IMPORTANT: make sure blocked duration is less thant shedlock lockAtLeastFor duration
           .block(Duration.ofMinutes(4));
@@ -139,15 +134,4 @@ public class SchedulingService {
     return messagePostingService.postBookingExpiredMessage(bookingExpiredMessage)
         .then(Mono.just(1)); // for later count of posted messages
   }
-
-  /**
-   * Filters out confirmations that are not expired.
-   * Defines expiration as 'confirmationDateTime + durationInMinutes' time already in past
-   * Assumption: bookingConfirmation parameter is currently in the AWAITING_CONFIRMATION status.
-   */
-  private boolean filterForExpiredConfirmations(BookingConfirmation bookingConfirmation) {
-    var currentTime = LocalDateTime.now(clock);
-    var expirationTime = bookingConfirmation.getConfirmationDateTime().plusMinutes(bookingConfirmation.getDurationInMinutes());
-    return currentTime.isAfter(expirationTime);
-  }
 }
@@ -0,0 +1,74 @@
+package piper1970.notificationservice.templating;
+
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheFactory;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+/**
+ * Thread-safe cache of compiled Mustache templates, keyed by template name.
+ * <p>
+ * All templates found under the mustache location are compiled once, when the cache is created, so that rendering an
+ * email requires no classpath I/O or template parsing. Templates missing from the warmed set are compiled on first
+ * use.
+ */
+@Slf4j
+public class MustacheTemplateCache {
+
+  private final MustacheFactory mustacheFactory;
+  private final String mustacheLocation;
+  private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+  private final Map<String, Mustache> templates = new ConcurrentHashMap<>();
+
+  public MustacheTemplateCache(MustacheFactory mustacheFactory, String mustacheLocation) {
+    this.mustacheFactory = mustacheFactory;
+    this.mustacheLocation = mustacheLocation;
+    warm();
+  }
+
+  /**
+   * Retrieves compiled template, compiling it if not already cached.
+   *
+   * @param template name of template file, relative to mustache location
+   * @return compiled Mustache template
+   */
+  public Mustache get(String template) {
+    return templates.computeIfAbsent(template, this::compile);
+  }
+
+  private void warm() {
+    try {
+      for (Resource resource : resourceResolver.getResources(
+          "classpath*:" + mustacheLocation + "/*.mustache")) {
+        var template = Objects.requireNonNull(resource.getFilename());
+        templates.put(template, compile(template, resource));
+      }
+      log.info("Compiled mustache templates {}", templates.keySet());
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to load mustache templates from " + mustacheLocation, e);
+    }
+  }
+
+  private Mustache compile(String template) {
+    return compile(template,
+        resourceResolver.getResource("classpath:" + mustacheLocation + "/" + template));
+  }
+
+  private Mustache compile(String template, Resource resource) {
+    try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+      return mustacheFactory.compile(reader, template);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read mustache template " + template, e);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+-- Expiration time of confirmation window, derived from existing columns so every write path keeps it in sync
+ALTER TABLE booking_confirmations
+    ADD COLUMN IF NOT EXISTS expires_at timestamp
+        GENERATED ALWAYS AS (confirmation_date_time + duration_in_minutes * INTERVAL '1 minute') STORED;
+
+-- Supports expiry sweep, which only ever looks at confirmations still awaiting confirmation
+CREATE INDEX IF NOT EXISTS idx_booking_confirmations_awaiting_expires_at
+    ON booking_confirmations (expires_at)
+    WHERE confirmation_status = 'AWAITING_CONFIRMATION';
+
+-- Supports confirmation lookups by link, and guarantees a link resolves to a single confirmation
+CREATE UNIQUE INDEX IF NOT EXISTS uq_booking_confirmations_confirmation_string
+    ON booking_confirmations (confirmation_string);
@@ -308,7 +308,7 @@ public class NotificationServiceApplicationTests {
         new BookingId(2, "test_user2@test.com", "test_user2"),
         new BookingId(3, "test_user3@test.com", "test_user3")
     );
-    var message = new BookingsCancelled(bookingIds, eventId, "Cancellation Message");
+    var message = new BookingsCancelled(bookingIds, eventId, "Cancellation Message", 0, 1);
 
     kafkaSender.send(
             createSenderMono(Topics.BOOKINGS_CANCELLED, eventId, message, clock, extractMDCIntoHeaders(tracer)))
@@ -328,7 +328,7 @@ public class NotificationServiceApplicationTests {
         new BookingId(2, "test_user2@test.com", "test_user2"),
         new BookingId(3, "test_user3@test.com", "test_user3")
     );
-    var message = new BookingsUpdated(bookingIds, eventId, "Update Message");
+    var message = new BookingsUpdated(bookingIds, eventId, "Update Message", 0, 1);
 
     kafkaSender.send(
             createSenderMono(Topics.BOOKINGS_UPDATED, eventId, message, clock, extractMDCIntoHeaders(tracer)))
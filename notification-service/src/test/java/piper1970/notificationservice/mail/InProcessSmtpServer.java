@@ -0,0 +1,145 @@
+package piper1970.notificationservice.mail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal SMTP server for tests, listening on an ephemeral loopback port.
+ * <p>
+ * Accepts every message, recording its recipients and the connection it arrived on, so tests can check how messages
+ * are spread over connections. Supports just the commands a plain, unauthenticated SMTP client issues.
+ */
+class InProcessSmtpServer implements AutoCloseable {
+
+  private final ServerSocket serverSocket;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final AtomicInteger connections = new AtomicInteger();
+  private final AtomicInteger mailCommands = new AtomicInteger();
+  private final List<ReceivedMessage> messages = new CopyOnWriteArrayList<>();
+  private volatile int dropConnectionOnMail = -1;
+
+  InProcessSmtpServer() throws IOException {
+    serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    executor.submit(this::acceptConnections);
+  }
+
+  int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * @return number of connections accepted so far
+   */
+  int getConnections() {
+    return connections.get();
+  }
+
+  /**
+   * @return messages received so far, in order of receipt
+   */
+  List<ReceivedMessage> getMessages() {
+    return List.copyOf(messages);
+  }
+
+  /**
+   * Closes the connection, without replying, on the given MAIL command, counted across all connections from 1.
+   */
+  void dropConnectionOnMail(int mailCommand) {
+    dropConnectionOnMail = mailCommand;
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    executor.shutdownNow();
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      try {
+        var socket = serverSocket.accept();
+        var connection = connections.incrementAndGet();
+        executor.submit(() -> handle(socket, connection));
+      } catch (IOException e) {
+        return;
+      }
+    }
+  }
+
+  private void handle(Socket socket, int connection) {
+    try (socket;
+        var reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        var writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+      reply(writer, "220 localhost ESMTP");
+      List<String> recipients = new ArrayList<>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        var command = line.length() < 4 ? line : line.substring(0, 4).toUpperCase(Locale.ROOT);
+        switch (command) {
+          case "EHLO", "HELO" -> reply(writer, "250 localhost");
+          case "MAIL" -> {
+            if (mailCommands.incrementAndGet() == dropConnectionOnMail) {
+              return;
+            }
+            recipients.clear();
+            reply(writer, "250 OK");
+          }
+          case "RCPT" -> {
+            recipients.add(line.substring(line.indexOf('<') + 1, line.lastIndexOf('>')));
+            reply(writer, "250 OK");
+          }
+          case "DATA" -> {
+            reply(writer, "354 End data with <CR><LF>.<CR><LF>");
+            skipData(reader);
+            messages.add(new ReceivedMessage(connection, List.copyOf(recipients)));
+            reply(writer, "250 OK");
+          }
+          case "RSET", "NOOP" -> reply(writer, "250 OK");
+          case "QUIT" -> {
+            reply(writer, "221 Bye");
+            return;
+          }
+          default -> reply(writer, "502 Command not implemented");
+        }
+      }
+    } catch (IOException e) {
+      // client went away
+    }
+  }
+
+  private static void skipData(BufferedReader reader) throws IOException {
+    String line;
+    while ((line = reader.readLine()) != null && !line.equals(".")) {
+      // message content is not checked
+    }
+  }
+
+  private static void reply(Writer writer, String reply) throws IOException {
+    writer.write(reply + "\r\n");
+    writer.flush();
+  }
+
+  /**
+   * Message received by the server.
+   *
+   * @param connection number of the connection the message arrived on, counted from 1
+   * @param recipients envelope recipients of the message
+   */
+  record ReceivedMessage(int connection, List<String> recipients) {
+
+  }
+}
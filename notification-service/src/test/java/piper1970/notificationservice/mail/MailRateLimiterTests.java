@@ -0,0 +1,82 @@
+package piper1970.notificationservice.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.InternetAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+
+@DisplayName("Mail Rate Limiter")
+class MailRateLimiterTests {
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private MailRateLimiter rateLimiter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    rateLimiter = new MailRateLimiter(meterRegistry, 10, 1, 10, 0.5, 1, nanoTime::get);
+  }
+
+  @Test
+  @DisplayName("reserve should not wait while burst permits remain, then wait for debt to be repaid")
+  void reserve_waits_once_burst_exhausted() {
+    assertEquals(0L, rateLimiter.reserve(10));
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(500), rateLimiter.reserve(5));
+
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    assertEquals(0L, rateLimiter.reserve(5));
+  }
+
+  @Test
+  @DisplayName("onFailure should halve rate when relay responds with 4xx throttling")
+  void onFailure_throttled() {
+    var throttled = new SMTPSendFailedException("DATA", 421, "421 Too many messages", null,
+        null, null, null);
+
+    rateLimiter.onFailure(new RuntimeException(new MailSendException(Map.of("message", throttled))));
+
+    assertEquals(5.0, rateLimiter.getPermitsPerSecond());
+    assertEquals(1.0, meterRegistry.get("mail.rate.throttled").counter().count());
+  }
+
+  @Test
+  @DisplayName("onFailure should leave rate unchanged for permanent 5xx failures")
+  void onFailure_permanent() throws Exception {
+    var rejected = new SMTPSendFailedException("DATA", 550, "550 Mailbox unavailable", null,
+        null, new InternetAddress[]{new InternetAddress("user@example.com")}, null);
+
+    rateLimiter.onFailure(new MailSendException(Map.of("message", rejected)));
+
+    assertEquals(10.0, rateLimiter.getPermitsPerSecond());
+  }
+
+  @Test
+  @DisplayName("onSuccess should recover rate without exceeding maximum")
+  void onSuccess_recovers_to_max() {
+    var throttled = new SMTPSendFailedException("DATA", 451, "451 Try again later", null,
+        null, null, null);
+    rateLimiter.onFailure(throttled);
+    rateLimiter.onFailure(throttled);
+    rateLimiter.onFailure(throttled);
+    rateLimiter.onFailure(throttled);
+
+    assertEquals(1.0, rateLimiter.getPermitsPerSecond());
+
+    rateLimiter.onSuccess(3);
+    assertEquals(4.0, rateLimiter.getPermitsPerSecond());
+
+    rateLimiter.onSuccess(100);
+    assertEquals(10.0, rateLimiter.getPermitsPerSecond());
+    assertEquals(10.0, meterRegistry.get("mail.rate.permits.per.second").gauge().value());
+  }
+}
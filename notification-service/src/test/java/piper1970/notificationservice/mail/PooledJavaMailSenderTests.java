@@ -0,0 +1,147 @@
+package piper1970.notificationservice.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import piper1970.notificationservice.mail.InProcessSmtpServer.ReceivedMessage;
+
+@DisplayName("Pooled JavaMailSender")
+class PooledJavaMailSenderTests {
+
+  private final List<Transport> connectedTransports = new ArrayList<>();
+  private PooledJavaMailSender mailSender;
+  private boolean connectionAvailable = true;
+
+  // sender delivering to an in-process SMTP server, over real SMTP transports
+  private InProcessSmtpServer smtpServer;
+  private PooledJavaMailSender smtpMailSender;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    smtpServer = new InProcessSmtpServer();
+    smtpMailSender = new PooledJavaMailSender(2);
+    smtpMailSender.setHost("localhost");
+    smtpMailSender.setPort(smtpServer.getPort());
+
+    mailSender = new PooledJavaMailSender(2) {
+      @Override
+      protected Transport connectTransport() throws MessagingException {
+        if (!connectionAvailable) {
+          throw new MessagingException("connection refused");
+        }
+        var transport = mock(Transport.class);
+        when(transport.isConnected()).thenReturn(true);
+        connectedTransports.add(transport);
+        return transport;
+      }
+    };
+  }
+
+  @Test
+  @DisplayName("send should reuse the same SMTP connection across separate sends")
+  void send_reuses_transport() throws MessagingException {
+    smtpMailSender.send(createMessage(smtpMailSender, "one@example.com"));
+    smtpMailSender.send(createMessage(smtpMailSender, "two@example.com"));
+
+    assertEquals(1, smtpServer.getConnections());
+    assertEquals(List.of(new ReceivedMessage(1, List.of("one@example.com")),
+        new ReceivedMessage(1, List.of("two@example.com"))), smtpServer.getMessages());
+  }
+
+  @Test
+  @DisplayName("send should deliver every message in a batch over a single SMTP connection")
+  void send_batch_single_transport() throws MessagingException {
+    smtpMailSender.send(createMessage(smtpMailSender, "one@example.com"),
+        createMessage(smtpMailSender, "two@example.com"), createMessage(smtpMailSender, "three@example.com"));
+
+    assertEquals(1, smtpServer.getConnections());
+    assertEquals(List.of(new ReceivedMessage(1, List.of("one@example.com")),
+        new ReceivedMessage(1, List.of("two@example.com")),
+        new ReceivedMessage(1, List.of("three@example.com"))), smtpServer.getMessages());
+  }
+
+  @Test
+  @DisplayName("send should replace an SMTP connection dropped mid-batch, and report failed messages")
+  void send_batch_reconnects_on_dropped_transport() throws MessagingException {
+    var delivered = createMessage(smtpMailSender, "one@example.com");
+    var failed = createMessage(smtpMailSender, "two@example.com");
+    var redelivered = createMessage(smtpMailSender, "three@example.com");
+    smtpServer.dropConnectionOnMail(2);
+
+    var exception = assertThrows(MailSendException.class, () ->
+        smtpMailSender.send(delivered, failed, redelivered));
+
+    assertEquals(List.of(failed), List.copyOf(exception.getFailedMessages().keySet()));
+    assertEquals(2, smtpServer.getConnections());
+    assertEquals(List.of(new ReceivedMessage(1, List.of("one@example.com")),
+        new ReceivedMessage(2, List.of("three@example.com"))), smtpServer.getMessages());
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    smtpMailSender.destroy();
+    smtpServer.close();
+  }
+
+  @Test
+  @DisplayName("send should report the failed and unsent messages when reconnecting fails mid-batch")
+  void send_batch_reports_unsent_messages_when_reconnect_fails() throws MessagingException {
+    mailSender.send(createMessage("warmup@example.com"));
+    var droppedTransport = connectedTransports.getFirst();
+    var delivered = createMessage("one@example.com");
+    var failed = createMessage("two@example.com");
+    var unsent = createMessage("three@example.com");
+    doThrow(new MessagingException("connection lost")).when(droppedTransport)
+        .sendMessage(eq(failed), any(Address[].class));
+    when(droppedTransport.isConnected()).thenReturn(true, false); // healthy when borrowed, dropped after failure
+    connectionAvailable = false;
+
+    var exception = assertThrows(MailSendException.class, () -> mailSender.send(delivered, failed, unsent));
+
+    assertEquals(List.of(failed, unsent), List.copyOf(exception.getFailedMessages().keySet()));
+    verify(droppedTransport).sendMessage(eq(delivered), any(Address[].class));
+    verify(droppedTransport, never()).sendMessage(eq(unsent), any(Address[].class));
+  }
+
+  @Test
+  @DisplayName("destroy should close idle transports")
+  void destroy_closes_idle_transports() throws MessagingException {
+    mailSender.send(createMessage("one@example.com"));
+
+    mailSender.destroy();
+
+    verify(connectedTransports.getFirst()).close();
+  }
+
+  private MimeMessage createMessage(String to) throws MessagingException {
+    return createMessage(mailSender, to);
+  }
+
+  private MimeMessage createMessage(PooledJavaMailSender sender, String to) throws MessagingException {
+    var message = sender.createMimeMessage();
+    message.setFrom("notifications@example.com");
+    message.setRecipients(MimeMessage.RecipientType.TO, to);
+    message.setSubject("subject");
+    message.setText("body");
+    return message;
+  }
+}
@@ -47,7 +47,8 @@ class BookingConfirmationRepositoryTests {
               booking_email          varchar(255) NOT NULL,
               confirmation_date_time timestamp    NOT NULL,
               duration_in_minutes    int          NOT NULL,
-              confirmation_status    varchar(30)  NOT NULL
+              confirmation_status    varchar(30)  NOT NULL,
+              expires_at             timestamp GENERATED ALWAYS AS (DATEADD(MINUTE, duration_in_minutes, confirmation_date_time))
             );
             """
     );
@@ -153,6 +154,54 @@ class BookingConfirmationRepositoryTests {
         .verifyComplete();
   }
 
+  @Test
+  @DisplayName("should be able to find only awaiting records whose confirmation window has closed")
+  void findAwaitingConfirmationsExpiredBefore() {
+
+    var currentDateTime = LocalDateTime.now();
+
+    var confirmation1 = BookingConfirmation.builder() // expired
+        .bookingEmail("test-email")
+        .bookingUser("test-user")
+        .confirmationDateTime(currentDateTime.minusMinutes(61))
+        .confirmationStatus(ConfirmationStatus.AWAITING_CONFIRMATION)
+        .bookingId(1)
+        .eventId(1)
+        .durationInMinutes(60)
+        .confirmationString(UUID.randomUUID())
+        .build();
+
+    var confirmation2 = BookingConfirmation.builder() // not-yet expired
+        .bookingEmail("test-email")
+        .bookingUser("test-user")
+        .confirmationDateTime(currentDateTime.minusMinutes(59))
+        .confirmationStatus(ConfirmationStatus.AWAITING_CONFIRMATION)
+        .bookingId(2)
+        .eventId(1)
+        .durationInMinutes(60)
+        .confirmationString(UUID.randomUUID())
+        .build();
+
+    var confirmation3 = BookingConfirmation.builder() // window closed, but already confirmed
+        .bookingEmail("test-email")
+        .bookingUser("test-user")
+        .confirmationDateTime(currentDateTime.minusMinutes(90))
+        .confirmationStatus(ConfirmationStatus.CONFIRMED)
+        .bookingId(3)
+        .eventId(1)
+        .durationInMinutes(60)
+        .confirmationString(UUID.randomUUID())
+        .build();
+
+    insertConfirmationsIntoRepository(confirmation1, confirmation2, confirmation3);
+
+    bookingConfirmationRepository.findAwaitingConfirmationsExpiredBefore(currentDateTime)
+        .map(BookingConfirmation::getBookingId)
+        .as(StepVerifier::create)
+        .expectNext(confirmation1.getBookingId())
+        .verifyComplete();
+  }
+
   @Test
   @DisplayName("should be able to delete all records older than a given date")
   void deleteByConfirmationDateTimeBefore() {
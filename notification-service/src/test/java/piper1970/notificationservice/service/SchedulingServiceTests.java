@@ -328,7 +328,8 @@ class SchedulingServiceTests {
               booking_email          varchar(255) NOT NULL,
               confirmation_date_time timestamp    NOT NULL,
               duration_in_minutes    int          NOT NULL,
-              confirmation_status    varchar(30)  NOT NULL
+              confirmation_status    varchar(30)  NOT NULL,
+              expires_at             timestamp GENERATED ALWAYS AS (DATEADD(MINUTE, duration_in_minutes, confirmation_date_time))
             );
             """
     );
@@ -0,0 +1,44 @@
+package piper1970.notificationservice.templating;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import java.io.StringWriter;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Mustache Template Cache")
+class MustacheTemplateCacheTests {
+
+  private MustacheTemplateCache templateCache;
+
+  @BeforeEach
+  void setUp() {
+    templateCache = new MustacheTemplateCache(new DefaultMustacheFactory(), "templates");
+  }
+
+  @Test
+  @DisplayName("get should return the same compiled template for repeated lookups")
+  void get_returns_cached_template() {
+    var first = templateCache.get("booking-cancelled.mustache");
+    var second = templateCache.get("booking-cancelled.mustache");
+
+    assertSame(first, second);
+  }
+
+  @Test
+  @DisplayName("compiled template should render supplied props")
+  void get_renders_props() {
+    var writer = new StringWriter();
+    templateCache.get("booking-cancelled.mustache")
+        .execute(writer, Map.of("username", "test-user", "eventLink", "event-link", "bookingLink", "booking-link"));
+
+    var email = writer.toString();
+    assertTrue(email.contains("Dear test-user"));
+    assertTrue(email.contains("event-link"));
+    assertTrue(email.contains("booking-link"));
+  }
+}
@@ -9,5 +9,13 @@ CREATE TABLE IF NOT EXISTS event_service.booking_confirmations
     booking_email          varchar(255) NOT NULL,
     confirmation_date_time timestamp    NOT NULL,
     duration_in_minutes    int          NOT NULL,
-    confirmation_status    varchar(30)  NOT NULL
-);
\ No newline at end of file
+    confirmation_status    varchar(30)  NOT NULL,
+    expires_at             timestamp GENERATED ALWAYS AS (confirmation_date_time + duration_in_minutes * INTERVAL '1 minute') STORED
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_confirmations_awaiting_expires_at
+    ON event_service.booking_confirmations (expires_at)
+    WHERE confirmation_status = 'AWAITING_CONFIRMATION';
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_booking_confirmations_confirmation_string
+    ON event_service.booking_confirmations (confirmation_string);
\ No newline at end of file
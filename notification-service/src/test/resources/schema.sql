@@ -11,5 +11,12 @@ CREATE TABLE IF NOT EXISTS event_service.booking_confirmations
     booking_email          varchar(255) NOT NULL,
     confirmation_date_time timestamp    NOT NULL,
     duration_in_minutes    int          NOT NULL,
-    confirmation_status    varchar(30)  NOT NULL
-);
\ No newline at end of file
+    confirmation_status    varchar(30)  NOT NULL,
+    expires_at             timestamp GENERATED ALWAYS AS (DATEADD(MINUTE, duration_in_minutes, confirmation_date_time))
+);
+
+CREATE INDEX IF NOT EXISTS idx_booking_confirmations_awaiting_expires_at
+    ON event_service.booking_confirmations (confirmation_status, expires_at);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_booking_confirmations_confirmation_string
+    ON event_service.booking_confirmations (confirmation_string);
\ No newline at end of file